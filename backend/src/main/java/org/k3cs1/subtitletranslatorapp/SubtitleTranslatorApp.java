@@ -3,8 +3,10 @@ package org.k3cs1.subtitletranslatorapp;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 
-@SpringBootApplication
+// The datasource is only needed by the JDBC job repository and batch queue; see JdbcConfig
+@SpringBootApplication(exclude = DataSourceAutoConfiguration.class)
 @Slf4j
 public class SubtitleTranslatorApp {
 
@@ -0,0 +1,37 @@
+package org.k3cs1.subtitletranslatorapp.codec;
+
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wire format of one batch sent to the LLM: how cues are encoded into the user payload,
+ * what the model is told about the format, and how its answer is parsed back into cues.
+ */
+public interface BatchPayloadCodec {
+
+    String name();
+
+    /**
+     * Format rules inserted into the system prompt (the {@code {{FORMAT_RULES}}} placeholder).
+     */
+    String formatRules();
+
+    String encode(List<SrtEntry> batch);
+
+    /**
+     * Parses the model's answer into translated lines keyed by entry index.
+     */
+    Map<Integer, List<String>> decode(String response);
+
+    static BatchPayloadCodec named(String name) {
+        String normalized = name == null ? "" : name.trim().toLowerCase();
+        return switch (normalized) {
+            case "", "markers" -> new MarkerPayloadCodec();
+            case "compact" -> new CompactPayloadCodec();
+            case "json" -> new JsonPayloadCodec();
+            default -> throw new IllegalArgumentException("Unknown payload codec: " + name);
+        };
+    }
+}
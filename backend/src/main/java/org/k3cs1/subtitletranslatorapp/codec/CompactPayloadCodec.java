@@ -0,0 +1,91 @@
+package org.k3cs1.subtitletranslatorapp.codec;
+
+import org.k3cs1.subtitletranslatorapp.exception.ProviderResponseException;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Numeric delimiters only: a {@code #n} line opens each cue and the next one closes it.
+ * Roughly a third of the marker overhead per cue; a cue line consisting only of {@code #<digits>}
+ * would be misread, which real dialogue practically never is.
+ */
+public final class CompactPayloadCodec implements BatchPayloadCodec {
+
+    private static final Pattern DELIMITER = Pattern.compile("^\\s*#(\\d+)\\s*$");
+
+    @Override
+    public String name() {
+        return "compact";
+    }
+
+    @Override
+    public String formatRules() {
+        return """
+                - Each entry starts with a line #n (n is a number). Keep every #n line unchanged and in the same order.
+                - Return ONLY the #n lines, each followed by the translated text of that entry, nothing else.""";
+    }
+
+    @Override
+    public String encode(List<SrtEntry> batch) {
+        if (batch == null || batch.isEmpty()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(batch.size() * 64);
+        for (SrtEntry e : batch) {
+            if (!sb.isEmpty()) {
+                sb.append('\n');
+            }
+            sb.append('#').append(e.index()).append('\n').append(e.originalText());
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public Map<Integer, List<String>> decode(String response) {
+        Map<Integer, List<String>> out = new LinkedHashMap<>();
+        Integer current = null;
+        List<String> lines = new ArrayList<>();
+        for (String line : response.split("\\R", -1)) {
+            Matcher m = DELIMITER.matcher(line);
+            if (m.matches()) {
+                put(out, current, lines);
+                try {
+                    current = Integer.parseInt(m.group(1));
+                } catch (NumberFormatException e) {
+                    throw new ProviderResponseException("Unparsable cue delimiter in model response", e);
+                }
+                lines = new ArrayList<>();
+            } else if (current != null) {
+                lines.add(line);
+            }
+        }
+        put(out, current, lines);
+        return out;
+    }
+
+    private static void put(Map<Integer, List<String>> out, Integer index, List<String> lines) {
+        if (index == null) {
+            return;
+        }
+        // Drop blank lines around the cue text, keep inner line breaks
+        int from = 0;
+        int to = lines.size();
+        while (from < to && lines.get(from).isBlank()) {
+            from++;
+        }
+        while (to > from && lines.get(to - 1).isBlank()) {
+            to--;
+        }
+        List<String> trimmed = new ArrayList<>(to - from);
+        for (String line : lines.subList(from, to)) {
+            trimmed.add(line.trim());
+        }
+        out.put(index, trimmed);
+    }
+}
@@ -0,0 +1,78 @@
+package org.k3cs1.subtitletranslatorapp.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.k3cs1.subtitletranslatorapp.exception.ProviderResponseException;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.springframework.ai.converter.BeanOutputConverter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Structured-output mode: cues go out as JSON and the answer must match the JSON schema
+ * that Spring AI's {@link BeanOutputConverter} derives from {@link TranslatedBatch}.
+ * Parsing cannot be confused by cue text, at the cost of JSON punctuation and escaping tokens.
+ */
+public final class JsonPayloadCodec implements BatchPayloadCodec {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BeanOutputConverter<TranslatedBatch> converter = new BeanOutputConverter<>(TranslatedBatch.class);
+
+    @Override
+    public String name() {
+        return "json";
+    }
+
+    @Override
+    public String formatRules() {
+        return """
+                - The payload is a JSON object with a list of cues; each cue has an id and its text (line breaks as \\n).
+                - Translate every text and keep every id unchanged.
+                """ + converter.getFormat();
+    }
+
+    @Override
+    public String encode(List<SrtEntry> batch) {
+        List<Cue> cues = new ArrayList<>(batch == null ? 0 : batch.size());
+        if (batch != null) {
+            for (SrtEntry e : batch) {
+                cues.add(new Cue(e.index(), e.originalText()));
+            }
+        }
+        try {
+            return objectMapper.writeValueAsString(new TranslatedBatch(cues));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode batch as JSON", e);
+        }
+    }
+
+    @Override
+    public Map<Integer, List<String>> decode(String response) {
+        TranslatedBatch translated;
+        try {
+            translated = converter.convert(response);
+        } catch (RuntimeException e) {
+            throw new ProviderResponseException("Model response is not the requested JSON", e);
+        }
+        Map<Integer, List<String>> out = new LinkedHashMap<>();
+        if (translated == null || translated.cues() == null) {
+            return out;
+        }
+        for (Cue cue : translated.cues()) {
+            if (cue.text() != null) {
+                out.put(cue.id(), Arrays.asList(cue.text().trim().split("\\R", -1)));
+            }
+        }
+        return out;
+    }
+
+    public record Cue(int id, String text) {
+    }
+
+    public record TranslatedBatch(List<Cue> cues) {
+    }
+}
@@ -0,0 +1,73 @@
+package org.k3cs1.subtitletranslatorapp.codec;
+
+import org.k3cs1.subtitletranslatorapp.exception.ProviderResponseException;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Original format: every cue wrapped in {@code <<<ENTRY n>>>} ... {@code <<<END>>>}.
+ * Most robust against stray model output, but the markers cost several tokens per cue in both directions.
+ */
+public final class MarkerPayloadCodec implements BatchPayloadCodec {
+
+    @Override
+    public String name() {
+        return "markers";
+    }
+
+    @Override
+    public String formatRules() {
+        return """
+                - Do NOT change, remove, or reorder markers like <<<ENTRY n>>> and <<<END>>>.
+                - Return ONLY the translated text including the markers, nothing else.""";
+    }
+
+    @Override
+    public String encode(List<SrtEntry> batch) {
+        if (batch == null || batch.isEmpty()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(batch.size() * 128);
+        boolean first = true;
+        for (SrtEntry e : batch) {
+            if (!first) {
+                sb.append('\n');
+            }
+            first = false;
+            sb.append("<<<ENTRY ").append(e.index()).append(">>>\n")
+                    .append(e.originalText())
+                    .append("\n<<<END>>>");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public Map<Integer, List<String>> decode(String response) {
+        // Very simple parser; for production, harden this.
+        Map<Integer, List<String>> out = new LinkedHashMap<>();
+        String[] parts = response.split("<<<ENTRY ");
+        for (String part : parts) {
+            if (part.isBlank()) {
+                continue;
+            }
+            int close = part.indexOf(">>>");
+            int idx;
+            try {
+                idx = Integer.parseInt(part.substring(0, close).trim());
+            } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                throw new ProviderResponseException("Unparsable entry marker in model response", e);
+            }
+            String rest = part.substring(close + 3);
+            int end = rest.indexOf("<<<END>>>");
+            String translated = (end >= 0 ? rest.substring(0, end) : rest).trim();
+
+            List<String> lines = Arrays.asList(translated.split("\\R", -1));
+            out.put(idx, lines);
+        }
+        return out;
+    }
+}
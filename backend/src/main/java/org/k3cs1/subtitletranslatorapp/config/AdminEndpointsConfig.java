@@ -0,0 +1,28 @@
+package org.k3cs1.subtitletranslatorapp.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Slf4j
+public class AdminEndpointsConfig {
+
+    /**
+     * Actuator endpoints that change the running service or expose its internals (the flight recording) need the
+     * admin token, reads included.
+     */
+    @Bean
+    public FilterRegistrationBean<AdminTokenFilter> adminTokenFilter(
+            @Value("${translation.admin.token:}") String token) {
+        if (token.isBlank()) {
+            log.warn("translation.admin.token is not set; /actuator/tuning and /actuator/jfr refuse every request");
+        }
+        FilterRegistrationBean<AdminTokenFilter> registration = new FilterRegistrationBean<>(new AdminTokenFilter(token));
+        registration.addUrlPatterns("/actuator/tuning", "/actuator/tuning/*", "/actuator/jfr", "/actuator/jfr/*");
+        registration.setName("adminTokenFilter");
+        return registration;
+    }
+}
@@ -0,0 +1,52 @@
+package org.k3cs1.subtitletranslatorapp.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.Principal;
+
+/**
+ * Guards admin actuator endpoints with a shared bearer token ({@code translation.admin.token}). Requests with the
+ * token continue as principal {@code admin}; anything else gets 401. With no token configured every request is
+ * refused, so the endpoints stay closed until an operator sets one.
+ */
+public class AdminTokenFilter extends OncePerRequestFilter {
+
+    static final String PRINCIPAL = "admin";
+    private static final String BEARER = "Bearer ";
+
+    private final byte[] token;
+
+    public AdminTokenFilter(String token) {
+        this.token = token == null ? new byte[0] : token.strip().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        boolean authorized = token.length > 0 && authorization != null && authorization.startsWith(BEARER)
+                && MessageDigest.isEqual(token, authorization.substring(BEARER.length()).strip()
+                .getBytes(StandardCharsets.UTF_8));
+        if (!authorized) {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        Principal admin = () -> PRINCIPAL;
+        chain.doFilter(new HttpServletRequestWrapper(request) {
+            @Override
+            public Principal getUserPrincipal() {
+                return admin;
+            }
+        }, response);
+    }
+}
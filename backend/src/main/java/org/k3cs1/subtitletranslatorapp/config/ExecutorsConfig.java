@@ -1,5 +1,6 @@
 package org.k3cs1.subtitletranslatorapp.config;
 
+import io.opentelemetry.context.Context;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -9,8 +10,9 @@ import java.util.concurrent.Executors;
 @Configuration
 public class ExecutorsConfig {
 
+    // Tasks run in the trace context they were submitted from, so batch spans nest under their job
     @Bean(destroyMethod = "close")
     public ExecutorService translationExecutor() {
-        return Executors.newVirtualThreadPerTaskExecutor();
+        return Context.taskWrapping(Executors.newVirtualThreadPerTaskExecutor());
     }
 }
@@ -0,0 +1,47 @@
+package org.k3cs1.subtitletranslatorapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * The datasource behind the JDBC job repository and batch queue. Only created when one of them is selected, so
+ * in-memory instances need no database; a JDBC instance without {@code spring.datasource.url} fails at startup
+ * instead of falling back to a private embedded database that nothing else can see.
+ */
+@Configuration
+@Conditional(JdbcConfig.JdbcStoreSelected.class)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class JdbcConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties) {
+        if (properties.getUrl() == null || properties.getUrl().isBlank()) {
+            throw new IllegalStateException("translation.job-repository.type=jdbc and translation.distributed.queue=jdbc "
+                    + "need a shared database; set spring.datasource.url (SPRING_DATASOURCE_URL).");
+        }
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    static class JdbcStoreSelected extends AnyNestedCondition {
+
+        JdbcStoreSelected() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(name = "translation.job-repository.type", havingValue = "jdbc")
+        static class JobRepository {
+        }
+
+        @ConditionalOnProperty(name = "translation.distributed.queue", havingValue = "jdbc")
+        static class BatchQueue {
+        }
+    }
+}
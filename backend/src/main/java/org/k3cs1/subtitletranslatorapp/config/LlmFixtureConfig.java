@@ -0,0 +1,51 @@
+package org.k3cs1.subtitletranslatorapp.config;
+
+import org.k3cs1.subtitletranslatorapp.codec.BatchPayloadCodec;
+import org.k3cs1.subtitletranslatorapp.service.RecordingChatAdvisor;
+import org.k3cs1.subtitletranslatorapp.service.ReplayChatAdvisor;
+import org.springframework.ai.chat.client.ChatClientCustomizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Record/replay of LLM traffic. With the {@code llm-record} profile every model call is appended to the fixture
+ * file; with {@code llm-replay} calls are answered from it, with the recorded latency, and nothing goes over the
+ * network. Both hook into the auto-configured {@code ChatClient.Builder}, which covers the strong and fast tiers.
+ */
+@Configuration
+public class LlmFixtureConfig {
+
+    @Value("${translation.llm-fixture.path:${java.io.tmpdir}/subtitle-translator-llm.jsonl.gz}")
+    private Path fixturePath;
+
+    @Bean
+    @Profile("llm-record")
+    public RecordingChatAdvisor recordingChatAdvisor() throws IOException {
+        return new RecordingChatAdvisor(fixturePath);
+    }
+
+    @Bean
+    @Profile("llm-record")
+    public ChatClientCustomizer recordingChatClientCustomizer(RecordingChatAdvisor advisor) {
+        return builder -> builder.defaultAdvisors(advisor);
+    }
+
+    @Bean
+    @Profile("llm-replay")
+    public ReplayChatAdvisor replayChatAdvisor(
+            @Value("${translation.payload-codec:markers}") String payloadCodec,
+            @Value("${translation.llm-fixture.replay-speed:1.0}") double replaySpeed) throws IOException {
+        return new ReplayChatAdvisor(fixturePath, BatchPayloadCodec.named(payloadCodec), replaySpeed);
+    }
+
+    @Bean
+    @Profile("llm-replay")
+    public ChatClientCustomizer replayChatClientCustomizer(ReplayChatAdvisor advisor) {
+        return builder -> builder.defaultAdvisors(advisor);
+    }
+}
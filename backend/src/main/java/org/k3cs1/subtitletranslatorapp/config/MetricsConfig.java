@@ -0,0 +1,37 @@
+package org.k3cs1.subtitletranslatorapp.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.k3cs1.subtitletranslatorapp.repository.JobRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.Locale;
+
+@Configuration
+public class MetricsConfig {
+
+    private static final List<String> JOB_STATUSES = List.of("PENDING", "PROCESSING", "COMPLETED", "FAILED");
+
+    /**
+     * Jobs in the job store by status, plus the total store size. With the JDBC repository every gauge read
+     * is one grouped COUNT query, so the numbers cover the whole cluster rather than one instance.
+     */
+    @Bean
+    public MeterBinder jobStoreMetrics(JobRepository jobRepository) {
+        return registry -> {
+            for (String status : JOB_STATUSES) {
+                Gauge.builder("translation.jobs", jobRepository,
+                                repository -> repository.countByStatus().getOrDefault(status, 0L))
+                        .description("Stored jobs by status")
+                        .tag("status", status.toLowerCase(Locale.ROOT))
+                        .register(registry);
+            }
+            Gauge.builder("translation.job.store.size", jobRepository,
+                            repository -> repository.countByStatus().values().stream().mapToLong(Long::longValue).sum())
+                    .description("Jobs held by the job store")
+                    .register(registry);
+        };
+    }
+}
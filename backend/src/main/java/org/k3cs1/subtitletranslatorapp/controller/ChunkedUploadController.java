@@ -0,0 +1,114 @@
+package org.k3cs1.subtitletranslatorapp.controller;
+
+import io.opentelemetry.api.common.Attributes;
+import lombok.RequiredArgsConstructor;
+import org.k3cs1.subtitletranslatorapp.api.ApiResponse;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationJobCreateResponse;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationJobRequest;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationJobStatusResponse;
+import org.k3cs1.subtitletranslatorapp.dto.UploadSessionResponse;
+import org.k3cs1.subtitletranslatorapp.exception.GlobalExceptionHandler;
+import org.k3cs1.subtitletranslatorapp.exception.InvalidArgumentException;
+import org.k3cs1.subtitletranslatorapp.repository.JobRepository;
+import org.k3cs1.subtitletranslatorapp.service.ChunkedUploadService;
+import org.k3cs1.subtitletranslatorapp.service.TranslationJobService;
+import org.k3cs1.subtitletranslatorapp.service.TranslationTracing;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Resumable uploads for subtitle files above the 2 MB multipart limit:
+ * start an upload, PUT its chunks (in any order, retrying as needed), then complete it to start a large-file job.
+ */
+@RestController
+@RequestMapping("/api/uploads")
+@RequiredArgsConstructor
+public class ChunkedUploadController {
+
+    private final ChunkedUploadService uploadService;
+    private final TranslationJobService translationJobService;
+    private final JobRepository jobRepository;
+    private final TranslationTracing tracing;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<?>> startUpload(@RequestParam("fileName") String fileName,
+                                                      @RequestParam("totalBytes") long totalBytes) {
+        try {
+            UploadSessionResponse session = uploadService.start(fileName, totalBytes);
+            return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Upload started.", session));
+        } catch (IllegalArgumentException ex) {
+            return GlobalExceptionHandler.errorResponseEntity(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException ex) {
+            return GlobalExceptionHandler.errorResponseEntity(ex.getMessage(), HttpStatus.NOT_IMPLEMENTED);
+        } catch (Exception ex) {
+            return GlobalExceptionHandler.errorResponseEntity("Failed to start upload.", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<ApiResponse<?>> getUpload(@PathVariable String uploadId) {
+        UploadSessionResponse session = uploadService.status(uploadId);
+        if (session == null) {
+            return GlobalExceptionHandler.errorResponseEntity("Upload not found.", HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.ok(ApiResponse.success("Upload status retrieved.", session));
+    }
+
+    @PutMapping(value = "/{uploadId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ApiResponse<?>> uploadChunk(@PathVariable String uploadId, @PathVariable int index,
+                                                      InputStream body) {
+        try {
+            UploadSessionResponse session = uploadService.writeChunk(uploadId, index, body);
+            if (session == null) {
+                return GlobalExceptionHandler.errorResponseEntity("Upload not found.", HttpStatus.NOT_FOUND);
+            }
+            return ResponseEntity.ok(ApiResponse.success("Chunk stored.", session));
+        } catch (IllegalArgumentException ex) {
+            return GlobalExceptionHandler.errorResponseEntity(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception ex) {
+            return GlobalExceptionHandler.errorResponseEntity("Failed to store chunk.", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<ApiResponse<?>> completeUpload(@PathVariable String uploadId,
+                                                         @RequestParam("targetLanguage") String targetLanguage) {
+        try {
+            if (targetLanguage == null || targetLanguage.isBlank()) {
+                throw new InvalidArgumentException("Target language is required.");
+            }
+            UploadSessionResponse session = uploadService.status(uploadId);
+            Path input = session != null
+                    ? tracing.inSpan("translation.upload.validate", Attributes.empty(), span -> uploadService.complete(uploadId))
+                    : null;
+            if (input == null) {
+                return GlobalExceptionHandler.errorResponseEntity("Upload not found.", HttpStatus.NOT_FOUND);
+            }
+
+            String jobId = UUID.randomUUID().toString();
+            jobRepository.store(jobId, TranslationJobStatusResponse.pending(jobId, session.fileName()));
+            translationJobService.submitLargeFile(new TranslationJobRequest(input, targetLanguage.trim(), jobId),
+                    session.fileName(), uploadService.outputFile(jobId));
+
+            TranslationJobCreateResponse response = new TranslationJobCreateResponse(
+                    jobId, "Translation job created. Use GET /api/translation-jobs/{jobId} to check status.");
+            return ResponseEntity.accepted().body(ApiResponse.success("Translation job started.", response));
+        } catch (IllegalArgumentException ex) {
+            return GlobalExceptionHandler.errorResponseEntity(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception ex) {
+            return GlobalExceptionHandler.errorResponseEntity("Failed to start translation.", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
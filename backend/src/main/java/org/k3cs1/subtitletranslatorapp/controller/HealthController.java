@@ -1,7 +1,10 @@
 package org.k3cs1.subtitletranslatorapp.controller;
 
+import lombok.RequiredArgsConstructor;
 import org.k3cs1.subtitletranslatorapp.api.ApiResponse;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationCapacityResponse;
 import org.k3cs1.subtitletranslatorapp.exception.GlobalExceptionHandler;
+import org.k3cs1.subtitletranslatorapp.service.TranslationCapacity;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,8 +13,11 @@ import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping
+@RequiredArgsConstructor
 public class HealthController {
 
+    private final TranslationCapacity capacity;
+
     @GetMapping("/")
     public ResponseEntity<ApiResponse<?>> root() {
         try {
@@ -29,5 +35,22 @@ public class HealthController {
             return GlobalExceptionHandler.errorResponseEntity("Health check failed.", HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
-}
 
+    /**
+     * READY, or SATURATED with 503 while the estimated drain time of this instance is above
+     * {@code translation.capacity.saturated-drain-seconds}. Meant for routing and scaling decisions; the load
+     * balancer health check stays on {@code /api/health}, so saturated instances are not replaced.
+     */
+    @GetMapping("/api/health/readiness")
+    public ResponseEntity<ApiResponse<?>> readiness() {
+        try {
+            TranslationCapacityResponse snapshot = capacity.snapshot();
+            if (snapshot.saturated()) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ApiResponse.success("SATURATED", snapshot));
+            }
+            return ResponseEntity.ok(ApiResponse.success("READY", snapshot));
+        } catch (Exception ex) {
+            return GlobalExceptionHandler.errorResponseEntity("Readiness check failed.", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
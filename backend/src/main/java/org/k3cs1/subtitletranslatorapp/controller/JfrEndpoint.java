@@ -0,0 +1,31 @@
+package org.k3cs1.subtitletranslatorapp.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.k3cs1.subtitletranslatorapp.service.JfrRecordingService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * {@code GET /actuator/jfr} downloads the continuous flight recording (open it in JDK Mission Control);
+ * 404 while {@code translation.jfr.enabled} is off.
+ */
+@Component
+@Endpoint(id = "jfr")
+@RequiredArgsConstructor
+public class JfrEndpoint {
+
+    private final JfrRecordingService recordingService;
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump() throws IOException {
+        return recordingService.dump()
+                .map(file -> new WebEndpointResponse<Resource>(new FileSystemResource(file)))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+}
@@ -4,29 +4,62 @@ import lombok.RequiredArgsConstructor;
 import org.k3cs1.subtitletranslatorapp.api.ApiResponse;
 import org.k3cs1.subtitletranslatorapp.exception.GlobalExceptionHandler;
 import org.k3cs1.subtitletranslatorapp.service.WorldBankReferenceService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
+
 @RestController
 @RequestMapping("/api/reference")
 @RequiredArgsConstructor
 public class ReferenceDataController {
 
+    // Browsers and CDNs reuse the list for an hour and may serve it for a day longer while they revalidate
+    private static final CacheControl COUNTRIES_CACHE_CONTROL = CacheControl.maxAge(Duration.ofHours(1))
+            .cachePublic()
+            .staleWhileRevalidate(Duration.ofDays(1));
+
     private final WorldBankReferenceService worldBankReferenceService;
 
     @GetMapping("/countries")
-    public ResponseEntity<ApiResponse<?>> listCountries() {
+    public ResponseEntity<ApiResponse<?>> listCountries(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            var countries = worldBankReferenceService.listCountries();
-            return ResponseEntity.ok(ApiResponse.success("Countries loaded.", countries));
+            var countries = worldBankReferenceService.countries();
+            if (matches(ifNoneMatch, countries.etag())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(countries.etag())
+                        .cacheControl(COUNTRIES_CACHE_CONTROL)
+                        .build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(countries.etag())
+                    .cacheControl(COUNTRIES_CACHE_CONTROL)
+                    .body(ApiResponse.success("Countries loaded.", countries.items()));
         } catch (IllegalArgumentException ex) {
             return GlobalExceptionHandler.errorResponseEntity(ex.getMessage(), HttpStatus.BAD_REQUEST);
         } catch (Exception ex) {
             return GlobalExceptionHandler.errorResponseEntity("Failed to load countries.", HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
-}
 
+    // If-None-Match may list several validators, weak ones prefixed with W/
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.strip();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
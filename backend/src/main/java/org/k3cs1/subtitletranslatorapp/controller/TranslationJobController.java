@@ -1,15 +1,27 @@
 package org.k3cs1.subtitletranslatorapp.controller;
 
+import io.opentelemetry.api.common.Attributes;
 import lombok.RequiredArgsConstructor;
 import org.k3cs1.subtitletranslatorapp.api.ApiResponse;
+import org.k3cs1.subtitletranslatorapp.dto.MultiLanguageJobRequest;
+import org.k3cs1.subtitletranslatorapp.dto.SeasonPackJobRequest;
 import org.k3cs1.subtitletranslatorapp.dto.TranslationJobCreateResponse;
 import org.k3cs1.subtitletranslatorapp.dto.TranslationJobRequest;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationJobResponse;
 import org.k3cs1.subtitletranslatorapp.dto.TranslationJobStatusResponse;
 import org.k3cs1.subtitletranslatorapp.exception.InvalidArgumentException;
 import org.k3cs1.subtitletranslatorapp.exception.GlobalExceptionHandler;
+import org.k3cs1.subtitletranslatorapp.model.SubtitleFile;
 import org.k3cs1.subtitletranslatorapp.parser.SrtIOParser;
+import org.k3cs1.subtitletranslatorapp.parser.SubtitleArchiveReader;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.k3cs1.subtitletranslatorapp.service.ChunkedUploadService;
+import org.k3cs1.subtitletranslatorapp.service.DeltaTranslationPlanner;
 import org.k3cs1.subtitletranslatorapp.service.TranslationJobService;
-import org.k3cs1.subtitletranslatorapp.service.TranslationJobStore;
+import org.k3cs1.subtitletranslatorapp.service.TranslationTracing;
+import org.k3cs1.subtitletranslatorapp.repository.JobRepository;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -20,10 +32,23 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -33,24 +58,47 @@ import java.util.UUID;
 public class TranslationJobController {
 
     private final TranslationJobService translationJobService;
-    private final TranslationJobStore jobStore;
+    private final JobRepository jobRepository;
+    private final ChunkedUploadService uploadService;
+    private final TranslationTracing tracing;
     private static final long MAX_UPLOAD_BYTES = 2L * 1024L * 1024L; // 2 MB
+    private static final int MAX_TARGET_LANGUAGES = 20;
+    private static final long MAX_SEASON_PACK_UPLOAD_BYTES = 20L * 1024L * 1024L; // 20 MB
+    private static final int MAX_SEASON_PACK_FILES = 100;
+    // Decompressed size of all subtitle files together; guards against zip bombs
+    private static final long MAX_SEASON_PACK_CONTENT_BYTES = 64L * 1024L * 1024L;
 
+    /**
+     * Accepts either a single {@code targetLanguage} or a list of {@code targetLanguages}
+     * (repeated parameter or comma-separated). Several languages run as one multi-language job.
+     * <p>
+     * A revised file can be translated as a delta: pass the previous version as {@code previousSource}
+     * together with its translation, either uploaded as {@code previousTranslation} or taken from the
+     * completed {@code previousJobId}. Unchanged cues reuse the previous translation.
+     */
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<ApiResponse<?>> createTranslationJob(
             @RequestParam("file") MultipartFile file,
-            @RequestParam("targetLanguage") String targetLanguage) {
+            @RequestParam(value = "targetLanguage", required = false) String targetLanguage,
+            @RequestParam(value = "targetLanguages", required = false) List<String> targetLanguages,
+            @RequestParam(value = "previousSource", required = false) MultipartFile previousSource,
+            @RequestParam(value = "previousTranslation", required = false) MultipartFile previousTranslation,
+            @RequestParam(value = "previousJobId", required = false) String previousJobId) {
         Path tempFile = null;
         try {
             if (file == null || file.isEmpty()) {
                 throw new InvalidArgumentException("Subtitle file is required.");
             }
             if (file.getSize() > MAX_UPLOAD_BYTES) {
-                throw new InvalidArgumentException("Subtitle file must be 2 MB or smaller.");
+                throw new InvalidArgumentException("Subtitle file must be 2 MB or smaller; use /api/uploads for larger files.");
             }
-            if (targetLanguage == null || targetLanguage.isBlank()) {
+            List<String> languages = distinctLanguages(targetLanguage, targetLanguages);
+            if (languages.isEmpty()) {
                 throw new InvalidArgumentException("Target language is required.");
             }
+            if (languages.size() > MAX_TARGET_LANGUAGES) {
+                throw new InvalidArgumentException("At most " + MAX_TARGET_LANGUAGES + " target languages are supported per job.");
+            }
 
             String originalName = file.getOriginalFilename();
             if (originalName == null || !originalName.toLowerCase().endsWith(".srt")) {
@@ -61,67 +109,62 @@ public class TranslationJobController {
             file.transferTo(Objects.requireNonNull(tempFile.toFile(), "Temp file must not be null"));
 
             // Content-based validation (reject renamed non-SRT files)
-            SrtIOParser.validateSrtContent(tempFile);
+            Path uploaded = tempFile;
+            tracing.inSpan("translation.upload.validate", Attributes.empty(), span -> {
+                SrtIOParser.validateSrtContent(uploaded);
+                return null;
+            });
 
             // Parse file to get total entries count for progress tracking
-            int totalEntries = SrtIOParser.parse(tempFile).size();
+            List<SrtEntry> entries = tracing.inSpan("translation.parse", Attributes.empty(),
+                    span -> SrtIOParser.parse(uploaded));
+            int totalEntries = entries.size();
+
+            Map<Integer, List<String>> reusedTranslations = null;
+            if (previousSource != null || previousTranslation != null || previousJobId != null) {
+                if (languages.size() != 1) {
+                    throw new InvalidArgumentException("Delta translation supports a single target language.");
+                }
+                reusedTranslations = reusableTranslations(entries, previousSource, previousTranslation, previousJobId);
+            }
+
+            // Identical requests (same bytes, same target languages, same previous version) share one job
+            String fingerprint;
+            try (InputStream in = Files.newInputStream(tempFile)) {
+                fingerprint = fingerprint(in, languages, reusedTranslations == null ? List.of() : List.of(
+                        previousSource.getBytes(),
+                        previousTranslation != null ? previousTranslation.getBytes() : new byte[0],
+                        previousJobId != null ? previousJobId.strip().getBytes(StandardCharsets.UTF_8) : new byte[0]));
+            }
 
             // Generate job ID
             String jobId = UUID.randomUUID().toString();
             final Path finalTempFile = tempFile; // Capture for lambda
 
-            // Store initial status with total entries count
-            jobStore.store(jobId, TranslationJobStatusResponse.pending(jobId, originalName, totalEntries));
+            // Store initial status with total entries count, unless an identical job already exists
+            String ownerJobId = jobRepository.registerOrAttach(
+                    fingerprint, jobId, TranslationJobStatusResponse.pending(jobId, originalName, totalEntries));
+            if (!ownerJobId.equals(jobId)) {
+                Files.deleteIfExists(finalTempFile);
+                return duplicateJobResponse(ownerJobId);
+            }
 
             // Start translation asynchronously
-            TranslationJobRequest request = new TranslationJobRequest(finalTempFile, targetLanguage, jobId);
-            translationJobService.translateInBackground(request)
-                    .thenAccept(output -> {
-                        try {
-                            // Get current status to preserve progress information
-                            TranslationJobStatusResponse currentStatus = jobStore.get(jobId);
-                            Integer totalEntriesForCompletion = currentStatus != null ? currentStatus.totalEntries() : null;
-                            
-                            // Update status to processing (already processing, but update for consistency)
-                            // Preserve progress if available
-                            if (currentStatus != null && currentStatus.translatedEntries() != null && currentStatus.totalEntries() != null) {
-                                jobStore.store(jobId, TranslationJobStatusResponse.processing(
-                                        jobId, originalName, currentStatus.translatedEntries(), currentStatus.totalEntries()));
-                            } else {
-                                jobStore.store(jobId, TranslationJobStatusResponse.processing(jobId, originalName));
-                            }
-
-                            byte[] translatedBytes = Files.readAllBytes(output);
-                            String contentBase64 = Base64.getEncoder().encodeToString(translatedBytes);
-                            String outputFileName = outputFileNameForOriginal(originalName, targetLanguage);
-
-                            // Store completed status with total entries for consistency
-                            jobStore.store(jobId, TranslationJobStatusResponse.completed(
-                                    jobId, originalName, outputFileName, contentBase64, totalEntriesForCompletion));
-
-                            // Cleanup files
-                            Files.deleteIfExists(output);
-                            Files.deleteIfExists(finalTempFile);
-                        } catch (Exception e) {
-                            jobStore.store(jobId, TranslationJobStatusResponse.failed(
-                                    jobId, originalName, "Failed to process translation: " + e.getMessage()));
-                            // Cleanup on error
-                            try {
-                                Files.deleteIfExists(finalTempFile);
-                            } catch (Exception ignored) {
-                            }
-                        }
-                    })
-                    .exceptionally(ex -> {
-                        jobStore.store(jobId, TranslationJobStatusResponse.failed(
-                                jobId, originalName, "Translation failed: " + ex.getMessage()));
-                        // Cleanup on error
-                        try {
-                            Files.deleteIfExists(finalTempFile);
-                        } catch (Exception ignored) {
-                        }
-                        return null;
-                    });
+            if (reusedTranslations != null) {
+                TranslationJobRequest request = TranslationJobRequest.delta(
+                        finalTempFile, languages.getFirst(), jobId, reusedTranslations);
+                translationJobService.submit(request, originalName);
+                TranslationJobCreateResponse response = new TranslationJobCreateResponse(jobId,
+                        "Translation job created; " + reusedTranslations.size() + " of " + totalEntries
+                                + " cues reused from the previous version. Use GET /api/translation-jobs/{jobId} to check status.");
+                return ResponseEntity.accepted().body(ApiResponse.success("Translation job started.", response));
+            } else if (languages.size() == 1) {
+                TranslationJobRequest request = new TranslationJobRequest(finalTempFile, languages.getFirst(), jobId);
+                translationJobService.submit(request, originalName);
+            } else {
+                MultiLanguageJobRequest request = new MultiLanguageJobRequest(finalTempFile, languages, jobId);
+                translationJobService.submitMultiLanguage(request, originalName);
+            }
 
             // Return job ID immediately
             TranslationJobCreateResponse response = new TranslationJobCreateResponse(
@@ -147,10 +190,71 @@ public class TranslationJobController {
         }
     }
 
+    /**
+     * Translates every .srt file of a zip archive (e.g. a whole season) as one job.
+     * The archive is read from the upload stream in memory; outputs can be streamed from
+     * {@code GET /api/translation-jobs/{jobId}/archive} while the job is still running.
+     */
+    @PostMapping(value = "/season-packs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<?>> createSeasonPackJob(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam("targetLanguage") String targetLanguage) {
+        try {
+            if (file == null || file.isEmpty()) {
+                throw new InvalidArgumentException("Season pack archive is required.");
+            }
+            if (file.getSize() > MAX_SEASON_PACK_UPLOAD_BYTES) {
+                throw new InvalidArgumentException("Season pack archive must be 20 MB or smaller.");
+            }
+            if (targetLanguage == null || targetLanguage.isBlank()) {
+                throw new InvalidArgumentException("Target language is required.");
+            }
+            String originalName = file.getOriginalFilename();
+            if (originalName == null || !originalName.toLowerCase().endsWith(".zip")) {
+                throw new InvalidArgumentException("Season packs must be uploaded as a .zip file.");
+            }
+
+            List<SubtitleFile> files = tracing.inSpan("translation.upload.validate", Attributes.empty(), span -> {
+                try (InputStream in = file.getInputStream()) {
+                    return SubtitleArchiveReader.readSrtFiles(
+                            in, MAX_SEASON_PACK_FILES, MAX_UPLOAD_BYTES, MAX_SEASON_PACK_CONTENT_BYTES);
+                }
+            });
+
+            String fingerprint;
+            try (InputStream in = file.getInputStream()) {
+                fingerprint = fingerprint(in, List.of(targetLanguage));
+            }
+
+            // Parsed once here: the cue count registers the job, and the cues go to the service with the files
+            List<List<SrtEntry>> entries = tracing.inSpan("translation.parse", Attributes.empty(),
+                    span -> files.stream().map(f -> parseUpload(f.content())).toList());
+            int totalEntries = entries.stream().mapToInt(List::size).sum();
+
+            String jobId = UUID.randomUUID().toString();
+            String ownerJobId = jobRepository.registerOrAttach(
+                    fingerprint, jobId, TranslationJobStatusResponse.pending(jobId, originalName, totalEntries));
+            if (!ownerJobId.equals(jobId)) {
+                return duplicateJobResponse(ownerJobId);
+            }
+
+            translationJobService.submitSeasonPack(
+                    new SeasonPackJobRequest(files, entries, targetLanguage.trim(), jobId), originalName);
+
+            TranslationJobCreateResponse response = new TranslationJobCreateResponse(
+                    jobId, "Season pack job created. Use GET /api/translation-jobs/{jobId} to check status.");
+            return ResponseEntity.accepted().body(ApiResponse.success("Translation job started.", response));
+        } catch (IllegalArgumentException ex) {
+            return GlobalExceptionHandler.errorResponseEntity(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception ex) {
+            return GlobalExceptionHandler.errorResponseEntity("Failed to start translation.", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @GetMapping("/{jobId}")
     public ResponseEntity<ApiResponse<?>> getTranslationJobStatus(@PathVariable String jobId) {
         try {
-            TranslationJobStatusResponse status = jobStore.get(jobId);
+            TranslationJobStatusResponse status = jobRepository.get(jobId);
             if (status == null) {
                 return GlobalExceptionHandler.errorResponseEntity("Job not found.", HttpStatus.NOT_FOUND);
             }
@@ -162,19 +266,196 @@ public class TranslationJobController {
         }
     }
 
-    private String outputFileNameForOriginal(String originalName, String targetLanguage) {
-        String lower = originalName.toLowerCase();
-        String base = lower.endsWith(".srt") ? originalName.substring(0, originalName.length() - 4) : originalName;
-        String suffix = targetLanguage == null ? "" : targetLanguage.toLowerCase();
-        suffix = suffix.replaceAll("[^a-z0-9]+", "-");
-        suffix = suffix.replaceAll("(^-+|-+$)", "");
-        if (suffix.isBlank()) {
-            suffix = "translated";
+    /**
+     * Downloads a single output file of a completed job, e.g. one language out of a multi-language job.
+     */
+    @GetMapping("/{jobId}/files/{fileName}")
+    public ResponseEntity<ApiResponse<?>> getTranslationJobFile(@PathVariable String jobId, @PathVariable String fileName) {
+        try {
+            TranslationJobResponse file = translationJobService.getOutputFile(jobId, fileName);
+            if (file == null) {
+                return GlobalExceptionHandler.errorResponseEntity("File not found.", HttpStatus.NOT_FOUND);
+            }
+            return ResponseEntity.ok(ApiResponse.success("File retrieved.", file));
+        } catch (Exception ex) {
+            return GlobalExceptionHandler.errorResponseEntity("Failed to retrieve file.", HttpStatus.INTERNAL_SERVER_ERROR);
         }
-        if (suffix.length() > 24) {
-            suffix = suffix.substring(0, 24);
+    }
+
+    /**
+     * Streams the job's outputs as a zip. While a season pack is running, each file is sent as soon as it
+     * is translated and the response ends when the job finishes.
+     */
+    @GetMapping(value = "/{jobId}/archive")
+    public ResponseEntity<?> streamTranslationJobArchive(@PathVariable String jobId) {
+        try {
+            if (!translationJobService.hasOutputArchive(jobId)) {
+                return GlobalExceptionHandler.errorResponseEntity("Archive not found.", HttpStatus.NOT_FOUND);
+            }
+            StreamingResponseBody body = out -> translationJobService.streamOutputArchive(jobId, out);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/zip"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + jobId + ".zip\"")
+                    .body(body);
+        } catch (Exception ex) {
+            return GlobalExceptionHandler.errorResponseEntity("Failed to retrieve archive.", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Streams the already translated prefix of a running job, following it until the job finishes,
+     * so playback can start before the whole file is translated.
+     */
+    @GetMapping("/{jobId}/partial")
+    public ResponseEntity<?> streamTranslationJobPrefix(@PathVariable String jobId) {
+        try {
+            if (!translationJobService.hasCommittedOutput(jobId)) {
+                return GlobalExceptionHandler.errorResponseEntity("Output not found.", HttpStatus.NOT_FOUND);
+            }
+            StreamingResponseBody body = out -> translationJobService.streamCommittedOutput(jobId, out);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/x-subrip;charset=UTF-8"))
+                    .body(body);
+        } catch (Exception ex) {
+            return GlobalExceptionHandler.errorResponseEntity("Failed to retrieve output.", HttpStatus.INTERNAL_SERVER_ERROR);
         }
-        return base + "_" + suffix + ".srt";
+    }
+
+    /**
+     * Downloads the output of a completed large-file job, which is kept on disk instead of inline in the status.
+     */
+    @GetMapping("/{jobId}/output")
+    public ResponseEntity<?> downloadTranslationJobOutput(@PathVariable String jobId) {
+        try {
+            TranslationJobStatusResponse status = jobRepository.get(jobId);
+            if (status == null || !"COMPLETED".equals(status.status()) || status.contentBase64() != null) {
+                return GlobalExceptionHandler.errorResponseEntity("Output not found.", HttpStatus.NOT_FOUND);
+            }
+            Path output = uploadService.outputFile(jobId);
+            if (!Files.exists(output)) {
+                return GlobalExceptionHandler.errorResponseEntity("Output not found.", HttpStatus.NOT_FOUND);
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/x-subrip"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + status.outputFileName() + "\"")
+                    .body(new FileSystemResource(output));
+        } catch (Exception ex) {
+            return GlobalExceptionHandler.errorResponseEntity("Failed to retrieve output.", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Matches the upload against the previous version and its translation (uploaded or from a completed job).
+     */
+    private Map<Integer, List<String>> reusableTranslations(List<SrtEntry> entries, MultipartFile previousSource,
+                                                            MultipartFile previousTranslation, String previousJobId)
+            throws IOException {
+        if (previousSource == null || previousSource.isEmpty()) {
+            throw new InvalidArgumentException("Delta translation requires the previous source file (previousSource).");
+        }
+        if ((previousTranslation == null || previousTranslation.isEmpty()) == (previousJobId == null || previousJobId.isBlank())) {
+            throw new InvalidArgumentException("Delta translation requires exactly one of previousTranslation or previousJobId.");
+        }
+        if (previousSource.getSize() > MAX_UPLOAD_BYTES
+                || (previousTranslation != null && previousTranslation.getSize() > MAX_UPLOAD_BYTES)) {
+            throw new InvalidArgumentException("Previous subtitle files must be 2 MB or smaller.");
+        }
+
+        byte[] translationBytes;
+        if (previousTranslation != null && !previousTranslation.isEmpty()) {
+            translationBytes = previousTranslation.getBytes();
+        } else {
+            TranslationJobStatusResponse previousJob = jobRepository.get(previousJobId);
+            if (previousJob == null || !"COMPLETED".equals(previousJob.status()) || previousJob.contentBase64() == null
+                    || previousJob.outputFileName() == null || !previousJob.outputFileName().toLowerCase().endsWith(".srt")) {
+                throw new InvalidArgumentException("Previous job has no completed subtitle output.");
+            }
+            translationBytes = Base64.getDecoder().decode(previousJob.contentBase64());
+        }
+
+        return DeltaTranslationPlanner.reusableTranslations(
+                parseUpload(previousSource.getBytes()), parseUpload(translationBytes), entries);
+    }
+
+    private static List<SrtEntry> parseUpload(byte[] content) {
+        return SrtIOParser.parse(new String(content, StandardCharsets.UTF_8).lines().toList());
+    }
+
+    /**
+     * Returns the stored result of a completed duplicate immediately,
+     * or attaches the caller to the in-flight job that owns the same content.
+     */
+    private ResponseEntity<ApiResponse<?>> duplicateJobResponse(String ownerJobId) {
+        TranslationJobStatusResponse ownerStatus = jobRepository.get(ownerJobId);
+        if (ownerStatus != null && "COMPLETED".equals(ownerStatus.status())) {
+            return ResponseEntity.ok(ApiResponse.success("Translation already completed.", ownerStatus));
+        }
+        TranslationJobCreateResponse response = new TranslationJobCreateResponse(
+                ownerJobId, "Identical translation job already running. Use GET /api/translation-jobs/{jobId} to check status.");
+        return ResponseEntity.accepted().body(ApiResponse.success("Attached to existing translation job.", response));
+    }
+
+    static String fingerprint(InputStream in, List<String> targetLanguages) throws IOException {
+        return fingerprint(in, targetLanguages, List.of());
+    }
+
+    /**
+     * SHA-256 over the uploaded bytes, the normalized target languages, in any order, and the inputs of a delta
+     * translation (previous source, previous translation, previous job ID), which change its result. Each part is
+     * length-prefixed, so no request can collide with another through the way its parts are split.
+     */
+    static String fingerprint(InputStream in, List<String> targetLanguages, List<byte[]> deltaInputs) throws IOException {
+        try {
+            MessageDigest content = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                content.update(buffer, 0, read);
+            }
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(content.digest());
+            List<String> languages = targetLanguages.stream().map(TranslationJobController::normalizeLanguage).sorted().toList();
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(languages.size()).array());
+            for (String language : languages) {
+                byte[] bytes = language.getBytes(StandardCharsets.UTF_8);
+                digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+                digest.update(bytes);
+            }
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(deltaInputs.size()).array());
+            for (byte[] input : deltaInputs) {
+                digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(input.length).array());
+                digest.update(input);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    /**
+     * Merges both request parameters, dropping blanks and languages that would produce the same output file name.
+     */
+    private static List<String> distinctLanguages(String targetLanguage, List<String> targetLanguages) {
+        Map<String, String> byOutputSuffix = new LinkedHashMap<>();
+        List<String> candidates = new ArrayList<>();
+        if (targetLanguage != null) {
+            candidates.add(targetLanguage);
+        }
+        if (targetLanguages != null) {
+            candidates.addAll(targetLanguages);
+        }
+        for (String candidate : candidates) {
+            if (candidate == null || candidate.isBlank()) {
+                continue;
+            }
+            String suffix = normalizeLanguage(candidate).replaceAll("[^a-z0-9]+", "-");
+            byOutputSuffix.putIfAbsent(suffix, candidate.trim());
+        }
+        return List.copyOf(byOutputSuffix.values());
+    }
+
+    private static String normalizeLanguage(String targetLanguage) {
+        return targetLanguage.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
     }
 
 }
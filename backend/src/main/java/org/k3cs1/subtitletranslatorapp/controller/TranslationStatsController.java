@@ -0,0 +1,59 @@
+package org.k3cs1.subtitletranslatorapp.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.k3cs1.subtitletranslatorapp.api.ApiResponse;
+import org.k3cs1.subtitletranslatorapp.exception.GlobalExceptionHandler;
+import org.k3cs1.subtitletranslatorapp.service.PayloadCodecStatistics;
+import org.k3cs1.subtitletranslatorapp.service.TranslationCapacity;
+import org.k3cs1.subtitletranslatorapp.service.TranslationProviderRouter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/translation-stats")
+@RequiredArgsConstructor
+public class TranslationStatsController {
+
+    private final PayloadCodecStatistics codecStatistics;
+    private final TranslationProviderRouter providerRouter;
+    private final TranslationCapacity capacity;
+
+    /**
+     * Tokens and latency per cue for every payload codec used since startup.
+     */
+    @GetMapping("/codecs")
+    public ResponseEntity<ApiResponse<?>> getCodecStats() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Codec statistics retrieved.", codecStatistics.snapshot()));
+        } catch (Exception ex) {
+            return GlobalExceptionHandler.errorResponseEntity("Failed to retrieve codec statistics.", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Recent latency, error rate and routing score of every translation provider.
+     */
+    @GetMapping("/providers")
+    public ResponseEntity<ApiResponse<?>> getProviderStats() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Provider statistics retrieved.", providerRouter.snapshot()));
+        } catch (Exception ex) {
+            return GlobalExceptionHandler.errorResponseEntity("Failed to retrieve provider statistics.", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Queued and in-flight batches, limiter utilization, estimated drain time and jobs by status of this instance.
+     */
+    @GetMapping("/capacity")
+    public ResponseEntity<ApiResponse<?>> getCapacity() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Capacity retrieved.", capacity.snapshot()));
+        } catch (Exception ex) {
+            return GlobalExceptionHandler.errorResponseEntity("Failed to retrieve capacity.", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.k3cs1.subtitletranslatorapp.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.k3cs1.subtitletranslatorapp.service.TranslationTuning;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/tuning} shows the batch size, batch character budget and per-job parallelism in effect;
+ * {@code POST /actuator/tuning} with a JSON body of the values to change applies them to running jobs from their
+ * next batch on. Both require the admin token (see {@code AdminTokenFilter}).
+ */
+@Component
+@Endpoint(id = "tuning")
+@RequiredArgsConstructor
+public class TranslationTuningEndpoint {
+
+    private final TranslationTuning tuning;
+
+    @ReadOperation
+    public TranslationTuning.Settings settings() {
+        return tuning.current();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> update(@Nullable Integer batchSize, @Nullable Integer maxBatchChars,
+                                              @Nullable Integer maxParallel, Principal principal) {
+        try {
+            return new WebEndpointResponse<>(tuning.update(batchSize, maxBatchChars, maxParallel, principal.getName()));
+        } catch (IllegalArgumentException iae) {
+            return new WebEndpointResponse<>(Map.of("error", iae.getMessage()), WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.k3cs1.subtitletranslatorapp.dto;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public record MultiLanguageJobRequest(Path inputPath, List<String> targetLanguages, String jobId) {
+    public MultiLanguageJobRequest {
+        if (inputPath == null) {
+            throw new IllegalArgumentException("Input path is required.");
+        }
+        if (targetLanguages == null || targetLanguages.isEmpty()) {
+            throw new IllegalArgumentException("At least one target language is required.");
+        }
+        if (targetLanguages.stream().anyMatch(language -> language == null || language.isBlank())) {
+            throw new IllegalArgumentException("Target languages must not be blank.");
+        }
+        targetLanguages = List.copyOf(targetLanguages);
+    }
+}
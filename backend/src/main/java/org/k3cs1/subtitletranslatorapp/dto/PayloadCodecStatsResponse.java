@@ -0,0 +1,15 @@
+package org.k3cs1.subtitletranslatorapp.dto;
+
+public record PayloadCodecStatsResponse(
+        String codec,
+        long calls,
+        long cues,
+        long promptTokens,
+        long completionTokens,
+        double promptTokensPerCue,
+        double completionTokensPerCue,
+        double averageLatencyMsPerCue,
+        long parseFailures,
+        long estimatedCalls // calls without provider usage data, counted as ~4 characters per token
+) {
+}
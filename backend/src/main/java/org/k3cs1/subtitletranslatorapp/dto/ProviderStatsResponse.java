@@ -0,0 +1,15 @@
+package org.k3cs1.subtitletranslatorapp.dto;
+
+import java.util.Map;
+
+public record ProviderStatsResponse(
+        String provider,
+        boolean available,
+        int recentCalls, // calls inside the rolling window
+        double errorRate,
+        double latencyMsPerCue,
+        Double score, // lower is preferred; null until the provider has samples
+        String circuitState, // CLOSED, OPEN or HALF_OPEN
+        Map<String, Long> circuitTransitions // times the breaker entered each state since startup
+) {
+}
@@ -0,0 +1,26 @@
+package org.k3cs1.subtitletranslatorapp.dto;
+
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.k3cs1.subtitletranslatorapp.model.SubtitleFile;
+
+import java.util.List;
+
+/**
+ * Files of a season pack with the cues parsed from each of them, in the same order.
+ */
+public record SeasonPackJobRequest(List<SubtitleFile> files, List<List<SrtEntry>> entries, String targetLanguage,
+                                   String jobId) {
+    public SeasonPackJobRequest {
+        if (files == null || files.isEmpty()) {
+            throw new IllegalArgumentException("At least one subtitle file is required.");
+        }
+        if (entries == null || entries.size() != files.size()) {
+            throw new IllegalArgumentException("Parsed cues are required for every subtitle file.");
+        }
+        if (targetLanguage == null || targetLanguage.isBlank()) {
+            throw new IllegalArgumentException("Target language is required.");
+        }
+        files = List.copyOf(files);
+        entries = List.copyOf(entries);
+    }
+}
@@ -0,0 +1,15 @@
+package org.k3cs1.subtitletranslatorapp.dto;
+
+import java.util.Map;
+
+public record TranslationCapacityResponse(
+        int queuedBatches, // planned batches of running jobs still waiting for a limiter permit, plus the shared queue in distributed mode
+        int inFlightBatches, // batches holding a permit, i.e. provider calls in progress
+        int limiterPermits, // max-parallel summed over the jobs with queued or in-flight batches
+        double limiterUtilization, // inFlightBatches / limiterPermits
+        Double averageBatchSeconds, // smoothed recent batch latency; null until a batch has finished
+        Double estimatedDrainSeconds, // time to finish the queued and in-flight batches at the current permits
+        boolean saturated, // estimatedDrainSeconds above translation.capacity.saturated-drain-seconds
+        Map<String, Long> jobsByStatus
+) {
+}
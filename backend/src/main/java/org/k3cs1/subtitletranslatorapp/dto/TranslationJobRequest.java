@@ -1,8 +1,16 @@
 package org.k3cs1.subtitletranslatorapp.dto;
 
 import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
 
-public record TranslationJobRequest(Path inputPath, String targetLanguage, String jobId) {
+public record TranslationJobRequest(
+        Path inputPath,
+        String targetLanguage,
+        String jobId,
+        Map<Integer, List<String>> completedTranslations, // entries that need no translator call, by index
+        boolean resumed // completedTranslations were replayed from the journal rather than reused from a previous version
+) {
     public TranslationJobRequest {
         if (inputPath == null) {
             throw new IllegalArgumentException("Input path is required.");
@@ -12,8 +20,30 @@ public record TranslationJobRequest(Path inputPath, String targetLanguage, Strin
         }
     }
 
+    // Resuming a journaled job
+    public TranslationJobRequest(Path inputPath, String targetLanguage, String jobId,
+                                 Map<Integer, List<String>> completedTranslations) {
+        this(inputPath, targetLanguage, jobId, completedTranslations, completedTranslations != null);
+    }
+
+    public TranslationJobRequest(Path inputPath, String targetLanguage, String jobId) {
+        this(inputPath, targetLanguage, jobId, null, false);
+    }
+
     // Constructor for backward compatibility (jobId is optional)
     public TranslationJobRequest(Path inputPath, String targetLanguage) {
-        this(inputPath, targetLanguage, null);
+        this(inputPath, targetLanguage, null, null, false);
+    }
+
+    /**
+     * New job whose unchanged cues reuse the translation of a previous version of the file.
+     */
+    public static TranslationJobRequest delta(Path inputPath, String targetLanguage, String jobId,
+                                              Map<Integer, List<String>> reusedTranslations) {
+        return new TranslationJobRequest(inputPath, targetLanguage, jobId, reusedTranslations, false);
+    }
+
+    public boolean isResumed() {
+        return resumed;
     }
 }
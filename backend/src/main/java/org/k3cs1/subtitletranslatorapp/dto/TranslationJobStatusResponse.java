@@ -1,5 +1,7 @@
 package org.k3cs1.subtitletranslatorapp.dto;
 
+import java.util.List;
+
 public record TranslationJobStatusResponse(
         String jobId,
         String status, // PENDING, PROCESSING, COMPLETED, FAILED
@@ -8,7 +10,10 @@ public record TranslationJobStatusResponse(
         String contentBase64,
         String errorMessage,
         Integer translatedEntries,
-        Integer totalEntries
+        Integer totalEntries,
+        List<TranslationLanguageStatus> languages, // per-language progress of multi-language jobs, null otherwise
+        Integer skippedEntries, // cues passed through untranslated because they were already in the target language
+        TranslationTokenUsage tokenUsage // model tokens spent so far, null before the first batch
 ) {
     public TranslationJobStatusResponse {
         if (jobId == null || jobId.isBlank()) {
@@ -19,31 +24,49 @@ public record TranslationJobStatusResponse(
         }
     }
 
+    public TranslationJobStatusResponse withLanguages(List<TranslationLanguageStatus> languages) {
+        return new TranslationJobStatusResponse(jobId, status, inputFileName, outputFileName, contentBase64,
+                errorMessage, translatedEntries, totalEntries, languages, skippedEntries, tokenUsage);
+    }
+
+    public TranslationJobStatusResponse withSkippedEntries(Integer skippedEntries) {
+        return new TranslationJobStatusResponse(jobId, status, inputFileName, outputFileName, contentBase64,
+                errorMessage, translatedEntries, totalEntries, languages, skippedEntries, tokenUsage);
+    }
+
+    public TranslationJobStatusResponse withTokenUsage(TranslationTokenUsage tokenUsage) {
+        return new TranslationJobStatusResponse(jobId, status, inputFileName, outputFileName, contentBase64,
+                errorMessage, translatedEntries, totalEntries, languages, skippedEntries, tokenUsage);
+    }
+
     public static TranslationJobStatusResponse pending(String jobId, String inputFileName) {
-        return new TranslationJobStatusResponse(jobId, "PENDING", inputFileName, null, null, null, null, null);
+        return new TranslationJobStatusResponse(jobId, "PENDING", inputFileName, null, null, null, null, null, null, null, null);
     }
 
     public static TranslationJobStatusResponse pending(String jobId, String inputFileName, Integer totalEntries) {
-        return new TranslationJobStatusResponse(jobId, "PENDING", inputFileName, null, null, null, 0, totalEntries);
+        return new TranslationJobStatusResponse(jobId, "PENDING", inputFileName, null, null, null, 0, totalEntries, null, null, null);
     }
 
     public static TranslationJobStatusResponse processing(String jobId, String inputFileName) {
-        return new TranslationJobStatusResponse(jobId, "PROCESSING", inputFileName, null, null, null, null, null);
+        return new TranslationJobStatusResponse(jobId, "PROCESSING", inputFileName, null, null, null, null, null, null, null, null);
     }
 
     public static TranslationJobStatusResponse processing(String jobId, String inputFileName, Integer translatedEntries, Integer totalEntries) {
-        return new TranslationJobStatusResponse(jobId, "PROCESSING", inputFileName, null, null, null, translatedEntries, totalEntries);
+        return new TranslationJobStatusResponse(jobId, "PROCESSING", inputFileName, null, null, null, translatedEntries,
+                totalEntries, null, null, null);
     }
 
     public static TranslationJobStatusResponse completed(String jobId, String inputFileName, String outputFileName, String contentBase64) {
-        return new TranslationJobStatusResponse(jobId, "COMPLETED", inputFileName, outputFileName, contentBase64, null, null, null);
+        return new TranslationJobStatusResponse(jobId, "COMPLETED", inputFileName, outputFileName, contentBase64, null,
+                null, null, null, null, null);
     }
 
     public static TranslationJobStatusResponse completed(String jobId, String inputFileName, String outputFileName, String contentBase64, Integer totalEntries) {
-        return new TranslationJobStatusResponse(jobId, "COMPLETED", inputFileName, outputFileName, contentBase64, null, totalEntries, totalEntries);
+        return new TranslationJobStatusResponse(jobId, "COMPLETED", inputFileName, outputFileName, contentBase64, null,
+                totalEntries, totalEntries, null, null, null);
     }
 
     public static TranslationJobStatusResponse failed(String jobId, String inputFileName, String errorMessage) {
-        return new TranslationJobStatusResponse(jobId, "FAILED", inputFileName, null, null, errorMessage, null, null);
+        return new TranslationJobStatusResponse(jobId, "FAILED", inputFileName, null, null, errorMessage, null, null, null, null, null);
     }
 }
@@ -0,0 +1,18 @@
+package org.k3cs1.subtitletranslatorapp.dto;
+
+public record TranslationLanguageStatus(
+        String targetLanguage,
+        String status, // PENDING, PROCESSING, COMPLETED
+        Integer translatedEntries,
+        Integer totalEntries,
+        String outputFileName
+) {
+    public TranslationLanguageStatus {
+        if (targetLanguage == null || targetLanguage.isBlank()) {
+            throw new IllegalArgumentException("Target language is required.");
+        }
+        if (status == null || status.isBlank()) {
+            throw new IllegalArgumentException("Status is required.");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.k3cs1.subtitletranslatorapp.dto;
+
+import java.util.Map;
+
+public record TranslationTokenUsage(
+        long promptTokens,
+        long completionTokens,
+        long totalTokens,
+        int translatedCues, // cues sent to a model; a coalesced call is shared out by cue count
+        long modelMillis, // summed over batches, so parallel batches count separately
+        Double tokensPerCue,
+        Double tokensPerSecond, // per second of model time
+        Double estimatedCostUsd, // null unless every model used has a configured price
+        Map<String, TranslationTokenUsage> languages // per target language, null on the per-language entries
+) {
+    public TranslationTokenUsage {
+        if (promptTokens < 0 || completionTokens < 0 || translatedCues < 0 || modelMillis < 0) {
+            throw new IllegalArgumentException("Token usage cannot be negative.");
+        }
+    }
+
+    public static TranslationTokenUsage of(long promptTokens, long completionTokens, int translatedCues, long modelMillis,
+                                           Double estimatedCostUsd, Map<String, TranslationTokenUsage> languages) {
+        long totalTokens = promptTokens + completionTokens;
+        return new TranslationTokenUsage(promptTokens, completionTokens, totalTokens, translatedCues, modelMillis,
+                translatedCues > 0 ? (double) totalTokens / translatedCues : null,
+                modelMillis > 0 ? totalTokens * 1000.0 / modelMillis : null,
+                estimatedCostUsd, languages);
+    }
+}
@@ -0,0 +1,20 @@
+package org.k3cs1.subtitletranslatorapp.dto;
+
+import java.util.List;
+
+public record UploadSessionResponse(
+        String uploadId,
+        String fileName,
+        long totalBytes,
+        int chunkSize,
+        int totalChunks,
+        List<Integer> receivedChunks, // lets a client resume by sending only the missing chunks
+        boolean complete
+) {
+    public UploadSessionResponse {
+        if (uploadId == null || uploadId.isBlank()) {
+            throw new IllegalArgumentException("Upload ID is required.");
+        }
+        receivedChunks = receivedChunks == null ? List.of() : List.copyOf(receivedChunks);
+    }
+}
@@ -0,0 +1,12 @@
+package org.k3cs1.subtitletranslatorapp.exception;
+
+/**
+ * A provider answered, but its answer could not be parsed into cues. A provider failure, not bad input:
+ * the router counts it against the provider and fails over.
+ */
+public class ProviderResponseException extends RuntimeException {
+
+    public ProviderResponseException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,21 @@
+package org.k3cs1.subtitletranslatorapp.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Terminal result of a queued batch: either its translations and the tokens spent on them by model, or the error
+ * that exhausted its attempts.
+ */
+public record BatchOutcome(String batchId, boolean succeeded, Map<Integer, List<String>> translations,
+                           Map<String, BatchTokenUsage> tokenUsage, String errorMessage) {
+
+    public static BatchOutcome success(String batchId, Map<Integer, List<String>> translations,
+                                       Map<String, BatchTokenUsage> tokenUsage) {
+        return new BatchOutcome(batchId, true, translations, tokenUsage != null ? tokenUsage : Map.of(), null);
+    }
+
+    public static BatchOutcome failure(String batchId, String errorMessage) {
+        return new BatchOutcome(batchId, false, null, Map.of(), errorMessage);
+    }
+}
@@ -0,0 +1,8 @@
+package org.k3cs1.subtitletranslatorapp.model;
+
+/**
+ * Tokens one model spent on a queued batch, reported with the batch's outcome so the node that owns the job can
+ * charge them to it whichever node did the work.
+ */
+public record BatchTokenUsage(long promptTokens, long completionTokens, long modelNanos, int calls) {
+}
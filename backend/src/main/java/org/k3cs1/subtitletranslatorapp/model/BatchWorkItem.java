@@ -0,0 +1,9 @@
+package org.k3cs1.subtitletranslatorapp.model;
+
+import java.util.List;
+
+/**
+ * One translation batch published to the shared work queue; any node may claim and translate it.
+ */
+public record BatchWorkItem(String batchId, String jobId, int sequence, String targetLanguage, List<SrtEntry> entries) {
+}
@@ -0,0 +1,23 @@
+package org.k3cs1.subtitletranslatorapp.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unfinished job reconstructed from the journal: the parsed input plus every batch that completed before the restart.
+ * Only single-language jobs carry their input; other kinds cannot be resumed.
+ */
+public record RecoveredTranslationJob(
+        String jobId,
+        String jobKind,
+        String inputFileName,
+        String targetLanguage,
+        List<SrtEntry> entries,
+        Map<Integer, List<String>> completedTranslations
+) {
+    public static final String SINGLE = "single";
+
+    public boolean isResumable() {
+        return SINGLE.equals(jobKind) && entries != null;
+    }
+}
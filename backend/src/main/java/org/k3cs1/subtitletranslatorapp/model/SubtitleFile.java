@@ -0,0 +1,16 @@
+package org.k3cs1.subtitletranslatorapp.model;
+
+/**
+ * Subtitle file held in memory, e.g. one entry of an uploaded season pack.
+ * {@code name} is the entry's path inside the archive.
+ */
+public record SubtitleFile(String name, byte[] content) {
+    public SubtitleFile {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("File name is required.");
+        }
+        if (content == null) {
+            throw new IllegalArgumentException("File content is required.");
+        }
+    }
+}
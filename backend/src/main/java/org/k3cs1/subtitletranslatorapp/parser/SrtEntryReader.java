@@ -0,0 +1,122 @@
+package org.k3cs1.subtitletranslatorapp.parser;
+
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Reads SRT entries one at a time, for files too large to hold as a {@code List<SrtEntry>}.
+ * The one SRT entry parser: {@link SrtIOParser#parse(List)} reads through it as well.
+ */
+public final class SrtEntryReader implements Closeable {
+
+    private final LineSource source;
+    private int lineNumber;
+
+    public SrtEntryReader(BufferedReader reader) {
+        this(new LineSource() {
+            @Override
+            public String readLine() throws IOException {
+                return reader.readLine();
+            }
+
+            @Override
+            public void close() throws IOException {
+                reader.close();
+            }
+        });
+    }
+
+    private SrtEntryReader(LineSource source) {
+        this.source = source;
+    }
+
+    public static SrtEntryReader open(Path path) throws IOException {
+        return new SrtEntryReader(Files.newBufferedReader(path, StandardCharsets.UTF_8));
+    }
+
+    // Lines already in memory, e.g. an upload decoded to a string
+    static SrtEntryReader of(List<String> lines) {
+        Iterator<String> it = lines.iterator();
+        return new SrtEntryReader(new LineSource() {
+            @Override
+            public String readLine() {
+                return it.hasNext() ? it.next() : null;
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+    }
+
+    /**
+     * Returns the next entry, or {@code null} at the end of the input.
+     */
+    public SrtEntry next() throws IOException {
+        String idxLine;
+        // skip empty lines
+        do {
+            idxLine = readLine();
+            if (idxLine == null) {
+                return null;
+            }
+        } while (idxLine.trim().isEmpty());
+
+        // Remove UTF-8 BOM if present and keep only digits for the index line
+        String digits = idxLine.replace("\uFEFF", "").trim().replaceAll("[^0-9]", "");
+        if (digits.isEmpty()) {
+            throw new IllegalArgumentException("Invalid SRT index line at input line " + lineNumber + ": '" + idxLine + "'");
+        }
+        int index = Integer.parseInt(digits);
+
+        String timeRange = readLine();
+        if (timeRange == null) {
+            throw new IllegalArgumentException("Missing SRT time range after input line " + lineNumber);
+        }
+
+        List<String> lines = new ArrayList<>();
+        String line;
+        while ((line = readLine()) != null && !line.trim().isEmpty()) {
+            lines.add(line);
+        }
+        return new SrtEntry(index, timeRange, lines);
+    }
+
+    /**
+     * Reads up to {@code maxEntries} entries; an empty list means the input is exhausted.
+     */
+    public List<SrtEntry> nextWindow(int maxEntries) throws IOException {
+        List<SrtEntry> window = new ArrayList<>(Math.min(maxEntries, 1024));
+        SrtEntry entry;
+        while (window.size() < maxEntries && (entry = next()) != null) {
+            window.add(entry);
+        }
+        return window;
+    }
+
+    private String readLine() throws IOException {
+        String line = source.readLine();
+        if (line != null) {
+            lineNumber++;
+        }
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    private interface LineSource extends Closeable {
+        String readLine() throws IOException;
+    }
+}
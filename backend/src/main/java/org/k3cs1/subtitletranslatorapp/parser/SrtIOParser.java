@@ -4,7 +4,12 @@ import org.k3cs1.subtitletranslatorapp.exception.InvalidArgumentException;
 import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -29,88 +34,80 @@ public final class SrtIOParser {
             throw new InvalidArgumentException("Subtitle file path is required.");
         }
 
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            validateSrtContent(reader);
+        }
+    }
+
+    /**
+     * Same checks as {@link #validateSrtContent(Path)}, for content that never touches the disk
+     * (e.g. subtitle files read from an uploaded zip).
+     */
+    public static void validateSrtContent(BufferedReader reader) throws IOException {
+        if (reader == null) {
+            throw new InvalidArgumentException("Subtitle content is required.");
+        }
+
         int linesScanned = 0;
         int maxLinesToScan = 300;
 
-        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
-            String line;
+        String line;
+
+        // Find the first non-empty line (index line), then the next non-empty line must be a time range.
+        while ((line = reader.readLine()) != null && linesScanned < maxLinesToScan) {
+            linesScanned++;
+            String trimmed = line.replace("\uFEFF", "").trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
 
-            // Find the first non-empty line (index line), then the next non-empty line must be a time range.
-            while ((line = reader.readLine()) != null && linesScanned < maxLinesToScan) {
+            // index line must be digits (some files include whitespace; allow that)
+            String idx = trimmed.replaceAll("[^0-9]", "");
+            if (idx.isEmpty()) {
+                throw new InvalidArgumentException("Uploaded file is not a valid .srt subtitle file (missing numeric index line).");
+            }
+
+            // now find the next non-empty line and validate time range format
+            String timeLine;
+            while ((timeLine = reader.readLine()) != null && linesScanned < maxLinesToScan) {
                 linesScanned++;
-                String trimmed = line.replace("\uFEFF", "").trim();
-                if (trimmed.isEmpty()) {
+                String t = timeLine.trim();
+                if (t.isEmpty()) {
                     continue;
                 }
-
-                // index line must be digits (some files include whitespace; allow that)
-                String idx = trimmed.replaceAll("[^0-9]", "");
-                if (idx.isEmpty()) {
-                    throw new InvalidArgumentException("Uploaded file is not a valid .srt subtitle file (missing numeric index line).");
-                }
-
-                // now find the next non-empty line and validate time range format
-                String timeLine;
-                while ((timeLine = reader.readLine()) != null && linesScanned < maxLinesToScan) {
-                    linesScanned++;
-                    String t = timeLine.trim();
-                    if (t.isEmpty()) {
-                        continue;
-                    }
-                    if (!SRT_TIME_RANGE.matcher(t).matches()) {
-                        throw new InvalidArgumentException("Uploaded file is not a valid .srt subtitle file (invalid time range line).");
-                    }
-                    return; // looks like SRT
+                if (!SRT_TIME_RANGE.matcher(t).matches()) {
+                    throw new InvalidArgumentException("Uploaded file is not a valid .srt subtitle file (invalid time range line).");
                 }
-
-                // file ended before a time range line appeared
-                throw new InvalidArgumentException("Uploaded file is not a valid .srt subtitle file (incomplete header).");
+                return; // looks like SRT
             }
+
+            // file ended before a time range line appeared
+            throw new InvalidArgumentException("Uploaded file is not a valid .srt subtitle file (incomplete header).");
         }
 
         throw new InvalidArgumentException("Uploaded file is not a valid .srt subtitle file.");
     }
 
     public static List<SrtEntry> parse(Path path) throws IOException {
-        List<String> all = Files.readAllLines(path, StandardCharsets.UTF_8);
-        List<SrtEntry> entries = new ArrayList<>();
-
-        int i = 0;
-        while (i < all.size()) {
-            // skip empty lines
-            while (i < all.size() && all.get(i).trim().isEmpty()) {
-                i++;
-            }
-            if (i >= all.size()) {
-                break;
-            }
-
-            String idxLine = all.get(i);
-
-            // Remove UTF-8 BOM if present and trim
-            idxLine = idxLine.replace("\uFEFF", "").trim();
-
-            // Some files include odd whitespace; keep only digits for the index line
-            idxLine = idxLine.replaceAll("[^0-9]", "");
-
-            if (idxLine.isEmpty()) {
-                throw new IllegalArgumentException("Invalid SRT index line at input line " + (i + 1) + ": '" + all.get(i) + "'");
-            }
-
-            int index = Integer.parseInt(idxLine);
-
-            i++;
-
-            String timeRange = all.get(i);
-            i++;
+        try (SrtEntryReader reader = SrtEntryReader.open(path)) {
+            return readAll(reader);
+        }
+    }
 
-            List<String> lines = new ArrayList<>();
-            while (i < all.size() && !all.get(i).trim().isEmpty()) {
-                lines.add(all.get(i));
-                i++;
-            }
+    public static List<SrtEntry> parse(List<String> all) {
+        try (SrtEntryReader reader = SrtEntryReader.of(all)) {
+            return readAll(reader);
+        } catch (IOException e) {
+            // Lines in memory are never read from an I/O source
+            throw new UncheckedIOException(e);
+        }
+    }
 
-            entries.add(new SrtEntry(index, timeRange, lines));
+    private static List<SrtEntry> readAll(SrtEntryReader reader) throws IOException {
+        List<SrtEntry> entries = new ArrayList<>();
+        SrtEntry entry;
+        while ((entry = reader.next()) != null) {
+            entries.add(entry);
         }
         return entries;
     }
@@ -126,6 +123,27 @@ public final class SrtIOParser {
         Files.write(out, lines, StandardCharsets.UTF_8);
     }
 
+    /**
+     * Same layout as {@link #write(Path, List)}, for outputs that are not plain files (e.g. zip entries).
+     * The stream is flushed but not closed.
+     */
+    public static void write(OutputStream out, List<SrtEntry> entries) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        String newline = System.lineSeparator();
+        for (SrtEntry entry : entries) {
+            writer.write(Integer.toString(entry.index()));
+            writer.write(newline);
+            writer.write(entry.timeRange());
+            writer.write(newline);
+            for (String line : entry.lines()) {
+                writer.write(line);
+                writer.write(newline);
+            }
+            writer.write(newline); // blank line
+        }
+        writer.flush();
+    }
+
     private SrtIOParser() {
     }
 }
@@ -0,0 +1,85 @@
+package org.k3cs1.subtitletranslatorapp.parser;
+
+import org.k3cs1.subtitletranslatorapp.exception.InvalidArgumentException;
+import org.k3cs1.subtitletranslatorapp.model.SubtitleFile;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Reads the .srt files of a zip archive straight from the upload stream; nothing is extracted to disk.
+ * Limits are enforced on the decompressed bytes, so a small archive cannot inflate past them.
+ */
+public final class SubtitleArchiveReader {
+
+    private SubtitleArchiveReader() {
+    }
+
+    public static List<SubtitleFile> readSrtFiles(InputStream archive, int maxFiles, long maxFileBytes,
+                                                  long maxTotalBytes) throws IOException {
+        if (archive == null) {
+            throw new InvalidArgumentException("Archive is required.");
+        }
+        List<SubtitleFile> files = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        long totalBytes = 0;
+        try (ZipInputStream zip = new ZipInputStream(archive, StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                String name = entry.getName().replace('\\', '/');
+                if (entry.isDirectory() || !isSubtitle(name)) {
+                    continue;
+                }
+                if (name.startsWith("/") || name.contains("../") || name.startsWith("..")) {
+                    throw new InvalidArgumentException("Archive contains an invalid file name: " + name);
+                }
+                if (!names.add(name)) {
+                    throw new InvalidArgumentException("Archive contains duplicate file: " + name);
+                }
+                if (files.size() >= maxFiles) {
+                    throw new InvalidArgumentException("Archive may contain at most " + maxFiles + " subtitle files.");
+                }
+
+                byte[] content = zip.readNBytes((int) Math.min(Integer.MAX_VALUE - 8, maxFileBytes + 1));
+                if (content.length > maxFileBytes) {
+                    throw new InvalidArgumentException("Subtitle file " + name + " is too large.");
+                }
+                totalBytes += content.length;
+                if (totalBytes > maxTotalBytes) {
+                    throw new InvalidArgumentException("Archive content is too large.");
+                }
+
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                        new ByteArrayInputStream(content), StandardCharsets.UTF_8))) {
+                    SrtIOParser.validateSrtContent(reader);
+                } catch (InvalidArgumentException invalid) {
+                    throw new InvalidArgumentException(name + ": " + invalid.getMessage());
+                }
+                files.add(new SubtitleFile(name, content));
+            }
+        } catch (ZipException ze) {
+            throw new InvalidArgumentException("Uploaded file is not a valid zip archive.");
+        }
+        if (files.isEmpty()) {
+            throw new InvalidArgumentException("Archive does not contain any .srt files.");
+        }
+        return files;
+    }
+
+    private static boolean isSubtitle(String name) {
+        String fileName = name.substring(name.lastIndexOf('/') + 1);
+        // Skip macOS resource forks and other hidden files
+        return fileName.toLowerCase().endsWith(".srt") && !fileName.startsWith(".") && !name.startsWith("__MACOSX/");
+    }
+}
@@ -0,0 +1,50 @@
+package org.k3cs1.subtitletranslatorapp.repository;
+
+import org.k3cs1.subtitletranslatorapp.model.BatchOutcome;
+import org.k3cs1.subtitletranslatorapp.model.BatchTokenUsage;
+import org.k3cs1.subtitletranslatorapp.model.BatchWorkItem;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Shared queue of translation batches for distributed mode.
+ * The owning node publishes a job's batches and collects outcomes; every node claims batches under a lease.
+ * A batch whose lease expires (e.g. the claiming node died) becomes claimable again.
+ */
+public interface BatchWorkQueue {
+
+    /**
+     * Replaces any batches previously published for the same job.
+     */
+    void publish(String jobId, List<BatchWorkItem> items);
+
+    /**
+     * Claims the oldest available batch (queued, or claimed with an expired lease).
+     */
+    Optional<BatchWorkItem> claim(String workerId, Duration lease);
+
+    /**
+     * Records a translated batch with the tokens spent on it by model; the first result wins.
+     */
+    void complete(String batchId, Map<Integer, List<String>> translations, Map<String, BatchTokenUsage> tokenUsage);
+
+    /**
+     * Releases a failed batch back to the queue, or marks it failed once it has been claimed {@code maxAttempts} times.
+     */
+    void fail(String batchId, String errorMessage, int maxAttempts);
+
+    /**
+     * Terminal outcomes (succeeded or failed) of the job's batches, keyed by batch ID.
+     */
+    Map<String, BatchOutcome> outcomes(String jobId);
+
+    /**
+     * Batches of every job waiting to be claimed (queued, or claimed with an expired lease).
+     */
+    int backlog();
+
+    void removeJob(String jobId);
+}
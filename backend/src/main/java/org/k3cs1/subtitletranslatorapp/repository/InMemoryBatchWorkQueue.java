@@ -0,0 +1,118 @@
+package org.k3cs1.subtitletranslatorapp.repository;
+
+import org.k3cs1.subtitletranslatorapp.model.BatchOutcome;
+import org.k3cs1.subtitletranslatorapp.model.BatchTokenUsage;
+import org.k3cs1.subtitletranslatorapp.model.BatchWorkItem;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-process stand-in for the shared queue: same claim/lease semantics, but only this JVM's workers see it.
+ */
+@Repository
+@ConditionalOnProperty(name = "translation.distributed.queue", havingValue = "memory", matchIfMissing = true)
+public class InMemoryBatchWorkQueue implements BatchWorkQueue {
+
+    // Insertion order doubles as FIFO claim order
+    private final Map<String, Slot> slots = new LinkedHashMap<>();
+
+    @Override
+    public synchronized void publish(String jobId, List<BatchWorkItem> items) {
+        removeJob(jobId);
+        for (BatchWorkItem item : items) {
+            slots.put(item.batchId(), new Slot(item));
+        }
+    }
+
+    @Override
+    public synchronized Optional<BatchWorkItem> claim(String workerId, Duration lease) {
+        Instant now = Instant.now();
+        for (Slot slot : slots.values()) {
+            if (slot.isClaimable(now)) {
+                slot.status = Status.CLAIMED;
+                slot.leaseOwner = workerId;
+                slot.leaseExpiresAt = now.plus(lease);
+                slot.attempts++;
+                return Optional.of(slot.item);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized void complete(String batchId, Map<Integer, List<String>> translations,
+                                      Map<String, BatchTokenUsage> tokenUsage) {
+        Slot slot = slots.get(batchId);
+        if (slot != null && slot.status != Status.DONE) {
+            slot.status = Status.DONE;
+            slot.translations = translations;
+            slot.tokenUsage = tokenUsage;
+        }
+    }
+
+    @Override
+    public synchronized void fail(String batchId, String errorMessage, int maxAttempts) {
+        Slot slot = slots.get(batchId);
+        if (slot == null || slot.status == Status.DONE) {
+            return;
+        }
+        slot.errorMessage = errorMessage;
+        slot.status = slot.attempts >= maxAttempts ? Status.FAILED : Status.QUEUED;
+    }
+
+    @Override
+    public synchronized Map<String, BatchOutcome> outcomes(String jobId) {
+        Map<String, BatchOutcome> out = new HashMap<>();
+        for (Slot slot : slots.values()) {
+            if (!slot.item.jobId().equals(jobId)) {
+                continue;
+            }
+            if (slot.status == Status.DONE) {
+                out.put(slot.item.batchId(), BatchOutcome.success(slot.item.batchId(), slot.translations, slot.tokenUsage));
+            } else if (slot.status == Status.FAILED) {
+                out.put(slot.item.batchId(), BatchOutcome.failure(slot.item.batchId(), slot.errorMessage));
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public synchronized int backlog() {
+        Instant now = Instant.now();
+        return (int) slots.values().stream().filter(slot -> slot.isClaimable(now)).count();
+    }
+
+    @Override
+    public synchronized void removeJob(String jobId) {
+        slots.values().removeIf(slot -> slot.item.jobId().equals(jobId));
+    }
+
+    private enum Status { QUEUED, CLAIMED, DONE, FAILED }
+
+    private static final class Slot {
+        final BatchWorkItem item;
+        Status status = Status.QUEUED;
+        int attempts;
+        String leaseOwner;
+        Instant leaseExpiresAt;
+        Map<Integer, List<String>> translations;
+        Map<String, BatchTokenUsage> tokenUsage;
+        String errorMessage;
+
+        Slot(BatchWorkItem item) {
+            this.item = item;
+        }
+
+        boolean isClaimable(Instant now) {
+            return status == Status.QUEUED || (status == Status.CLAIMED && leaseExpiresAt.isBefore(now));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.k3cs1.subtitletranslatorapp.repository;
+
+import org.k3cs1.subtitletranslatorapp.dto.TranslationJobStatusResponse;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationLanguageStatus;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationTokenUsage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Repository
+@ConditionalOnProperty(name = "translation.job-repository.type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryJobRepository implements JobRepository {
+
+    private final Map<String, TranslationJobStatusResponse> jobs = new ConcurrentHashMap<>();
+
+    // Content fingerprint (upload bytes + normalized target language) -> owning job ID
+    private final Map<String, String> jobIdsByFingerprint = new ConcurrentHashMap<>();
+
+    @Override
+    public void store(String jobId, TranslationJobStatusResponse status) {
+        jobs.put(jobId, status);
+    }
+
+    @Override
+    public TranslationJobStatusResponse get(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    @Override
+    public void remove(String jobId) {
+        jobs.remove(jobId);
+        jobIdsByFingerprint.values().remove(jobId);
+    }
+
+    @Override
+    public void updateProgress(String jobId, int translatedEntries, int totalEntries, List<TranslationLanguageStatus> languages) {
+        jobs.computeIfPresent(jobId, (id, current) -> TranslationJobStatusResponse.processing(
+                id, current.inputFileName(), translatedEntries, totalEntries)
+                .withLanguages(languages)
+                .withSkippedEntries(current.skippedEntries())
+                .withTokenUsage(current.tokenUsage()));
+    }
+
+    @Override
+    public void updateTokenUsage(String jobId, TranslationTokenUsage tokenUsage) {
+        jobs.computeIfPresent(jobId, (id, current) -> current.withTokenUsage(tokenUsage));
+    }
+
+    @Override
+    public String registerOrAttach(String fingerprint, String jobId, TranslationJobStatusResponse initialStatus) {
+        return jobIdsByFingerprint.compute(fingerprint, (key, existingJobId) -> {
+            if (existingJobId != null) {
+                TranslationJobStatusResponse existing = jobs.get(existingJobId);
+                if (existing != null && !"FAILED".equals(existing.status())) {
+                    return existingJobId;
+                }
+            }
+            jobs.put(jobId, initialStatus);
+            return jobId;
+        });
+    }
+
+    @Override
+    public Map<String, Long> countByStatus() {
+        return jobs.values().stream()
+                .collect(Collectors.groupingBy(TranslationJobStatusResponse::status, Collectors.counting()));
+    }
+}
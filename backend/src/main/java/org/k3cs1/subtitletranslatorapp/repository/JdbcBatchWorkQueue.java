@@ -0,0 +1,182 @@
+package org.k3cs1.subtitletranslatorapp.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.k3cs1.subtitletranslatorapp.model.BatchOutcome;
+import org.k3cs1.subtitletranslatorapp.model.BatchTokenUsage;
+import org.k3cs1.subtitletranslatorapp.model.BatchWorkItem;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Database-backed queue shared by all instances.
+ * Claims are optimistic: a worker reads a few candidates and wins one with a conditional UPDATE,
+ * which works the same on H2 and PostgreSQL without row-lock syntax.
+ */
+@Repository
+@ConditionalOnProperty(name = "translation.distributed.queue", havingValue = "jdbc")
+@RequiredArgsConstructor
+public class JdbcBatchWorkQueue implements BatchWorkQueue {
+
+    private static final int CLAIM_CANDIDATES = 5;
+    private static final TypeReference<List<SrtEntry>> ENTRIES_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<Map<Integer, List<String>>> TRANSLATIONS_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<Map<String, BatchTokenUsage>> TOKEN_USAGE_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${translation.jdbc.initialize-schema:true}")
+    private boolean initializeSchema;
+
+    @PostConstruct
+    public void init() {
+        if (initializeSchema) {
+            new ResourceDatabasePopulator(new ClassPathResource("db/translation_schema.sql"))
+                    .execute(Objects.requireNonNull(jdbcTemplate.getDataSource(), "DataSource is required"));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void publish(String jobId, List<BatchWorkItem> items) {
+        removeJob(jobId);
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(items.size());
+        for (BatchWorkItem item : items) {
+            rows.add(new Object[]{item.batchId(), item.jobId(), item.sequence(), item.targetLanguage(),
+                    toJson(item.entries()), now});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO translation_batches (batch_id, job_id, sequence_no, target_language, entries_json,
+                       status, attempts, created_at)
+                VALUES (?, ?, ?, ?, ?, 'QUEUED', 0, ?)""", rows);
+    }
+
+    @Override
+    public Optional<BatchWorkItem> claim(String workerId, Duration lease) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<String> candidates = jdbcTemplate.queryForList("""
+                        SELECT batch_id FROM translation_batches
+                        WHERE status = 'QUEUED' OR (status = 'CLAIMED' AND lease_expires_at < ?)
+                        ORDER BY created_at, sequence_no
+                        FETCH FIRST %d ROWS ONLY""".formatted(CLAIM_CANDIDATES),
+                String.class, now);
+        Timestamp expiresAt = Timestamp.from(now.toInstant().plus(lease));
+        for (String batchId : candidates) {
+            int won = jdbcTemplate.update("""
+                            UPDATE translation_batches
+                            SET status = 'CLAIMED', lease_owner = ?, lease_expires_at = ?, attempts = attempts + 1
+                            WHERE batch_id = ? AND (status = 'QUEUED' OR (status = 'CLAIMED' AND lease_expires_at < ?))""",
+                    workerId, expiresAt, batchId, now);
+            if (won == 1) {
+                List<BatchWorkItem> claimed = jdbcTemplate.query("""
+                                SELECT batch_id, job_id, sequence_no, target_language, entries_json
+                                FROM translation_batches WHERE batch_id = ?""",
+                        (rs, rowNum) -> new BatchWorkItem(
+                                rs.getString("batch_id"),
+                                rs.getString("job_id"),
+                                rs.getInt("sequence_no"),
+                                rs.getString("target_language"),
+                                fromJson(rs.getString("entries_json"), ENTRIES_TYPE)),
+                        batchId);
+                if (!claimed.isEmpty()) {
+                    return Optional.of(claimed.getFirst());
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void complete(String batchId, Map<Integer, List<String>> translations,
+                         Map<String, BatchTokenUsage> tokenUsage) {
+        // A late result from a node whose lease was stolen is still a valid translation; first one wins.
+        jdbcTemplate.update("""
+                        UPDATE translation_batches SET status = 'DONE', result_json = ?, token_usage_json = ?, lease_owner = NULL
+                        WHERE batch_id = ? AND status <> 'DONE'""",
+                toJson(translations), tokenUsage != null ? toJson(tokenUsage) : null, batchId);
+    }
+
+    @Override
+    public void fail(String batchId, String errorMessage, int maxAttempts) {
+        jdbcTemplate.update("""
+                        UPDATE translation_batches
+                        SET status = CASE WHEN attempts >= ? THEN 'FAILED' ELSE 'QUEUED' END,
+                            error_message = ?, lease_owner = NULL, lease_expires_at = NULL
+                        WHERE batch_id = ? AND status <> 'DONE'""",
+                maxAttempts, errorMessage, batchId);
+    }
+
+    @Override
+    public Map<String, BatchOutcome> outcomes(String jobId) {
+        Map<String, BatchOutcome> out = new HashMap<>();
+        jdbcTemplate.query("""
+                        SELECT batch_id, status, result_json, token_usage_json, error_message FROM translation_batches
+                        WHERE job_id = ? AND status IN ('DONE', 'FAILED')""",
+                rs -> {
+                    String batchId = rs.getString("batch_id");
+                    if ("DONE".equals(rs.getString("status"))) {
+                        String tokenUsage = rs.getString("token_usage_json");
+                        out.put(batchId, BatchOutcome.success(batchId, fromJson(rs.getString("result_json"), TRANSLATIONS_TYPE),
+                                tokenUsage != null ? fromJson(tokenUsage, TOKEN_USAGE_TYPE) : null));
+                    } else {
+                        out.put(batchId, BatchOutcome.failure(batchId, rs.getString("error_message")));
+                    }
+                },
+                jobId);
+        return out;
+    }
+
+    @Override
+    public int backlog() {
+        Integer queued = jdbcTemplate.queryForObject("""
+                        SELECT COUNT(*) FROM translation_batches
+                        WHERE status = 'QUEUED' OR (status = 'CLAIMED' AND lease_expires_at < ?)""",
+                Integer.class, Timestamp.from(Instant.now()));
+        return queued != null ? queued : 0;
+    }
+
+    @Override
+    public void removeJob(String jobId) {
+        jdbcTemplate.update("DELETE FROM translation_batches WHERE job_id = ?", jobId);
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize queued batch.", e);
+        }
+    }
+
+    private <T> T fromJson(String json, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to deserialize queued batch.", e);
+        }
+    }
+}
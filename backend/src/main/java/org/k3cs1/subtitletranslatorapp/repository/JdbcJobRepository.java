@@ -0,0 +1,291 @@
+package org.k3cs1.subtitletranslatorapp.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationJobStatusResponse;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationLanguageStatus;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationTokenUsage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared job storage for multi-instance deployments.
+ * Terminal and initial statuses are written through; per-batch progress is buffered and flushed
+ * as one JDBC batch on a fixed interval, so a busy job doesn't turn into one UPDATE per batch.
+ */
+@Repository
+@ConditionalOnProperty(name = "translation.job-repository.type", havingValue = "jdbc")
+@RequiredArgsConstructor
+@Slf4j
+public class JdbcJobRepository implements JobRepository {
+
+    private static final String SELECT_JOB = """
+            SELECT job_id, status, input_file_name, output_file_name, content_base64, error_message,
+                   translated_entries, total_entries, languages_json, skipped_entries, token_usage_json
+            FROM translation_jobs WHERE job_id = ?""";
+
+    private static final TypeReference<List<TranslationLanguageStatus>> LANGUAGES_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final RowMapper<TranslationJobStatusResponse> statusMapper = (rs, rowNum) ->
+            new TranslationJobStatusResponse(
+                    rs.getString("job_id"),
+                    rs.getString("status"),
+                    rs.getString("input_file_name"),
+                    rs.getString("output_file_name"),
+                    rs.getString("content_base64"),
+                    rs.getString("error_message"),
+                    (Integer) rs.getObject("translated_entries"),
+                    (Integer) rs.getObject("total_entries"),
+                    fromJson(rs.getString("languages_json"), LANGUAGES_TYPE),
+                    (Integer) rs.getObject("skipped_entries"),
+                    fromJson(rs.getString("token_usage_json"), TranslationTokenUsage.class));
+
+    @Value("${translation.jdbc.initialize-schema:true}")
+    private boolean initializeSchema;
+
+    // jobId -> latest progress waiting for the next flush
+    private final Map<String, Progress> pendingProgress = new ConcurrentHashMap<>();
+
+    // jobId -> latest token usage waiting for the next flush
+    private final Map<String, TranslationTokenUsage> pendingTokenUsage = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        if (initializeSchema) {
+            new ResourceDatabasePopulator(new ClassPathResource("db/translation_schema.sql"))
+                    .execute(Objects.requireNonNull(jdbcTemplate.getDataSource(), "DataSource is required"));
+        }
+    }
+
+    @Override
+    public void store(String jobId, TranslationJobStatusResponse status) {
+        pendingProgress.remove(jobId);
+        pendingTokenUsage.remove(jobId);
+        Timestamp now = Timestamp.from(Instant.now());
+        int updated = jdbcTemplate.update("""
+                        UPDATE translation_jobs SET status = ?, input_file_name = ?, output_file_name = ?, content_base64 = ?,
+                               error_message = ?, translated_entries = ?, total_entries = ?, languages_json = ?,
+                               skipped_entries = ?, token_usage_json = ?, updated_at = ?
+                        WHERE job_id = ?""",
+                status.status(), status.inputFileName(), status.outputFileName(), status.contentBase64(),
+                status.errorMessage(), status.translatedEntries(), status.totalEntries(), toJson(status.languages()),
+                status.skippedEntries(), toJson(status.tokenUsage()), now, jobId);
+        if (updated == 0) {
+            jdbcTemplate.update("""
+                            INSERT INTO translation_jobs (job_id, status, input_file_name, output_file_name, content_base64,
+                                   error_message, translated_entries, total_entries, languages_json, skipped_entries, token_usage_json,
+                                   updated_at)
+                            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""",
+                    jobId, status.status(), status.inputFileName(), status.outputFileName(), status.contentBase64(),
+                    status.errorMessage(), status.translatedEntries(), status.totalEntries(), toJson(status.languages()),
+                    status.skippedEntries(), toJson(status.tokenUsage()), now);
+        }
+    }
+
+    @Override
+    public TranslationJobStatusResponse get(String jobId) {
+        List<TranslationJobStatusResponse> rows = jdbcTemplate.query(SELECT_JOB, statusMapper, jobId);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        TranslationJobStatusResponse status = rows.getFirst();
+        if (!isActive(status)) {
+            return status;
+        }
+        // Overlay progress and usage that this instance has not flushed yet
+        TranslationTokenUsage tokenUsage = pendingTokenUsage.get(jobId);
+        if (tokenUsage != null) {
+            status = status.withTokenUsage(tokenUsage);
+        }
+        Progress progress = pendingProgress.get(jobId);
+        if (progress != null) {
+            return TranslationJobStatusResponse.processing(
+                    jobId, status.inputFileName(), progress.translatedEntries(), progress.totalEntries())
+                    .withLanguages(progress.languages())
+                    .withSkippedEntries(status.skippedEntries())
+                    .withTokenUsage(status.tokenUsage());
+        }
+        return status;
+    }
+
+    @Override
+    public void remove(String jobId) {
+        pendingProgress.remove(jobId);
+        pendingTokenUsage.remove(jobId);
+        jdbcTemplate.update("DELETE FROM translation_job_fingerprints WHERE job_id = ?", jobId);
+        jdbcTemplate.update("DELETE FROM translation_jobs WHERE job_id = ?", jobId);
+    }
+
+    @Override
+    public void updateProgress(String jobId, int translatedEntries, int totalEntries, List<TranslationLanguageStatus> languages) {
+        pendingProgress.merge(jobId, new Progress(translatedEntries, totalEntries, languages),
+                (current, next) -> next.translatedEntries() >= current.translatedEntries() ? next : current);
+    }
+
+    @Override
+    public void updateTokenUsage(String jobId, TranslationTokenUsage tokenUsage) {
+        pendingTokenUsage.merge(jobId, tokenUsage,
+                (current, next) -> next.totalTokens() >= current.totalTokens() ? next : current);
+    }
+
+    /**
+     * Compare-and-set on the fingerprint row: the new job row is inserted first so an owner is never visible
+     * without a status, then the fingerprint is claimed (insert, or take over from a failed/missing owner).
+     * A lost race deletes the provisional job row and attaches to the winner.
+     */
+    @Override
+    public String registerOrAttach(String fingerprint, String jobId, TranslationJobStatusResponse initialStatus) {
+        store(jobId, initialStatus);
+        while (true) {
+            try {
+                jdbcTemplate.update(
+                        "INSERT INTO translation_job_fingerprints (fingerprint, job_id) VALUES (?, ?)", fingerprint, jobId);
+                return jobId;
+            } catch (DuplicateKeyException taken) {
+                List<String> owners = jdbcTemplate.queryForList(
+                        "SELECT job_id FROM translation_job_fingerprints WHERE fingerprint = ?", String.class, fingerprint);
+                if (owners.isEmpty()) {
+                    continue; // owner row vanished between insert and select; retry the insert
+                }
+                String ownerJobId = owners.getFirst();
+                TranslationJobStatusResponse owner = get(ownerJobId);
+                if (owner != null && !"FAILED".equals(owner.status())) {
+                    remove(jobId);
+                    return ownerJobId;
+                }
+                int claimed = jdbcTemplate.update(
+                        "UPDATE translation_job_fingerprints SET job_id = ? WHERE fingerprint = ? AND job_id = ?",
+                        jobId, fingerprint, ownerJobId);
+                if (claimed == 1) {
+                    return jobId;
+                }
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Long> countByStatus() {
+        Map<String, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT status, COUNT(*) AS jobs FROM translation_jobs GROUP BY status",
+                rs -> {
+                    counts.put(rs.getString("status"), rs.getLong("jobs"));
+                });
+        return counts;
+    }
+
+    @Scheduled(fixedDelayString = "${translation.job-repository.progress-flush-interval-ms:1000}")
+    public void flushProgress() {
+        flushTokenUsage();
+        if (pendingProgress.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(pendingProgress.size());
+        Timestamp now = Timestamp.from(Instant.now());
+        for (String jobId : List.copyOf(pendingProgress.keySet())) {
+            Progress progress = pendingProgress.remove(jobId);
+            if (progress != null) {
+                rows.add(new Object[]{progress.translatedEntries(), progress.totalEntries(),
+                        toJson(progress.languages()), now, jobId});
+            }
+        }
+        try {
+            // Only active jobs take progress; a terminal status written meanwhile is never overwritten.
+            jdbcTemplate.batchUpdate("""
+                    UPDATE translation_jobs SET status = 'PROCESSING', translated_entries = ?, total_entries = ?, languages_json = ?,
+                           updated_at = ?
+                    WHERE job_id = ? AND status IN ('PENDING', 'PROCESSING')""", rows);
+        } catch (Exception e) {
+            log.warn("Failed to flush job progress for {} jobs: {}", rows.size(), e.getMessage());
+        }
+    }
+
+    private void flushTokenUsage() {
+        if (pendingTokenUsage.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(pendingTokenUsage.size());
+        for (String jobId : List.copyOf(pendingTokenUsage.keySet())) {
+            TranslationTokenUsage tokenUsage = pendingTokenUsage.remove(jobId);
+            if (tokenUsage != null) {
+                rows.add(new Object[]{toJson(tokenUsage), jobId});
+            }
+        }
+        try {
+            jdbcTemplate.batchUpdate("""
+                    UPDATE translation_jobs SET token_usage_json = ?
+                    WHERE job_id = ? AND status IN ('PENDING', 'PROCESSING')""", rows);
+        } catch (Exception e) {
+            log.warn("Failed to flush token usage for {} jobs: {}", rows.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushProgress();
+    }
+
+    private String toJson(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize job status.", e);
+        }
+    }
+
+    private <T> T fromJson(String json, TypeReference<T> type) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to deserialize job status.", e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to deserialize job status.", e);
+        }
+    }
+
+    private static boolean isActive(TranslationJobStatusResponse status) {
+        return "PENDING".equals(status.status()) || "PROCESSING".equals(status.status());
+    }
+
+    private record Progress(int translatedEntries, int totalEntries, List<TranslationLanguageStatus> languages) {
+    }
+}
@@ -0,0 +1,54 @@
+package org.k3cs1.subtitletranslatorapp.repository;
+
+import org.k3cs1.subtitletranslatorapp.dto.TranslationJobStatusResponse;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationLanguageStatus;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationTokenUsage;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage for translation job status.
+ * The in-memory implementation serves a single instance; the JDBC one lets several instances share jobs,
+ * so a status poll can land on any node.
+ */
+public interface JobRepository {
+
+    void store(String jobId, TranslationJobStatusResponse status);
+
+    TranslationJobStatusResponse get(String jobId);
+
+    void remove(String jobId);
+
+    /**
+     * Records batch progress of a running job. Implementations may buffer these writes;
+     * a later {@link #store} of the same job always wins over buffered progress.
+     */
+    default void updateProgress(String jobId, int translatedEntries, int totalEntries) {
+        updateProgress(jobId, translatedEntries, totalEntries, null);
+    }
+
+    /**
+     * Same as {@link #updateProgress(String, int, int)}, with per-language progress of a multi-language job.
+     */
+    void updateProgress(String jobId, int translatedEntries, int totalEntries, List<TranslationLanguageStatus> languages);
+
+    /**
+     * Records the tokens a running job has spent so far. May be buffered like {@link #updateProgress}.
+     */
+    void updateTokenUsage(String jobId, TranslationTokenUsage tokenUsage);
+
+    /**
+     * Single-flight registration for identical uploads.
+     * If a non-failed job already owns the fingerprint, its ID is returned and nothing is stored.
+     * Otherwise the given job is stored with its initial status and becomes the owner.
+     *
+     * @return the ID of the job that owns the fingerprint after the call
+     */
+    String registerOrAttach(String fingerprint, String jobId, TranslationJobStatusResponse initialStatus);
+
+    /**
+     * Number of stored jobs per status, for metrics.
+     */
+    Map<String, Long> countByStatus();
+}
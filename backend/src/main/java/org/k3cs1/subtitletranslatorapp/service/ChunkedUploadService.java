@@ -0,0 +1,239 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.k3cs1.subtitletranslatorapp.dto.UploadSessionResponse;
+import org.k3cs1.subtitletranslatorapp.exception.InvalidArgumentException;
+import org.k3cs1.subtitletranslatorapp.parser.SrtIOParser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resumable chunked uploads for subtitle files above the multipart limit.
+ * Chunks are written at their offset into one file per upload, so they may arrive in any order and be re-sent.
+ * Finished outputs of large-file jobs live in the same directory until the retention period expires.
+ */
+@Service
+@Slf4j
+public class ChunkedUploadService {
+
+    private static final String PART_SUFFIX = ".part";
+    private static final String OUTPUT_SUFFIX = ".out.srt";
+
+    @Value("${translation.uploads.dir:${java.io.tmpdir}/subtitle-translator-uploads}")
+    private Path uploadDir;
+
+    @Value("${translation.uploads.chunk-size-bytes:1048576}")
+    private int chunkSize;
+
+    @Value("${translation.uploads.max-file-bytes:536870912}")
+    private long maxFileBytes;
+
+    // Idle uploads and finished outputs older than this are deleted
+    @Value("${translation.uploads.retention-ms:86400000}")
+    private long retentionMs;
+
+    // Sessions and outputs live on this instance only, so another instance could neither resume nor download them
+    @Value("${translation.distributed.enabled:false}")
+    private boolean distributed;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        try {
+            Files.createDirectories(uploadDir);
+        } catch (IOException ioe) {
+            // Don’t crash the whole app on startup; chunked uploads will fail until the directory is usable.
+            log.warn("Upload directory {} is not usable: {}", uploadDir, ioe.getMessage());
+        }
+    }
+
+    /**
+     * @throws IllegalStateException in distributed mode, where uploads and outputs would be local to one instance
+     */
+    public UploadSessionResponse start(String fileName, long totalBytes) throws IOException {
+        if (distributed) {
+            throw new IllegalStateException("Chunked uploads are not available in distributed mode.");
+        }
+        if (fileName == null || !fileName.toLowerCase().endsWith(".srt")) {
+            throw new InvalidArgumentException("Only .srt files are supported.");
+        }
+        if (totalBytes <= 0) {
+            throw new InvalidArgumentException("File size must be positive.");
+        }
+        if (totalBytes > maxFileBytes) {
+            throw new InvalidArgumentException("Subtitle file must be " + (maxFileBytes / (1024 * 1024)) + " MB or smaller.");
+        }
+        String uploadId = UUID.randomUUID().toString();
+        int totalChunks = (int) ((totalBytes + chunkSize - 1) / chunkSize);
+        Path data = uploadDir.resolve(uploadId + PART_SUFFIX);
+        Files.createFile(data);
+        UploadSession session = new UploadSession(uploadId, fileName, totalBytes, totalChunks, data);
+        sessions.put(uploadId, session);
+        return session.toResponse(chunkSize);
+    }
+
+    /**
+     * Returns the upload's state, or {@code null} if it is unknown or has already been completed.
+     */
+    public UploadSessionResponse status(String uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        return session != null ? session.toResponse(chunkSize) : null;
+    }
+
+    /**
+     * Stores one chunk at its offset. Re-sending a chunk overwrites it, which is what makes retries safe.
+     * Returns {@code null} if the upload is unknown.
+     */
+    public UploadSessionResponse writeChunk(String uploadId, int index, InputStream body) throws IOException {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null) {
+            return null;
+        }
+        if (index < 0 || index >= session.totalChunks) {
+            throw new InvalidArgumentException("Chunk index must be between 0 and " + (session.totalChunks - 1) + ".");
+        }
+        long offset = (long) index * chunkSize;
+        int expected = (int) Math.min(chunkSize, session.totalBytes - offset);
+        byte[] chunk = body.readNBytes(expected + 1);
+        if (chunk.length != expected) {
+            throw new InvalidArgumentException("Chunk " + index + " must be exactly " + expected + " bytes.");
+        }
+        try (FileChannel channel = FileChannel.open(session.data, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(chunk);
+            long position = offset;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        }
+        session.received(index);
+        return session.toResponse(chunkSize);
+    }
+
+    /**
+     * Finishes the upload and hands its file over to the caller, who becomes responsible for deleting it.
+     * Content that is not a valid subtitle file is discarded together with the upload.
+     * Returns {@code null} if the upload is unknown.
+     */
+    public Path complete(String uploadId) throws IOException {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null) {
+            return null;
+        }
+        List<Integer> missing = session.missingChunks();
+        if (!missing.isEmpty()) {
+            throw new InvalidArgumentException("Upload is missing " + missing.size() + " chunk(s), first missing: " + missing.getFirst() + ".");
+        }
+        if (!sessions.remove(uploadId, session)) {
+            return null;
+        }
+        try {
+            // Content-based validation (reject renamed non-SRT files)
+            SrtIOParser.validateSrtContent(session.data);
+        } catch (IllegalArgumentException | IOException invalid) {
+            Files.deleteIfExists(session.data);
+            throw invalid;
+        }
+        return session.data;
+    }
+
+    /**
+     * Where a large-file job writes its output.
+     */
+    public Path outputFile(String jobId) {
+        // Job IDs are server-generated UUIDs; reject anything that could escape the upload directory.
+        if (jobId == null || !jobId.matches("[A-Za-z0-9-]+")) {
+            throw new IllegalArgumentException("Invalid job ID: " + jobId);
+        }
+        return uploadDir.resolve(jobId + OUTPUT_SUFFIX);
+    }
+
+    /**
+     * Drops uploads that stopped receiving chunks and deletes outputs (and parts left by a previous run)
+     * older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${translation.uploads.cleanup-interval-ms:600000}")
+    public void cleanup() {
+        long cutoff = System.currentTimeMillis() - retentionMs;
+        sessions.values().removeIf(session -> {
+            if (session.lastActivity >= cutoff) {
+                return false;
+            }
+            deleteQuietly(session.data);
+            return true;
+        });
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(uploadDir)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                boolean active = name.endsWith(PART_SUFFIX)
+                        && sessions.containsKey(name.substring(0, name.length() - PART_SUFFIX.length()));
+                if (!active && Files.getLastModifiedTime(file).toMillis() < cutoff) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException ioe) {
+            log.warn("Failed to clean up upload directory {}: {}", uploadDir, ioe.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ioe) {
+            log.warn("Failed to delete {}: {}", file, ioe.getMessage());
+        }
+    }
+
+    private static final class UploadSession {
+        final String uploadId;
+        final String fileName;
+        final long totalBytes;
+        final int totalChunks;
+        final Path data;
+        private final BitSet receivedChunks = new BitSet();
+        volatile long lastActivity = System.currentTimeMillis();
+
+        UploadSession(String uploadId, String fileName, long totalBytes, int totalChunks, Path data) {
+            this.uploadId = uploadId;
+            this.fileName = fileName;
+            this.totalBytes = totalBytes;
+            this.totalChunks = totalChunks;
+            this.data = data;
+        }
+
+        synchronized void received(int index) {
+            receivedChunks.set(index);
+            lastActivity = System.currentTimeMillis();
+        }
+
+        synchronized List<Integer> missingChunks() {
+            List<Integer> missing = new ArrayList<>();
+            for (int i = receivedChunks.nextClearBit(0); i < totalChunks; i = receivedChunks.nextClearBit(i + 1)) {
+                missing.add(i);
+            }
+            return missing;
+        }
+
+        synchronized UploadSessionResponse toResponse(int chunkSize) {
+            return new UploadSessionResponse(uploadId, fileName, totalBytes, chunkSize, totalChunks,
+                    receivedChunks.stream().boxed().toList(), receivedChunks.cardinality() == totalChunks);
+        }
+    }
+}
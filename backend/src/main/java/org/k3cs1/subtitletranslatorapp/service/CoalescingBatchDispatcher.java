@@ -0,0 +1,182 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.context.Context;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Coalesces small batches from different jobs with the same target language into one LLM call.
+ * The first batch of a group opens a short window; the group is sent when the window closes or it is full.
+ * Entries are renumbered so indices from different jobs cannot collide in the shared payload,
+ * and the response is mapped back to each caller's original indices. The shared call runs in a
+ * {@code translation.coalesced_call} span linked to the batch span of every contributing job.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CoalescingBatchDispatcher {
+
+    private final SrtTranslatorService translator;
+    private final ExecutorService executor;
+    // Groups are capped like single batches, at the batch size and char budget in effect when they are built
+    private final TranslationTuning tuning;
+    private final TranslationTracing tracing;
+
+    @Value("${translation.coalescing.enabled:false}")
+    private boolean enabled;
+
+    // How long the first batch of a group waits for company
+    @Value("${translation.coalescing.window-ms:75}")
+    private long windowMs;
+
+    // Only batches smaller than this are coalesced; bigger ones already amortize the prompt well
+    @Value("${translation.coalescing.max-batch-entries:40}")
+    private int maxBatchEntries;
+
+    // Normalized target language -> group currently collecting batches
+    private final Map<String, Group> openGroups = new HashMap<>();
+
+    public boolean isEligible(List<SrtEntry> batch) {
+        return enabled && batch.size() < maxBatchEntries;
+    }
+
+    public CompletableFuture<Map<Integer, List<String>>> submit(List<SrtEntry> batch, String targetLanguage) {
+        String key = targetLanguage.trim().toLowerCase(Locale.ROOT);
+        // Captured here: the group is sent from another thread
+        Request request = new Request(batch, new CompletableFuture<>(), TokenUsageCollector.current(), Context.current());
+        Group full = null;
+        Group opened = null;
+        synchronized (openGroups) {
+            Group group = openGroups.get(key);
+            TranslationTuning.Settings limits = tuning.current();
+            if (group != null && !group.fits(batch, limits.batchSize(), limits.maxBatchChars())) {
+                openGroups.remove(key);
+                full = group;
+                group = null;
+            }
+            if (group == null) {
+                group = new Group(targetLanguage);
+                openGroups.put(key, group);
+                opened = group;
+            }
+            group.add(request);
+        }
+        if (full != null) {
+            Group toSend = full;
+            executor.submit(() -> send(toSend));
+        }
+        if (opened != null) {
+            Group toClose = opened;
+            executor.submit(() -> closeAfterWindow(key, toClose));
+        }
+        return request.future();
+    }
+
+    private void closeAfterWindow(String key, Group group) {
+        try {
+            Thread.sleep(windowMs);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (openGroups) {
+            // Already sent because it filled up
+            if (!openGroups.remove(key, group)) {
+                return;
+            }
+        }
+        send(group);
+    }
+
+    private void send(Group group) {
+        List<SrtEntry> combined = new ArrayList<>(group.entries.size());
+        Map<Integer, Integer> originalIndexBySynthetic = new HashMap<>();
+        List<List<Integer>> syntheticIndicesByRequest = new ArrayList<>(group.requests.size());
+        int next = 1;
+        for (Request request : group.requests) {
+            List<Integer> synthetic = new ArrayList<>(request.batch().size());
+            for (SrtEntry e : request.batch()) {
+                combined.add(new SrtEntry(next, e.timeRange(), e.lines()));
+                originalIndexBySynthetic.put(next, e.index());
+                synthetic.add(next);
+                next++;
+            }
+            syntheticIndicesByRequest.add(synthetic);
+        }
+
+        try {
+            TokenUsageCollector groupUsage = new TokenUsageCollector();
+            Attributes attributes = Attributes.of(TranslationTracing.TARGET_LANGUAGE, group.targetLanguage,
+                    TranslationTracing.CUES, (long) combined.size(),
+                    TranslationTracing.COALESCED_BATCHES, (long) group.requests.size());
+            List<Context> callers = group.requests.stream().map(Request::context).toList();
+            Map<Integer, List<String>> translated = tracing.inSharedSpan("translation.coalesced_call", attributes,
+                    callers, span -> groupUsage.collect(() -> translator.translateBatch(combined, group.targetLanguage)));
+            if (group.requests.size() > 1) {
+                log.debug("Coalesced {} batches ({} entries) into one call", group.requests.size(), combined.size());
+            }
+            for (int i = 0; i < group.requests.size(); i++) {
+                Map<Integer, List<String>> result = new HashMap<>();
+                for (Integer syntheticIndex : syntheticIndicesByRequest.get(i)) {
+                    List<String> lines = translated.get(syntheticIndex);
+                    if (lines != null) {
+                        result.put(originalIndexBySynthetic.get(syntheticIndex), lines);
+                    }
+                }
+                Request request = group.requests.get(i);
+                if (request.usage() != null) {
+                    // Each caller pays for its share of the call, by cue count
+                    request.usage().addShare(groupUsage, request.batch().size(), combined.size());
+                }
+                request.future().complete(result);
+            }
+        } catch (Exception e) {
+            group.requests.forEach(request -> request.future().completeExceptionally(e));
+        }
+    }
+
+    private record Request(List<SrtEntry> batch, CompletableFuture<Map<Integer, List<String>>> future,
+                           TokenUsageCollector usage, Context context) {
+    }
+
+    private static final class Group {
+        final String targetLanguage;
+        final List<Request> requests = new ArrayList<>();
+        final List<SrtEntry> entries = new ArrayList<>();
+        int chars;
+
+        Group(String targetLanguage) {
+            this.targetLanguage = targetLanguage;
+        }
+
+        boolean fits(List<SrtEntry> batch, int maxEntries, int maxChars) {
+            return entries.size() + batch.size() <= maxEntries && chars + payloadChars(batch) <= maxChars;
+        }
+
+        void add(Request request) {
+            requests.add(request);
+            entries.addAll(request.batch());
+            chars += payloadChars(request.batch());
+        }
+
+        // Same approximation as the batch builder: markers + entry text + newline
+        private static int payloadChars(List<SrtEntry> batch) {
+            int total = 0;
+            for (SrtEntry e : batch) {
+                total += 41 + e.originalText().length();
+            }
+            return total;
+        }
+    }
+}
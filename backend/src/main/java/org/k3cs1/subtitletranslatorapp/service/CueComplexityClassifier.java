@@ -0,0 +1,59 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Decides which model tier a batch needs.
+ * A cue is hard when it is long, spans more than two lines, carries formatting tags (HTML-style or ASS overrides)
+ * or uses uncommon vocabulary, approximated by very long words or a high average word length.
+ * A batch goes to the fast tier only while the share of hard cues stays at or below the configured limit.
+ */
+final class CueComplexityClassifier {
+
+    enum Tier { FAST, STRONG }
+
+    private static final Pattern FORMATTING = Pattern.compile("<[^>]+>|\\{\\\\[^}]*}");
+    private static final Pattern WORD = Pattern.compile("\\p{L}+");
+
+    private static final int LONG_WORD_LETTERS = 14;
+    private static final double MAX_AVERAGE_WORD_LETTERS = 7.5;
+
+    private final int maxFastCueChars;
+    private final double maxHardShare;
+
+    CueComplexityClassifier(int maxFastCueChars, double maxHardShare) {
+        this.maxFastCueChars = maxFastCueChars;
+        this.maxHardShare = maxHardShare;
+    }
+
+    Tier classify(List<SrtEntry> batch) {
+        if (batch.isEmpty()) {
+            return Tier.FAST;
+        }
+        long hard = batch.stream().filter(this::isHard).count();
+        return (double) hard / batch.size() <= maxHardShare ? Tier.FAST : Tier.STRONG;
+    }
+
+    boolean isHard(SrtEntry entry) {
+        String text = entry.originalText();
+        if (text.length() > maxFastCueChars || entry.lines().size() > 2 || FORMATTING.matcher(text).find()) {
+            return true;
+        }
+        int words = 0;
+        int letters = 0;
+        var matcher = WORD.matcher(text);
+        while (matcher.find()) {
+            int length = matcher.end() - matcher.start();
+            if (length >= LONG_WORD_LETTERS) {
+                return true;
+            }
+            words++;
+            letters += length;
+        }
+        // A handful of words can't say much about vocabulary
+        return words >= 4 && (double) letters / words > MAX_AVERAGE_WORD_LETTERS;
+    }
+}
@@ -0,0 +1,52 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps free-form target language labels (language names, ISO codes, or country names as sent by the UI)
+ * to DeepL target language codes.
+ */
+final class DeeplLanguages {
+
+    private static final Set<String> TARGET_CODES = Set.of(
+            "AR", "BG", "CS", "DA", "DE", "EL", "EN-GB", "EN-US", "ES", "ET", "FI", "FR", "HU", "ID", "IT", "JA",
+            "KO", "LT", "LV", "NB", "NL", "PL", "PT-BR", "PT-PT", "RO", "RU", "SK", "SL", "SV", "TR", "UK",
+            "ZH-HANS", "ZH-HANT");
+
+    // ISO 639-1 codes whose DeepL target code is not simply the upper-cased code
+    private static final Map<String, String> REGIONAL_DEFAULTS = Map.of(
+            "en", "EN-US",
+            "pt", "PT-PT",
+            "zh", "ZH-HANS",
+            "no", "NB");
+
+    private static final Map<String, String> CODE_BY_LABEL = LanguageLabels.index(DeeplLanguages::deeplCode);
+
+    private DeeplLanguages() {
+    }
+
+    /**
+     * Returns the DeepL target code for the label, or {@code null} if DeepL cannot translate into it.
+     */
+    static String targetCode(String label) {
+        if (label == null || label.isBlank()) {
+            return null;
+        }
+        String normalized = label.trim().toLowerCase(Locale.ROOT);
+        String upper = normalized.toUpperCase(Locale.ROOT);
+        if (TARGET_CODES.contains(upper)) {
+            return upper;
+        }
+        return CODE_BY_LABEL.get(normalized);
+    }
+
+    private static String deeplCode(String iso) {
+        if (iso == null || iso.isEmpty()) {
+            return null;
+        }
+        String code = REGIONAL_DEFAULTS.getOrDefault(iso, iso.toUpperCase(Locale.ROOT));
+        return TARGET_CODES.contains(code) ? code : null;
+    }
+}
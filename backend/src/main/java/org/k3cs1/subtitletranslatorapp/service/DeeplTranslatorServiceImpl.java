@@ -2,12 +2,18 @@ package org.k3cs1.subtitletranslatorapp.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.k3cs1.subtitletranslatorapp.exception.InvalidArgumentException;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 
 import jakarta.annotation.PostConstruct;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -15,9 +21,13 @@ import java.util.Objects;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class DeeplTranslatorServiceImpl implements DeeplTranslatorService {
+public class DeeplTranslatorServiceImpl implements DeeplTranslatorService, TranslationProvider {
+
+    // DeepL accepts at most 50 texts per request
+    private static final int MAX_TEXTS_PER_REQUEST = 50;
 
     private final RestClient.Builder builder;
+    private final TranslationMetrics metrics;
 
     @Value("${deepl.base-url}")
     private String deeplBaseUrl;
@@ -25,6 +35,14 @@ public class DeeplTranslatorServiceImpl implements DeeplTranslatorService {
     @Value("${deepl.auth-key}")
     private String authKey;
 
+    // Blank lets DeepL detect the source language
+    @Value("${deepl.source-lang:}")
+    private String sourceLang;
+
+    // Only enabled providers take part in routing
+    @Value("${translation.providers.deepl.enabled:false}")
+    private boolean enabled;
+
     private RestClient restClient;
 
     @PostConstruct
@@ -40,24 +58,83 @@ public class DeeplTranslatorServiceImpl implements DeeplTranslatorService {
 
     @Override
     public List<String> translateEnToHu(List<String> texts) {
+        return translate(texts, "EN", "HU");
+    }
+
+    @Override
+    public String name() {
+        return "deepl";
+    }
+
+    @Override
+    public boolean supports(String targetLanguage) {
+        return DeeplLanguages.targetCode(targetLanguage) != null;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return enabled && authKey != null && !authKey.isBlank();
+    }
+
+    /**
+     * Translates the batch with DeepL's multi-text requests, one text per entry, up to 50 texts per request.
+     * Line breaks inside an entry are sent as-is and restored from the translated text.
+     */
+    @Override
+    public Map<Integer, List<String>> translateBatch(List<SrtEntry> batch, String targetLanguage) {
+        if (targetLanguage == null || targetLanguage.isBlank()) {
+            throw new InvalidArgumentException("Target language is required.");
+        }
+        String targetCode = DeeplLanguages.targetCode(targetLanguage);
+        if (targetCode == null) {
+            throw new IllegalArgumentException("DeepL does not support target language: " + targetLanguage);
+        }
+        String source = sourceLang == null || sourceLang.isBlank() ? null : sourceLang.trim().toUpperCase();
+
+        Map<Integer, List<String>> out = new LinkedHashMap<>();
+        for (int from = 0; from < batch.size(); from += MAX_TEXTS_PER_REQUEST) {
+            List<SrtEntry> chunk = batch.subList(from, Math.min(batch.size(), from + MAX_TEXTS_PER_REQUEST));
+            List<String> translated = translate(chunk.stream().map(SrtEntry::originalText).toList(), source, targetCode);
+            if (translated.size() != chunk.size()) {
+                throw new IllegalStateException("DeepL returned " + translated.size() + " translations for "
+                        + chunk.size() + " texts.");
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                out.put(chunk.get(i).index(), Arrays.asList(translated.get(i).trim().split("\\R", -1)));
+            }
+        }
+        return out;
+    }
+
+    private List<String> translate(List<String> texts, String sourceLang, String targetLang) {
         if (authKey == null || authKey.isBlank()) {
             throw new IllegalStateException("DEEPL_API_KEY is required");
         }
-        var body = Map.of(
-                "text", texts,
-                "source_lang", "EN",
-                "target_lang", "HU"
-        );
-
-        var response = Objects.requireNonNull(restClient.post()
-                .uri("/v2/translate")
-                .header("Authorization", "DeepL-Auth-Key " + authKey)
-                .body(Objects.requireNonNull(body, "DeepL request body is null"))
-                .retrieve()
-                .body(DeepLResponse.class), "DeepL response body is null");
-        return response.translations().stream()
-                .map(Translation::text)
-                .toList();
+        Map<String, Object> body = new HashMap<>();
+        body.put("text", new ArrayList<>(texts));
+        body.put("target_lang", targetLang);
+        body.put("preserve_formatting", true);
+        if (sourceLang != null) {
+            body.put("source_lang", sourceLang);
+        }
+
+        int payloadChars = texts.stream().mapToInt(String::length).sum();
+        long started = System.nanoTime();
+        try {
+            var response = Objects.requireNonNull(restClient.post()
+                    .uri("/v2/translate")
+                    .header("Authorization", "DeepL-Auth-Key " + authKey)
+                    .body(body)
+                    .retrieve()
+                    .body(DeepLResponse.class), "DeepL response body is null");
+            metrics.recordModelCall(name(), name(), texts.size(), payloadChars, 0, 0, System.nanoTime() - started, false);
+            return response.translations().stream()
+                    .map(Translation::text)
+                    .toList();
+        } catch (RuntimeException e) {
+            metrics.recordModelCall(name(), name(), texts.size(), payloadChars, 0, 0, System.nanoTime() - started, true);
+            throw e;
+        }
     }
 
     record DeepLResponse(List<Translation> translations) {
@@ -0,0 +1,94 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import org.k3cs1.subtitletranslatorapp.exception.InvalidArgumentException;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Finds the cues of a revised subtitle file that can reuse the translation of a previous version.
+ * Cues are matched on their normalized text (a hash lookup); when the same text occurs several times,
+ * the previous cue with the same or the nearest start time wins. A retimed cue still matches,
+ * and since only its text is reused it keeps the revised timestamps.
+ */
+public final class DeltaTranslationPlanner {
+
+    private static final Pattern START_TIME = Pattern.compile("^\\s*(\\d{2}):(\\d{2}):(\\d{2}),(\\d{3})");
+
+    private DeltaTranslationPlanner() {
+    }
+
+    /**
+     * @param previousSource      the previous version in the source language
+     * @param previousTranslation its translation, cue for cue (e.g. the output of the previous job)
+     * @param revised             the new version to translate
+     * @return reusable translations keyed by the revised entries' indices
+     */
+    public static Map<Integer, List<String>> reusableTranslations(List<SrtEntry> previousSource,
+                                                                  List<SrtEntry> previousTranslation,
+                                                                  List<SrtEntry> revised) {
+        if (previousSource.size() != previousTranslation.size()) {
+            throw new InvalidArgumentException("Previous translation does not match the previous source file ("
+                    + previousTranslation.size() + " vs " + previousSource.size() + " cues).");
+        }
+
+        Map<String, List<PreviousCue>> previousByContent = new HashMap<>();
+        for (int i = 0; i < previousSource.size(); i++) {
+            SrtEntry source = previousSource.get(i);
+            previousByContent.computeIfAbsent(contentKey(source), key -> new ArrayList<>())
+                    .add(new PreviousCue(source.timeRange().trim(), startMillis(source.timeRange()),
+                            previousTranslation.get(i).lines()));
+        }
+
+        Map<Integer, List<String>> reused = new HashMap<>();
+        for (SrtEntry entry : revised) {
+            List<PreviousCue> candidates = previousByContent.get(contentKey(entry));
+            if (candidates == null) {
+                continue;
+            }
+            reused.put(entry.index(), closest(candidates, entry.timeRange()).translation());
+        }
+        return reused;
+    }
+
+    private static PreviousCue closest(List<PreviousCue> candidates, String timeRange) {
+        String trimmed = timeRange.trim();
+        long start = startMillis(timeRange);
+        PreviousCue best = candidates.getFirst();
+        for (PreviousCue candidate : candidates) {
+            if (candidate.timeRange().equals(trimmed)) {
+                return candidate;
+            }
+            if (Math.abs(candidate.startMillis() - start) < Math.abs(best.startMillis() - start)) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    // Whitespace-insensitive, so re-wrapped or re-indented lines still count as unchanged
+    private static String contentKey(SrtEntry entry) {
+        return entry.lines().stream()
+                .map(line -> line.trim().replaceAll("\\s+", " "))
+                .filter(line -> !line.isEmpty())
+                .collect(Collectors.joining(" "));
+    }
+
+    private static long startMillis(String timeRange) {
+        Matcher m = START_TIME.matcher(timeRange);
+        if (!m.find()) {
+            return 0;
+        }
+        return ((Long.parseLong(m.group(1)) * 60 + Long.parseLong(m.group(2))) * 60 + Long.parseLong(m.group(3))) * 1000
+                + Long.parseLong(m.group(4));
+    }
+
+    private record PreviousCue(String timeRange, long startMillis, List<String> translation) {
+    }
+}
@@ -0,0 +1,81 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import lombok.RequiredArgsConstructor;
+import org.k3cs1.subtitletranslatorapp.exception.TranslationFailedException;
+import org.k3cs1.subtitletranslatorapp.model.BatchOutcome;
+import org.k3cs1.subtitletranslatorapp.model.BatchWorkItem;
+import org.k3cs1.subtitletranslatorapp.repository.BatchWorkQueue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The job's side of distributed mode: publishes a job's batches to the shared queue and merges their outcomes as
+ * any node's {@link DistributedBatchWorker} completes them. Per-node concurrency is bounded by each node's claim
+ * loops rather than the job's limiter.
+ */
+@Service
+@RequiredArgsConstructor
+public class DistributedBatchDispatcher {
+
+    private final BatchWorkQueue workQueue;
+
+    @Value("${translation.distributed.poll-interval-ms:250}")
+    private long pollIntervalMs;
+
+    @FunctionalInterface
+    interface OutcomeListener {
+        void batchCompleted(JobBatchScheduler.Batch batch, BatchOutcome outcome) throws IOException;
+    }
+
+    /**
+     * Blocks until every batch has a successful outcome, handing each to {@code onOutcome} on this thread as it
+     * arrives. The first failed batch fails the job; its remaining batches are withdrawn from the queue.
+     */
+    void dispatch(List<JobBatchScheduler.Batch> batches, String jobId, OutcomeListener onOutcome) throws IOException {
+        if (batches.isEmpty()) {
+            return;
+        }
+        String queueJobId = jobId != null && !jobId.isBlank() ? jobId : UUID.randomUUID().toString();
+        Map<String, JobBatchScheduler.Batch> batchesById = new HashMap<>();
+        List<BatchWorkItem> items = new ArrayList<>(batches.size());
+        for (int i = 0; i < batches.size(); i++) {
+            JobBatchScheduler.Batch batch = batches.get(i);
+            String batchId = queueJobId + ":" + i;
+            batchesById.put(batchId, batch);
+            items.add(new BatchWorkItem(batchId, queueJobId, batch.index(), batch.targetLanguage(), batch.entries()));
+        }
+        workQueue.publish(queueJobId, items);
+
+        try {
+            Set<String> merged = new HashSet<>();
+            while (merged.size() < items.size()) {
+                for (BatchOutcome outcome : workQueue.outcomes(queueJobId).values()) {
+                    if (!merged.add(outcome.batchId())) {
+                        continue;
+                    }
+                    if (!outcome.succeeded()) {
+                        throw new TranslationFailedException("Parallel translation failed: " + outcome.errorMessage());
+                    }
+                    onOutcome.batchCompleted(batchesById.get(outcome.batchId()), outcome);
+                }
+                if (merged.size() < items.size()) {
+                    Thread.sleep(pollIntervalMs);
+                }
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new TranslationFailedException(ie.getMessage());
+        } finally {
+            workQueue.removeJob(queueJobId);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.k3cs1.subtitletranslatorapp.model.BatchWorkItem;
+import org.k3cs1.subtitletranslatorapp.repository.BatchWorkQueue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Drains the shared batch queue on this node, translating up to {@code max-parallel} claimed batches at once, so
+ * each node contributes its own concurrency to every job in the cluster. The limit follows
+ * {@link TranslationTuning}: a change through {@code /actuator/tuning} applies from the next claim.
+ */
+@Service
+@ConditionalOnProperty(name = "translation.distributed.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class DistributedBatchWorker {
+
+    private final BatchWorkQueue workQueue;
+    private final TranslationBatchRunner batchRunner;
+    private final TranslationCapacity capacity;
+    private final ExecutorService executor;
+    private final TranslationTuning tuning;
+
+    @Value("${translation.distributed.lease-ms:120000}")
+    private long leaseMs;
+
+    @Value("${translation.distributed.poll-interval-ms:250}")
+    private long pollIntervalMs;
+
+    @Value("${translation.distributed.max-attempts:3}")
+    private int maxAttempts;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile boolean running;
+    // Batches this node translates at once; stands in for a job limiter in TranslationCapacity
+    private TunableLimiter slots;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        slots = new TunableLimiter(tuning.current().maxParallel());
+        capacity.bindSharedBacklog(this::backlog);
+        executor.submit(this::runLoop);
+        log.info("Distributed batch worker {} started with {} slots", nodeId, slots.limit());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+    }
+
+    // Claims a batch whenever a slot is free and translates it on the executor
+    private void runLoop() {
+        Duration lease = Duration.ofMillis(leaseMs);
+        while (running) {
+            try {
+                slots.resize(tuning.current().maxParallel());
+                slots.acquire();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            Optional<BatchWorkItem> claimed;
+            try {
+                claimed = workQueue.claim(nodeId, lease);
+            } catch (Exception e) {
+                // Queue unavailable (e.g. database hiccup); back off and keep the loop alive.
+                log.warn("Batch worker {} failed to claim work: {}", nodeId, e.getMessage());
+                claimed = Optional.empty();
+            }
+            if (claimed.isPresent()) {
+                BatchWorkItem item = claimed.get();
+                executor.submit(() -> {
+                    try {
+                        process(item);
+                    } finally {
+                        slots.release();
+                    }
+                });
+                continue;
+            }
+            slots.release();
+            try {
+                Thread.sleep(pollIntervalMs);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Translates a claimed batch and hands the translations and the tokens it used back through the queue; the
+     * owning node charges them to the job when it merges the outcome.
+     */
+    private void process(BatchWorkItem item) {
+        capacity.batchesQueued(slots, 1);
+        capacity.batchStarted();
+        try {
+            TokenUsageCollector usage = new TokenUsageCollector();
+            Map<Integer, List<String>> translations = batchRunner.run(item.entries(), item.targetLanguage(),
+                    item.jobId(), item.sequence(), 0, usage);
+            workQueue.complete(item.batchId(), translations, usage.toBatchUsage());
+        } catch (Exception e) {
+            log.warn("Batch {} of job {} failed: {}", item.sequence(), item.jobId(), e.getMessage());
+            workQueue.fail(item.batchId(), e.getMessage(), maxAttempts);
+        } finally {
+            capacity.batchFinished(slots);
+        }
+    }
+
+    private int backlog() {
+        try {
+            return workQueue.backlog();
+        } catch (RuntimeException e) {
+            // Queue unavailable; report only this node's own batches rather than fail the capacity probe
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Continuous JDK Flight Recorder recording of the JVM's default events plus the translation job, batch and
+ * model-call events, kept in a ring buffer bounded by age and size. Dumps are written to {@code dir} and
+ * served by the {@code jfr} actuator endpoint for JDK Mission Control.
+ */
+@Service
+@Slf4j
+public class JfrRecordingService {
+
+    @Value("${translation.jfr.enabled:false}")
+    private boolean enabled;
+
+    @Value("${translation.jfr.dir:${java.io.tmpdir}/subtitle-translator-jfr}")
+    private Path dir = Path.of(System.getProperty("java.io.tmpdir"), "subtitle-translator-jfr");
+
+    @Value("${translation.jfr.max-age-ms:3600000}")
+    private long maxAgeMs = 3_600_000;
+
+    @Value("${translation.jfr.max-size-bytes:104857600}")
+    private long maxSizeBytes = 104_857_600;
+
+    private Recording recording;
+
+    // Only the latest dump is kept on disk
+    private Path lastDump;
+
+    @PostConstruct
+    public synchronized void init() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            Recording started = new Recording(Configuration.getConfiguration("default"));
+            started.setName("subtitle-translator");
+            started.setToDisk(true);
+            started.setMaxAge(Duration.ofMillis(maxAgeMs));
+            started.setMaxSize(maxSizeBytes);
+            started.enable(TranslationJobEvent.class);
+            started.enable(TranslationBatchEvent.class);
+            started.enable(TranslationModelCallEvent.class);
+            // The dump is downloadable: leave out events that carry environment variables, system properties
+            // and command lines, which hold API keys, database credentials and the admin token
+            started.disable("jdk.InitialEnvironmentVariable");
+            started.disable("jdk.InitialSystemProperty");
+            started.disable("jdk.JVMInformation");
+            started.disable("jdk.SystemProcess");
+            started.start();
+            recording = started;
+            log.info("JFR recording started, keeping the last {} ms", maxAgeMs);
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            // Don’t crash the whole app on startup; the dump endpoint reports that nothing is recorded.
+            log.warn("JFR recording could not be started: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes what the recording holds so far to a new file, replacing the previous dump,
+     * or returns empty when recording is off.
+     */
+    public synchronized Optional<Path> dump() throws IOException {
+        if (recording == null) {
+            return Optional.empty();
+        }
+        Path file = Files.createTempFile(dir, "subtitle-translator-", ".jfr");
+        recording.dump(file);
+        if (lastDump != null) {
+            Files.deleteIfExists(lastDump);
+        }
+        lastDump = file;
+        return Optional.of(file);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
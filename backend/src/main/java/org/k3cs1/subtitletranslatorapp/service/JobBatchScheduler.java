@@ -0,0 +1,270 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationTokenUsage;
+import org.k3cs1.subtitletranslatorapp.exception.TranslationFailedException;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.k3cs1.subtitletranslatorapp.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The batch-execution path every kind of job shares: plans batches, runs them under the job's limiter on this
+ * node or hands them to the {@link DistributedBatchDispatcher}, and charges the tokens they used to the job.
+ * The job runners only decide which batches to run and what to do with each result.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobBatchScheduler {
+
+    private final TranslationBatchRunner batchRunner;
+    private final DistributedBatchDispatcher distributedDispatcher;
+    private final ExecutorService executor;
+    private final JobRepository jobRepository;
+    private final TranslationMetrics metrics;
+    private final TranslationTracing tracing;
+
+    // Batch size, batch character budget and max parallel calls, re-read on every batch plan and permit
+    private final TranslationTuning tuning;
+    private final TranslationCapacity capacity;
+
+    // Publish batches to the shared queue (drained by DistributedBatchWorker on every node) instead of translating locally
+    @Value("${translation.distributed.enabled:false}")
+    private boolean distributed;
+
+    // USD per million prompt/completion tokens by model, e.g. "gpt-5=1.25/10,gpt-5-mini=0.25/2"
+    @Value("${translation.usage.token-prices:}")
+    private String tokenPrices = "";
+
+    // Token usage of jobs running on this node, by job ID
+    private final Map<String, JobTokenUsage> tokenUsageByJob = new ConcurrentHashMap<>();
+
+    /**
+     * One batch of a job.
+     *
+     * @param index          position in the job's batch plan; batches of a multi-language job share it across languages
+     * @param targetLanguage language the batch is translated into
+     */
+    record Batch(int index, String targetLanguage, List<SrtEntry> entries) {
+    }
+
+    @FunctionalInterface
+    interface BatchListener {
+        void batchTranslated(Batch batch, Map<Integer, List<String>> batchResult) throws IOException;
+    }
+
+    List<List<SrtEntry>> plan(List<SrtEntry> entries) {
+        return tracing.inSpan("translation.plan_batches",
+                Attributes.of(TranslationTracing.CUES, (long) entries.size()), span -> {
+                    TranslationTuning.Settings settings = tuning.current();
+                    List<List<SrtEntry>> batches = buildBatches(entries, settings.batchSize(), settings.maxBatchChars());
+                    span.setAttribute(TranslationTracing.BATCH_COUNT, (long) batches.size());
+                    return batches;
+                });
+    }
+
+    static List<Batch> inLanguage(List<List<SrtEntry>> planned, String targetLanguage) {
+        List<Batch> batches = new ArrayList<>(planned.size());
+        for (int i = 0; i < planned.size(); i++) {
+            batches.add(new Batch(i, targetLanguage, planned.get(i)));
+        }
+        return batches;
+    }
+
+    // One limiter per job, shared by everything the job runs, sized at the current max-parallel
+    TunableLimiter newLimiter() {
+        return new TunableLimiter(tuning.current().maxParallel());
+    }
+
+    /**
+     * Translates the batches and hands each result to {@code onBatch}, returning once all of them are done.
+     * Locally the batches run under {@code limiter}; in distributed mode any node's worker may run them and
+     * {@code onBatch} is called on this thread as their outcomes arrive. Stops at the first failed batch.
+     */
+    void execute(List<Batch> batches, String jobId, TunableLimiter limiter, BatchListener onBatch) throws IOException {
+        if (distributed) {
+            distributedDispatcher.dispatch(batches, jobId, (batch, outcome) -> {
+                chargeTokenUsage(jobId, batch.targetLanguage(), TokenUsageCollector.fromBatchUsage(outcome.tokenUsage()),
+                        batch.entries().size());
+                onBatch.batchTranslated(batch, outcome.translations());
+            });
+            return;
+        }
+        awaitBatches(schedule(batches, jobId, limiter, onBatch));
+    }
+
+    TranslationTokenUsage tokenUsage(String jobId) {
+        JobTokenUsage usage = jobId != null ? tokenUsageByJob.get(jobId) : null;
+        return usage != null ? usage.toResponse() : null;
+    }
+
+    // Publishes the finished job's usage to the metrics and forgets it
+    void finishTokenUsage(String jobId) {
+        JobTokenUsage usage = jobId != null ? tokenUsageByJob.remove(jobId) : null;
+        if (usage != null) {
+            metrics.recordJobTokenUsage(usage.toResponse());
+        }
+    }
+
+    /**
+     * Dispatches the batches in order: a batch only starts once it holds a permit of {@code semaphore},
+     * and permits are taken in batch order, so earlier batches always run first and the committed prefix
+     * grows steadily. Each result is handed to {@code onBatch} while the permit is still held.
+     * Dispatching stops after the first failure.
+     */
+    private CompletableFuture<Void> schedule(List<Batch> batches, String jobId, TunableLimiter semaphore,
+                                             BatchListener onBatch) {
+        return CompletableFuture.supplyAsync(() -> {
+            capacity.batchesQueued(semaphore, batches.size());
+            List<CompletableFuture<Void>> futures = new ArrayList<>(batches.size());
+            for (int i = 0; i < batches.size(); i++) {
+                Batch batch = batches.get(i);
+                if (futures.stream().anyMatch(CompletableFuture::isCompletedExceptionally)) {
+                    capacity.batchesDropped(semaphore, batches.size() - i);
+                    break;
+                }
+                Span batchSpan = startBatchSpan(jobId, batch);
+                final long queueWaitNanos;
+                try (Scope scope = batchSpan.makeCurrent()) {
+                    queueWaitNanos = acquirePermit(semaphore);
+                } catch (InterruptedException ie) {
+                    capacity.batchesDropped(semaphore, batches.size() - i);
+                    tracing.end(batchSpan, ie);
+                    Thread.currentThread().interrupt();
+                    throw new TranslationFailedException(ie.getMessage());
+                }
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        onBatch.batchTranslated(batch, translateBatch(batch, jobId, queueWaitNanos));
+                    } catch (IOException ioe) {
+                        log.error(ioe.getMessage());
+                        throw new TranslationFailedException(ioe.getMessage());
+                    } finally {
+                        releasePermit(semaphore);
+                    }
+                }, inSpan(batchSpan)).whenComplete((ignored, ex) -> tracing.end(batchSpan, ex)));
+            }
+            return futures;
+        }, executor).thenCompose(futures -> CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])));
+    }
+
+    /**
+     * Translates one batch through the {@link TranslationBatchRunner} and charges the tokens it used to the job.
+     */
+    private Map<Integer, List<String>> translateBatch(Batch batch, String jobId, long queueWaitNanos) throws IOException {
+        TokenUsageCollector batchUsage = new TokenUsageCollector();
+        Map<Integer, List<String>> batchResult = batchRunner.run(batch.entries(), batch.targetLanguage(), jobId,
+                batch.index(), queueWaitNanos, batchUsage);
+        chargeTokenUsage(jobId, batch.targetLanguage(), batchUsage, batch.entries().size());
+        return batchResult;
+    }
+
+    private void chargeTokenUsage(String jobId, String targetLanguage, TokenUsageCollector batchUsage, int cues) {
+        if (jobId == null || jobId.isBlank()) {
+            return;
+        }
+        JobTokenUsage usage = tokenUsageByJob.computeIfAbsent(jobId,
+                id -> new JobTokenUsage(JobTokenUsage.parsePrices(tokenPrices)));
+        usage.add(targetLanguage, batchUsage, cues);
+        jobRepository.updateTokenUsage(jobId, usage.toResponse());
+    }
+
+    // Wait for all batches to finish (propagate errors)
+    private static void awaitBatches(CompletableFuture<Void> batches) {
+        try {
+            batches.join();
+        } catch (CompletionException ce) {
+            // Unwrap to keep logs readable
+            Throwable root = ce.getCause() != null ? ce.getCause() : ce;
+            while (root instanceof CompletionException && root.getCause() != null) {
+                root = root.getCause();
+            }
+            throw new TranslationFailedException("Parallel translation failed: " + root.getMessage());
+        }
+    }
+
+    private Span startBatchSpan(String jobId, Batch batch) {
+        return tracing.start("translation.batch", Attributes.of(
+                TranslationTracing.JOB_ID, Objects.toString(jobId, ""),
+                TranslationTracing.BATCH_INDEX, (long) batch.index(),
+                TranslationTracing.CUES, (long) batch.entries().size(),
+                TranslationTracing.TARGET_LANGUAGE, batch.targetLanguage()));
+    }
+
+    // Waits for a limiter permit in a span of the current batch, after applying the current max-parallel
+    private long acquirePermit(TunableLimiter semaphore) throws InterruptedException {
+        semaphore.resize(tuning.current().maxParallel());
+        long waitStarted = System.nanoTime();
+        tracing.inSpan("translation.batch.queue_wait", Attributes.empty(), span -> {
+            semaphore.acquire();
+            return null;
+        });
+        long waitedNanos = System.nanoTime() - waitStarted;
+        capacity.batchStarted();
+        metrics.recordLimiterWait(waitedNanos);
+        return waitedNanos;
+    }
+
+    private void releasePermit(TunableLimiter semaphore) {
+        semaphore.release();
+        capacity.batchFinished(semaphore);
+    }
+
+    // Runs tasks on the translation executor as children of {@code span}
+    private Executor inSpan(Span span) {
+        return Context.current().with(span).wrap(executor);
+    }
+
+    // Package-private for the batch planning benchmark
+    static List<List<SrtEntry>> buildBatches(List<SrtEntry> entries, int batchSize, int maxBatchChars) {
+        if (entries == null || entries.isEmpty()) {
+            return List.of();
+        }
+        int safeBatchSize = Math.max(1, batchSize);
+        int safeMaxChars = Math.max(512, maxBatchChars);
+
+        final List<List<SrtEntry>> batches = new ArrayList<>();
+        List<SrtEntry> current = new ArrayList<>(Math.min(safeBatchSize, entries.size()));
+        int currentChars = 0;
+
+        for (SrtEntry e : entries) {
+            // Approximate per-entry payload length: markers + entry text + newlines
+            int entryChars = 40 + (e == null ? 0 : e.originalText().length());
+
+            boolean wouldExceedCount = current.size() >= safeBatchSize;
+            boolean wouldExceedChars = !current.isEmpty() && (currentChars + 1 + entryChars) > safeMaxChars;
+
+            if (wouldExceedCount || wouldExceedChars) {
+                batches.add(current);
+                current = new ArrayList<>(Math.min(safeBatchSize, entries.size()));
+                currentChars = 0;
+            }
+
+            current.add(e);
+            currentChars += entryChars + 1;
+        }
+
+        if (!current.isEmpty()) {
+            batches.add(current);
+        }
+
+        return batches;
+    }
+}
@@ -0,0 +1,93 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import org.k3cs1.subtitletranslatorapp.dto.TranslationTokenUsage;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Running token usage of one job, per target language. Cost is estimated from per-model prices
+ * in USD per million tokens, written as {@code model=prompt/completion} pairs separated by commas.
+ */
+final class JobTokenUsage {
+
+    private final Map<String, Price> prices;
+    private final Map<String, LanguageUsage> byLanguage = new LinkedHashMap<>();
+
+    JobTokenUsage(Map<String, Price> prices) {
+        this.prices = prices;
+    }
+
+    /**
+     * Adds one batch of {@code cues} cues translated into {@code language}.
+     */
+    synchronized void add(String language, TokenUsageCollector batch, int cues) {
+        LanguageUsage usage = byLanguage.computeIfAbsent(language, l -> new LanguageUsage());
+        usage.cues += cues;
+        batch.snapshot().forEach((model, call) -> {
+            usage.promptTokens += call.promptTokens();
+            usage.completionTokens += call.completionTokens();
+            usage.modelNanos += call.durationNanos();
+            Price price = prices.get(model);
+            if (price == null) {
+                usage.unpriced = true;
+            } else {
+                usage.costUsd += (call.promptTokens() * price.promptPerMillion()
+                        + call.completionTokens() * price.completionPerMillion()) / 1_000_000;
+            }
+        });
+    }
+
+    synchronized TranslationTokenUsage toResponse() {
+        Map<String, TranslationTokenUsage> languages = new LinkedHashMap<>();
+        long promptTokens = 0;
+        long completionTokens = 0;
+        int cues = 0;
+        long modelNanos = 0;
+        double costUsd = 0;
+        boolean unpriced = false;
+        for (Map.Entry<String, LanguageUsage> entry : byLanguage.entrySet()) {
+            LanguageUsage usage = entry.getValue();
+            languages.put(entry.getKey(), TranslationTokenUsage.of(usage.promptTokens, usage.completionTokens,
+                    usage.cues, usage.modelNanos / 1_000_000, usage.unpriced ? null : usage.costUsd, null));
+            promptTokens += usage.promptTokens;
+            completionTokens += usage.completionTokens;
+            cues += usage.cues;
+            modelNanos += usage.modelNanos;
+            costUsd += usage.costUsd;
+            unpriced |= usage.unpriced;
+        }
+        return TranslationTokenUsage.of(promptTokens, completionTokens, cues, modelNanos / 1_000_000,
+                unpriced ? null : costUsd, languages);
+    }
+
+    static Map<String, Price> parsePrices(String spec) {
+        Map<String, Price> prices = new HashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return prices;
+        }
+        for (String pair : spec.split(",")) {
+            String[] modelAndPrice = pair.split("=", 2);
+            String[] promptAndCompletion = modelAndPrice.length == 2 ? modelAndPrice[1].split("/", 2) : new String[0];
+            if (promptAndCompletion.length != 2) {
+                throw new IllegalArgumentException("Invalid token price '" + pair.trim() + "', expected model=prompt/completion.");
+            }
+            prices.put(modelAndPrice[0].trim(), new Price(
+                    Double.parseDouble(promptAndCompletion[0].trim()), Double.parseDouble(promptAndCompletion[1].trim())));
+        }
+        return prices;
+    }
+
+    record Price(double promptPerMillion, double completionPerMillion) {
+    }
+
+    private static final class LanguageUsage {
+        long promptTokens;
+        long completionTokens;
+        int cues;
+        long modelNanos;
+        double costUsd;
+        boolean unpriced;
+    }
+}
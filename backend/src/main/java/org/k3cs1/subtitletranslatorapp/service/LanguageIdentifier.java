@@ -0,0 +1,200 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Offline language identification with a character n-gram model (1- to 3-grams per word, naive Bayes).
+ * Profiles are built at startup from the sample texts bundled under {@code langid/}.
+ * Used to pass through cues that are already in the target language instead of sending them to a provider,
+ * so it errs on the side of "unknown": short cues, low-confidence results and text that looks unlike every
+ * profile are never reported as a match.
+ */
+@Service
+@Slf4j
+public class LanguageIdentifier {
+
+    // ISO 639-1 codes with a bundled sample text
+    static final List<String> LANGUAGES = List.of("cs", "de", "en", "es", "fr", "hu", "it", "nl", "pl", "pt", "ro", "sv");
+
+    // Close relatives of the profiled languages. They compete in detection so that their text is not taken for
+    // a profiled language, but are never resolved as a target (their samples are too small to trust a match)
+    static final List<String> NEIGHBOURS = List.of("af", "ca", "da", "fy", "gl", "hr", "nb", "sk", "sl");
+
+    private static final int MAX_NGRAM = 3;
+
+    @Value("${translation.language-detection.enabled:false}")
+    private boolean enabled = false;
+
+    // Cues with fewer letters carry too little signal to be skipped safely
+    @Value("${translation.language-detection.min-letters:20}")
+    private int minLetters = 20;
+
+    @Value("${translation.language-detection.min-confidence:0.999}")
+    private double minConfidence = 0.999;
+
+    // Share of the text's trigrams the winning profile must have seen; the posterior alone only compares the
+    // profiles with each other, so a language without one can still win it by a wide margin
+    @Value("${translation.language-detection.min-coverage:0.7}")
+    private double minCoverage = 0.7;
+
+    private final Map<String, Profile> profiles = new LinkedHashMap<>();
+    private Map<String, String> codeByLabel = Map.of();
+    private int vocabularySize;
+
+    @PostConstruct
+    public void init() {
+        profiles.clear();
+        Set<String> vocabulary = new HashSet<>();
+        for (String language : concat(LANGUAGES, NEIGHBOURS)) {
+            Map<String, Integer> counts = new HashMap<>();
+            for (String gram : ngrams(readSample(language))) {
+                counts.merge(gram, 1, Integer::sum);
+            }
+            vocabulary.addAll(counts.keySet());
+            profiles.put(language, new Profile(counts, counts.values().stream().mapToLong(Integer::longValue).sum()));
+        }
+        vocabularySize = vocabulary.size();
+        codeByLabel = LanguageLabels.index(iso -> LANGUAGES.contains(iso) ? iso : null);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Profiled ISO 639-1 code of a target language label (name, code or country), or {@code null} if it has no profile.
+     */
+    public String languageCode(String label) {
+        if (label == null || label.isBlank()) {
+            return null;
+        }
+        String normalized = label.trim().toLowerCase(Locale.ROOT);
+        String code = codeByLabel.get(normalized);
+        if (code == null && normalized.length() > 2 && (normalized.charAt(2) == '-' || normalized.charAt(2) == '_')) {
+            code = codeByLabel.get(normalized.substring(0, 2));
+        }
+        return code;
+    }
+
+    /**
+     * Most likely language of the text with its posterior probability and the share of the text's trigrams that
+     * language's sample contains, or {@code null} if the text is too short to judge.
+     */
+    public Detection detect(String text) {
+        List<String> grams = ngrams(text);
+        long letters = text.codePoints().filter(Character::isLetter).count();
+        if (letters < minLetters || grams.isEmpty()) {
+            return null;
+        }
+        Map<String, Double> logLikelihoods = new LinkedHashMap<>();
+        for (Map.Entry<String, Profile> profile : profiles.entrySet()) {
+            logLikelihoods.put(profile.getKey(), profile.getValue().logLikelihood(grams, vocabularySize));
+        }
+        String best = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (Map.Entry<String, Double> score : logLikelihoods.entrySet()) {
+            if (score.getValue() > bestScore) {
+                best = score.getKey();
+                bestScore = score.getValue();
+            }
+        }
+        double normalizer = 0;
+        for (double score : logLikelihoods.values()) {
+            normalizer += Math.exp(score - bestScore);
+        }
+        return new Detection(best, 1 / normalizer, profiles.get(best).coverage(grams));
+    }
+
+    /**
+     * Whether the text is confidently in the given language; {@code false} whenever detection is unsure.
+     */
+    public boolean isConfidentlyIn(String text, String languageCode) {
+        if (!enabled || languageCode == null) {
+            return false;
+        }
+        Detection detection = detect(text);
+        return detection != null && detection.language().equals(languageCode)
+                && detection.confidence() >= minConfidence && detection.coverage() >= minCoverage;
+    }
+
+    // Character 1..3-grams of every word, padded with spaces so word starts and ends count
+    private static List<String> ngrams(String text) {
+        List<String> grams = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = " " + word + " ";
+            for (int n = 1; n <= MAX_NGRAM; n++) {
+                for (int i = 0; i + n <= padded.length(); i++) {
+                    String gram = padded.substring(i, i + n);
+                    if (!gram.isBlank()) {
+                        grams.add(gram);
+                    }
+                }
+            }
+        }
+        return grams;
+    }
+
+    private static List<String> concat(List<String> first, List<String> second) {
+        List<String> all = new ArrayList<>(first);
+        all.addAll(second);
+        return all;
+    }
+
+    private static String readSample(String language) {
+        try (InputStream in = new ClassPathResource("langid/" + language + ".txt").getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Failed to read language sample " + language, ioe);
+        }
+    }
+
+    public record Detection(String language, double confidence, double coverage) {
+    }
+
+    private record Profile(Map<String, Integer> counts, long total) {
+        // Add-one smoothing over the vocabulary shared by all profiles
+        double logLikelihood(List<String> grams, int vocabularySize) {
+            double denominator = Math.log(total + vocabularySize);
+            double sum = 0;
+            for (String gram : grams) {
+                sum += Math.log(counts.getOrDefault(gram, 0) + 1) - denominator;
+            }
+            return sum;
+        }
+
+        // Share of the trigrams that occur in the sample at least once
+        double coverage(List<String> grams) {
+            int trigrams = 0;
+            int seen = 0;
+            for (String gram : grams) {
+                if (gram.length() == MAX_NGRAM) {
+                    trigrams++;
+                    if (counts.containsKey(gram)) {
+                        seen++;
+                    }
+                }
+            }
+            return trigrams == 0 ? 0 : (double) seen / trigrams;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Index of free-form language labels as sent by the UI (ISO codes, English language names, or country names)
+ * to whatever code a consumer uses for a language.
+ */
+final class LanguageLabels {
+
+    private LanguageLabels() {
+    }
+
+    /**
+     * Builds a lower-case label index. {@code codeForIso} maps an ISO 639 code to the consumer's code,
+     * or {@code null} when the consumer does not handle the language.
+     * Countries are indexed only when they have exactly one handled locale language.
+     */
+    static Map<String, String> index(Function<String, String> codeForIso) {
+        Map<String, String> labels = new HashMap<>();
+        for (String iso : Locale.getISOLanguages()) {
+            String code = codeForIso.apply(iso);
+            if (code != null) {
+                labels.put(iso, code);
+                labels.put(Locale.of(iso).getDisplayLanguage(Locale.ENGLISH).toLowerCase(Locale.ROOT), code);
+            }
+        }
+
+        Map<String, Set<String>> codesByCountry = new HashMap<>();
+        for (Locale locale : Locale.getAvailableLocales()) {
+            String code = locale.getLanguage().isEmpty() ? null : codeForIso.apply(locale.getLanguage());
+            if (code != null && !locale.getCountry().isEmpty()) {
+                codesByCountry.computeIfAbsent(locale.getDisplayCountry(Locale.ENGLISH).toLowerCase(Locale.ROOT),
+                        country -> new HashSet<>()).add(code);
+            }
+        }
+        codesByCountry.forEach((country, codes) -> {
+            if (codes.size() == 1) {
+                labels.putIfAbsent(country, codes.iterator().next());
+            }
+        });
+        return Map.copyOf(labels);
+    }
+}
@@ -0,0 +1,98 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * On-disk format shared by {@link RecordingChatAdvisor} and {@link ReplayChatAdvisor}: gzip-compressed JSON lines,
+ * one recorded model call per line. The system prompt is stored as a hash only, since it repeats on every call.
+ */
+@Slf4j
+public final class LlmFixture {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * One model call.
+     *
+     * @param key          {@link #key} of the request
+     * @param system       hash of the system prompt (target language and format rules)
+     * @param payload      the user message
+     * @param latencyNanos time from sending the request to receiving the whole reply
+     */
+    public record Exchange(String key, String model, String system, String payload, String response,
+                           long latencyNanos, int promptTokens, int completionTokens) {
+    }
+
+    /**
+     * Identifies a request by model, system prompt and user message; identical batches get identical keys.
+     */
+    static String key(String model, String systemHash, String payload) {
+        return hash(model + '\n' + systemHash + '\n' + payload);
+    }
+
+    static String model(Prompt prompt) {
+        ChatOptions options = prompt.getOptions() instanceof ChatOptions chatOptions ? chatOptions : null;
+        return options != null && options.getModel() != null ? options.getModel() : "default";
+    }
+
+    static String hash(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    static String toLine(Exchange exchange) throws JsonProcessingException {
+        return OBJECT_MAPPER.writeValueAsString(exchange) + '\n';
+    }
+
+    /**
+     * Reads every exchange of a fixture. A recording cut off by a crash keeps the calls written before it.
+     */
+    public static List<Exchange> read(Path path) throws IOException {
+        List<Exchange> exchanges = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(path)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    exchanges.add(OBJECT_MAPPER.readValue(line, Exchange.class));
+                } catch (JsonProcessingException partial) {
+                    log.warn("LLM fixture {} ends in a partly written call; using the {} calls before it", path, exchanges.size());
+                    break;
+                }
+            }
+        } catch (EOFException | ZipException truncated) {
+            // The recording process stopped without finishing the gzip stream
+            log.warn("LLM fixture {} ends early; using the {} calls before the cut", path, exchanges.size());
+        }
+        return exchanges;
+    }
+
+    private LlmFixture() {
+    }
+}
@@ -0,0 +1,98 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import lombok.RequiredArgsConstructor;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationLanguageStatus;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.k3cs1.subtitletranslatorapp.repository.JobRepository;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Translation of one subtitle file into several languages at once, sharing one batch plan and one limiter.
+ */
+@Service
+@RequiredArgsConstructor
+public class MultiLanguageJobRunner {
+
+    private final JobBatchScheduler batchScheduler;
+    private final JobRepository jobRepository;
+
+    /**
+     * Translates the entries into every language. Entries with identical text are translated once per language,
+     * and batches are planned once and reused for every language. Batches are interleaved by language so all
+     * languages advance together under the shared limiter.
+     */
+    Map<String, List<SrtEntry>> translate(List<SrtEntry> entries, List<String> languages, String jobId,
+                                          String inputFileName) throws IOException {
+        // Dedup by text: one representative per distinct cue text
+        Map<String, SrtEntry> representativeByText = new LinkedHashMap<>();
+        Map<Integer, Integer> coverageByRepresentative = new HashMap<>();
+        for (SrtEntry e : entries) {
+            SrtEntry representative = representativeByText.computeIfAbsent(e.originalText(), text -> e);
+            coverageByRepresentative.merge(representative.index(), 1, Integer::sum);
+        }
+        final List<List<SrtEntry>> planned = batchScheduler.plan(new ArrayList<>(representativeByText.values()));
+
+        final int totalEntries = entries.size();
+        final Map<String, Map<Integer, List<String>>> translatedByLanguage = new ConcurrentHashMap<>();
+        final Map<String, AtomicInteger> doneByLanguage = new LinkedHashMap<>();
+        for (String language : languages) {
+            translatedByLanguage.put(language, new ConcurrentHashMap<>());
+            doneByLanguage.put(language, new AtomicInteger());
+        }
+
+        List<JobBatchScheduler.Batch> batches = new ArrayList<>(planned.size() * languages.size());
+        for (int i = 0; i < planned.size(); i++) {
+            for (String language : languages) {
+                batches.add(new JobBatchScheduler.Batch(i, language, planned.get(i)));
+            }
+        }
+
+        // One limiter for the whole job, across all languages
+        batchScheduler.execute(batches, jobId, batchScheduler.newLimiter(), (batch, batchResult) -> {
+            translatedByLanguage.get(batch.targetLanguage()).putAll(batchResult);
+            int covered = batch.entries().stream().mapToInt(e -> coverageByRepresentative.get(e.index())).sum();
+            doneByLanguage.get(batch.targetLanguage()).addAndGet(covered);
+
+            if (jobId != null && !jobId.isBlank()) {
+                int finished = doneByLanguage.values().stream().mapToInt(AtomicInteger::get).sum();
+                jobRepository.updateProgress(jobId, finished, totalEntries * languages.size(),
+                        languageStatuses(doneByLanguage, totalEntries, inputFileName));
+            }
+        });
+
+        // Expand representatives back to every entry, in original order
+        Map<String, List<SrtEntry>> out = new LinkedHashMap<>();
+        for (String language : languages) {
+            Map<Integer, List<String>> translated = translatedByLanguage.get(language);
+            List<SrtEntry> languageEntries = new ArrayList<>(entries.size());
+            for (SrtEntry e : entries) {
+                int representativeIndex = representativeByText.get(e.originalText()).index();
+                List<String> lines = translated.getOrDefault(representativeIndex, e.lines());
+                languageEntries.add(new SrtEntry(e.index(), e.timeRange(), lines));
+            }
+            out.put(language, languageEntries);
+        }
+        return out;
+    }
+
+    private static List<TranslationLanguageStatus> languageStatuses(Map<String, AtomicInteger> doneByLanguage,
+                                                                    int totalEntries, String inputFileName) {
+        List<TranslationLanguageStatus> statuses = new ArrayList<>(doneByLanguage.size());
+        doneByLanguage.forEach((language, done) -> {
+            int finished = done.get();
+            String status = finished >= totalEntries ? "COMPLETED" : finished > 0 ? "PROCESSING" : "PENDING";
+            statuses.add(new TranslationLanguageStatus(language, status, finished, totalEntries,
+                    OutputFileNames.forLanguage(inputFileName, language)));
+        });
+        return statuses;
+    }
+}
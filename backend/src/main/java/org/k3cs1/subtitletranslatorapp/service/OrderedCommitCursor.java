@@ -0,0 +1,95 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.k3cs1.subtitletranslatorapp.parser.SrtIOParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends translated entries to the output in file order as soon as every earlier entry is translated,
+ * so the committed prefix of the output is final while later batches are still running.
+ * Readers can follow the prefix with {@link #awaitCommittedBytes(long)}.
+ */
+final class OrderedCommitCursor {
+
+    private final List<SrtEntry> entries;
+    private final Map<Integer, List<String>> translatedTextByIndex;
+    private final OutputStream out;
+
+    private int committedEntries;
+    private long committedBytes;
+    private boolean finished;
+    private String failure;
+
+    OrderedCommitCursor(List<SrtEntry> entries, Map<Integer, List<String>> translatedTextByIndex, OutputStream out) {
+        this.entries = entries;
+        this.translatedTextByIndex = translatedTextByIndex;
+        this.out = out;
+    }
+
+    /**
+     * Commits every entry after the current position whose translation is available, stopping at the first gap.
+     */
+    synchronized void advance() throws IOException {
+        List<SrtEntry> ready = new ArrayList<>();
+        while (committedEntries + ready.size() < entries.size()) {
+            SrtEntry e = entries.get(committedEntries + ready.size());
+            List<String> lines = translatedTextByIndex.get(e.index());
+            if (lines == null) {
+                break;
+            }
+            ready.add(new SrtEntry(e.index(), e.timeRange(), lines));
+        }
+        if (ready.isEmpty()) {
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SrtIOParser.write(bytes, ready);
+        bytes.writeTo(out);
+        out.flush();
+        committedEntries += ready.size();
+        committedBytes += bytes.size();
+        notifyAll();
+    }
+
+    /**
+     * Commits the remaining entries (untranslated ones keep their original text) and wakes all readers.
+     */
+    synchronized void finish() throws IOException {
+        for (int i = committedEntries; i < entries.size(); i++) {
+            translatedTextByIndex.putIfAbsent(entries.get(i).index(), entries.get(i).lines());
+        }
+        advance();
+        finished = true;
+        notifyAll();
+    }
+
+    synchronized void fail(String message) {
+        failure = message;
+        finished = true;
+        notifyAll();
+    }
+
+    synchronized int committedEntries() {
+        return committedEntries;
+    }
+
+    /**
+     * Blocks until more than {@code known} bytes are committed or the job has ended.
+     * Returns the committed byte count, which equals {@code known} only once nothing more will be committed.
+     */
+    synchronized long awaitCommittedBytes(long known) throws InterruptedException, IOException {
+        while (committedBytes <= known && !finished) {
+            wait();
+        }
+        if (committedBytes <= known && failure != null) {
+            throw new IOException(failure);
+        }
+        return committedBytes;
+    }
+}
@@ -0,0 +1,46 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+/**
+ * Names of job outputs, derived from the uploaded file's name and the target language.
+ */
+final class OutputFileNames {
+
+    private OutputFileNames() {
+    }
+
+    // movie.srt -> movie_hungarian.srt
+    static String forLanguage(String originalName, String targetLanguage) {
+        return stripSrt(originalName) + "_" + languageSuffix(targetLanguage) + ".srt";
+    }
+
+    // movie.srt -> movie_translations.zip
+    static String multiLanguageZip(String originalName) {
+        return stripSrt(originalName) + "_translations.zip";
+    }
+
+    // season1.zip -> season1_hungarian.zip
+    static String seasonPackZip(String originalName, String targetLanguage) {
+        String base = originalName.toLowerCase().endsWith(".zip")
+                ? originalName.substring(0, originalName.length() - 4)
+                : stripSrt(originalName);
+        return base + "_" + languageSuffix(targetLanguage) + ".zip";
+    }
+
+    // File-name-safe form of the language, at most 24 characters
+    static String languageSuffix(String targetLanguage) {
+        String suffix = targetLanguage == null ? "" : targetLanguage.toLowerCase();
+        suffix = suffix.replaceAll("[^a-z0-9]+", "-");
+        suffix = suffix.replaceAll("(^-+|-+$)", "");
+        if (suffix.isBlank()) {
+            suffix = "translated";
+        }
+        if (suffix.length() > 24) {
+            suffix = suffix.substring(0, 24);
+        }
+        return suffix;
+    }
+
+    private static String stripSrt(String name) {
+        return name.toLowerCase().endsWith(".srt") ? name.substring(0, name.length() - 4) : name;
+    }
+}
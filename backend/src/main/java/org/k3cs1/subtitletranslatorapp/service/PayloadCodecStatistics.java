@@ -0,0 +1,59 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import org.k3cs1.subtitletranslatorapp.dto.PayloadCodecStatsResponse;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-codec token and latency totals since startup, to compare the cost per cue of the payload formats.
+ */
+@Service
+public class PayloadCodecStatistics {
+
+    private final Map<String, Totals> totalsByCodec = new ConcurrentHashMap<>();
+
+    public void record(String codec, int cues, long promptTokens, long completionTokens, boolean estimated,
+                       long latencyMs, boolean parseFailed) {
+        Totals totals = totalsByCodec.computeIfAbsent(codec, name -> new Totals());
+        totals.calls.increment();
+        totals.cues.add(cues);
+        totals.promptTokens.add(promptTokens);
+        totals.completionTokens.add(completionTokens);
+        totals.latencyMs.add(latencyMs);
+        if (estimated) {
+            totals.estimatedCalls.increment();
+        }
+        if (parseFailed) {
+            totals.parseFailures.increment();
+        }
+    }
+
+    public List<PayloadCodecStatsResponse> snapshot() {
+        return totalsByCodec.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> entry.getValue().toResponse(entry.getKey()))
+                .toList();
+    }
+
+    private static final class Totals {
+        final LongAdder calls = new LongAdder();
+        final LongAdder cues = new LongAdder();
+        final LongAdder promptTokens = new LongAdder();
+        final LongAdder completionTokens = new LongAdder();
+        final LongAdder latencyMs = new LongAdder();
+        final LongAdder parseFailures = new LongAdder();
+        final LongAdder estimatedCalls = new LongAdder();
+
+        PayloadCodecStatsResponse toResponse(String codec) {
+            long cueCount = cues.sum();
+            double perCue = Math.max(1, cueCount);
+            return new PayloadCodecStatsResponse(codec, calls.sum(), cueCount, promptTokens.sum(),
+                    completionTokens.sum(), promptTokens.sum() / perCue, completionTokens.sum() / perCue,
+                    latencyMs.sum() / perCue, parseFailures.sum(), estimatedCalls.sum());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker guarding one translation provider.
+ * CLOSED lets every call through and opens once the failure rate of the recent calls reaches the threshold.
+ * OPEN rejects calls until the open duration has passed, then moves to HALF_OPEN, which admits a single
+ * trial call: success closes the breaker with a clean window, failure opens it again.
+ */
+final class ProviderCircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String provider;
+    private final long windowMs;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationMs;
+    private final LongSupplier clock;
+
+    // Outcome timestamps of calls in the rolling window; failed calls are also kept separately
+    private final Deque<Long> calls = new ArrayDeque<>();
+    private final Deque<Long> failures = new ArrayDeque<>();
+    private final Map<State, Long> transitions = new EnumMap<>(State.class);
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    ProviderCircuitBreaker(String provider, long windowMs, int minimumCalls, double failureRateThreshold,
+                           long openDurationMs, LongSupplier clock) {
+        this.provider = provider;
+        this.windowMs = windowMs;
+        this.minimumCalls = Math.max(1, minimumCalls);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMs = openDurationMs;
+        this.clock = clock;
+    }
+
+    /**
+     * Whether a call may go to the provider now. In HALF_OPEN only the first caller gets the trial call.
+     */
+    synchronized boolean tryAcquire() {
+        long now = clock.getAsLong();
+        if (state == State.OPEN && now - openedAt >= openDurationMs) {
+            transition(State.HALF_OPEN);
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInFlight) {
+                    yield false;
+                }
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    synchronized void onSuccess() {
+        long now = clock.getAsLong();
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+            calls.clear();
+            failures.clear();
+            transition(State.CLOSED);
+            return;
+        }
+        calls.addLast(now);
+        evict(now);
+    }
+
+    synchronized void onFailure() {
+        long now = clock.getAsLong();
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+            open(now);
+            return;
+        }
+        calls.addLast(now);
+        failures.addLast(now);
+        evict(now);
+        if (state == State.CLOSED && calls.size() >= minimumCalls
+                && (double) failures.size() / calls.size() >= failureRateThreshold) {
+            open(now);
+        }
+    }
+
+    // The call ended in a way that says nothing about the provider's health (e.g. invalid input)
+    synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    synchronized double failureRate() {
+        evict(clock.getAsLong());
+        return calls.isEmpty() ? 0 : (double) failures.size() / calls.size();
+    }
+
+    synchronized Map<State, Long> transitions() {
+        return new EnumMap<>(transitions);
+    }
+
+    String provider() {
+        return provider;
+    }
+
+    private void open(long now) {
+        openedAt = now;
+        transition(State.OPEN);
+    }
+
+    private void transition(State next) {
+        if (state != next) {
+            state = next;
+            transitions.merge(next, 1L, Long::sum);
+        }
+    }
+
+    private void evict(long now) {
+        while (!calls.isEmpty() && calls.peekFirst() < now - windowMs) {
+            calls.removeFirst();
+        }
+        while (!failures.isEmpty() && failures.peekFirst() < now - windowMs) {
+            failures.removeFirst();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.core.Ordered;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Appends every successful model call made through a {@code ChatClient} to an {@link LlmFixture} file, with its
+ * latency, for {@link ReplayChatAdvisor} to serve later. Each run adds a gzip member to the file, so recordings
+ * of several runs accumulate. Failed calls are not recorded.
+ */
+@Slf4j
+public class RecordingChatAdvisor implements CallAdvisor, AutoCloseable {
+
+    private final Path path;
+    private OutputStream out;
+
+    public RecordingChatAdvisor(Path path) throws IOException {
+        this.path = path;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        // Sync-flushed after every call, so a crash loses at most the call being written
+        this.out = new GZIPOutputStream(Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND),
+                8192, true);
+        log.info("Recording LLM calls to {}", path);
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+        long started = System.nanoTime();
+        ChatClientResponse response = chain.nextCall(request);
+        long latencyNanos = System.nanoTime() - started;
+        ChatResponse chatResponse = response.chatResponse();
+        if (chatResponse != null && chatResponse.getResult() != null) {
+            record(request.prompt(), chatResponse, latencyNanos);
+        }
+        return response;
+    }
+
+    private void record(Prompt prompt, ChatResponse chatResponse, long latencyNanos) {
+        String model = LlmFixture.model(prompt);
+        String system = LlmFixture.hash(prompt.getSystemMessage().getText());
+        String payload = prompt.getUserMessage().getText();
+        Usage usage = chatResponse.getMetadata() != null ? chatResponse.getMetadata().getUsage() : null;
+        LlmFixture.Exchange exchange = new LlmFixture.Exchange(LlmFixture.key(model, system, payload), model, system,
+                payload, chatResponse.getResult().getOutput().getText(), latencyNanos,
+                usage != null && usage.getPromptTokens() != null ? usage.getPromptTokens() : 0,
+                usage != null && usage.getCompletionTokens() != null ? usage.getCompletionTokens() : 0);
+        try {
+            byte[] line = LlmFixture.toLine(exchange).getBytes(StandardCharsets.UTF_8);
+            synchronized (this) {
+                if (out == null) {
+                    return;
+                }
+                out.write(line);
+                out.flush();
+            }
+        } catch (IOException ioe) {
+            // A broken recording must not fail the translation it observes
+            log.warn("Failed to record LLM call to {}: {}", path, ioe.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Failed to close LLM fixture " + path, ioe);
+        } finally {
+            out = null;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "llm-fixture-recorder";
+    }
+
+    // Right before the ChatClient's own model call advisor, so the latency covers the model call only
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 1;
+    }
+}
@@ -0,0 +1,176 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.k3cs1.subtitletranslatorapp.codec.BatchPayloadCodec;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.core.Ordered;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Answers {@code ChatClient} calls from an {@link LlmFixture} recording instead of the model, after the recorded
+ * latency. A request recorded as-is gets its recorded replies in turn. Any other batch, e.g. one cut differently by a
+ * new batching strategy, is assembled cue by cue from the recorded translations of the same target language, with a
+ * latency from a linear fit of the recorded latencies over cue count. A request with an unknown cue fails.
+ */
+@Slf4j
+public class ReplayChatAdvisor implements CallAdvisor {
+
+    private final BatchPayloadCodec codec;
+    private final double speed;
+
+    private final Map<String, List<LlmFixture.Exchange>> byKey = new HashMap<>();
+    private final Map<String, AtomicInteger> nextByKey = new ConcurrentHashMap<>();
+    // System prompt hash + source cue text -> translated lines
+    private final Map<String, List<String>> cues = new HashMap<>();
+    private final double fixedNanos;
+    private final double nanosPerCue;
+
+    /**
+     * @param speed latency multiplier: 1 replays the recorded timing, 0 answers at once
+     */
+    public ReplayChatAdvisor(Path path, BatchPayloadCodec codec, double speed) throws IOException {
+        if (speed < 0) {
+            throw new IllegalArgumentException("Replay speed cannot be negative.");
+        }
+        this.codec = codec;
+        this.speed = speed;
+        List<LlmFixture.Exchange> exchanges = LlmFixture.read(path);
+        // Least-squares fit of latency = fixed + perCue * cues
+        double n = 0;
+        double sumX = 0;
+        double sumY = 0;
+        double sumXY = 0;
+        double sumXX = 0;
+        for (LlmFixture.Exchange exchange : exchanges) {
+            byKey.computeIfAbsent(exchange.key(), key -> new ArrayList<>()).add(exchange);
+            Map<Integer, List<String>> source = decodeQuietly(payloadOf(exchange.payload()));
+            Map<Integer, List<String>> translated = decodeQuietly(exchange.response());
+            source.forEach((index, lines) -> {
+                List<String> translation = translated.get(index);
+                if (translation != null) {
+                    cues.putIfAbsent(cueKey(exchange.system(), lines), translation);
+                }
+            });
+            if (!source.isEmpty()) {
+                n++;
+                sumX += source.size();
+                sumY += exchange.latencyNanos();
+                sumXY += (double) source.size() * exchange.latencyNanos();
+                sumXX += (double) source.size() * source.size();
+            }
+        }
+        double denominator = n * sumXX - sumX * sumX;
+        double slope = denominator > 0 ? (n * sumXY - sumX * sumY) / denominator : (sumX > 0 ? sumY / sumX : 0);
+        this.nanosPerCue = Math.max(0, slope);
+        this.fixedNanos = n > 0 ? Math.max(0, (sumY - nanosPerCue * sumX) / n) : 0;
+        log.info("Replaying {} recorded LLM calls ({} distinct requests, {} cues) from {}",
+                exchanges.size(), byKey.size(), cues.size(), path);
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+        Prompt prompt = request.prompt();
+        String model = LlmFixture.model(prompt);
+        String system = LlmFixture.hash(prompt.getSystemMessage().getText());
+        String payload = prompt.getUserMessage().getText();
+
+        String key = LlmFixture.key(model, system, payload);
+        List<LlmFixture.Exchange> recorded = byKey.get(key);
+        LlmFixture.Exchange exchange = recorded != null
+                ? recorded.get(nextByKey.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement() % recorded.size())
+                : assemble(model, system, payload);
+        pause(exchange.latencyNanos());
+
+        ChatResponse chatResponse = ChatResponse.builder()
+                .generations(List.of(new Generation(new AssistantMessage(exchange.response()))))
+                .metadata(ChatResponseMetadata.builder()
+                        .model(exchange.model())
+                        .usage(new DefaultUsage(exchange.promptTokens(), exchange.completionTokens()))
+                        .build())
+                .build();
+        return ChatClientResponse.builder().chatResponse(chatResponse).context(request.context()).build();
+    }
+
+    private LlmFixture.Exchange assemble(String model, String system, String payload) {
+        Map<Integer, List<String>> source = decodeQuietly(payloadOf(payload));
+        if (source.isEmpty()) {
+            throw new IllegalStateException("No recorded LLM reply for this request and its payload has no cues.");
+        }
+        List<SrtEntry> translated = new ArrayList<>(source.size());
+        for (Map.Entry<Integer, List<String>> cue : source.entrySet()) {
+            List<String> lines = cues.get(cueKey(system, cue.getValue()));
+            if (lines == null) {
+                throw new IllegalStateException("No recorded translation for cue " + cue.getKey()
+                        + "; record traffic that covers this input first.");
+            }
+            translated.add(new SrtEntry(cue.getKey(), "", lines));
+        }
+        String response = codec.encode(translated);
+        long latencyNanos = Math.round(fixedNanos + nanosPerCue * source.size());
+        // Token counts are not recorded per cue; estimate them like the translator does when usage is missing
+        return new LlmFixture.Exchange(null, model, system, payload, response, latencyNanos,
+                payload.length() / 4, response.length() / 4);
+    }
+
+    // The batch payload is the user message after the translator's fixed instruction
+    private static String payloadOf(String userMessage) {
+        return userMessage.startsWith(SrtTranslatorServiceImpl.USER_PROMPT_PREFIX)
+                ? userMessage.substring(SrtTranslatorServiceImpl.USER_PROMPT_PREFIX.length())
+                : userMessage;
+    }
+
+    private Map<Integer, List<String>> decodeQuietly(String text) {
+        try {
+            return codec.decode(text);
+        } catch (RuntimeException unreadable) {
+            return Map.of();
+        }
+    }
+
+    private void pause(long recordedNanos) {
+        long nanos = Math.round(recordedNanos * speed);
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying an LLM call", ie);
+        }
+    }
+
+    private static String cueKey(String system, List<String> lines) {
+        return system + '\n' + String.join("\n", lines).strip();
+    }
+
+    @Override
+    public String getName() {
+        return "llm-fixture-replayer";
+    }
+
+    // Right before the ChatClient's own model call advisor, which it never calls
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 1;
+    }
+}
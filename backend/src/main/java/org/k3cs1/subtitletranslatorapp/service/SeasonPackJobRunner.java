@@ -0,0 +1,119 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.k3cs1.subtitletranslatorapp.exception.TranslationFailedException;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.k3cs1.subtitletranslatorapp.model.SubtitleFile;
+import org.k3cs1.subtitletranslatorapp.parser.SrtIOParser;
+import org.k3cs1.subtitletranslatorapp.repository.JobRepository;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Translation of every file of a season pack into one language through one translation memory.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeasonPackJobRunner {
+
+    private final JobBatchScheduler batchScheduler;
+    private final JobRepository jobRepository;
+
+    /**
+     * Translates all files of a season pack: every distinct cue text across the pack is translated once.
+     * Representatives are batched in archive order so earlier episodes finish first, and each file is rendered
+     * and published to {@code outputs} as soon as its last cue is translated. Returns the outputs in archive order.
+     */
+    List<SubtitleFile> translate(List<SubtitleFile> files, List<List<SrtEntry>> parsed, String targetLanguage,
+                                 String jobId, SeasonPackOutputs outputs) throws IOException {
+        Map<String, SrtEntry> representativeByText = new LinkedHashMap<>();
+        Map<Integer, Integer> coverageByRepresentative = new HashMap<>();
+        Map<Integer, List<Integer>> filesByRepresentative = new HashMap<>();
+        List<AtomicInteger> remainingByFile = new ArrayList<>(files.size());
+        int totalEntries = 0;
+        for (int f = 0; f < parsed.size(); f++) {
+            Set<Integer> fileRepresentatives = new HashSet<>();
+            for (SrtEntry e : parsed.get(f)) {
+                // Synthetic indices: cue numbers repeat across files
+                SrtEntry representative = representativeByText.computeIfAbsent(e.originalText(),
+                        text -> new SrtEntry(representativeByText.size() + 1, e.timeRange(), e.lines()));
+                coverageByRepresentative.merge(representative.index(), 1, Integer::sum);
+                if (fileRepresentatives.add(representative.index())) {
+                    filesByRepresentative.computeIfAbsent(representative.index(), i -> new ArrayList<>()).add(f);
+                }
+            }
+            remainingByFile.add(new AtomicInteger(fileRepresentatives.size()));
+            totalEntries += parsed.get(f).size();
+        }
+
+        final Map<Integer, List<String>> translatedByRepresentative = new ConcurrentHashMap<>();
+        final SubtitleFile[] rendered = new SubtitleFile[files.size()];
+        final var done = new AtomicInteger();
+        final int total = totalEntries;
+        if (jobId != null && !jobId.isBlank()) {
+            jobRepository.updateProgress(jobId, 0, total);
+        }
+
+        for (int f = 0; f < files.size(); f++) {
+            if (remainingByFile.get(f).get() == 0) {
+                rendered[f] = render(files.get(f), parsed.get(f), representativeByText, translatedByRepresentative,
+                        targetLanguage);
+                outputs.add(rendered[f]);
+            }
+        }
+
+        List<JobBatchScheduler.Batch> batches = JobBatchScheduler.inLanguage(
+                batchScheduler.plan(new ArrayList<>(representativeByText.values())), targetLanguage);
+        batchScheduler.execute(batches, jobId, batchScheduler.newLimiter(), (batch, batchResult) -> {
+            translatedByRepresentative.putAll(batchResult);
+            int covered = batch.entries().stream().mapToInt(e -> coverageByRepresentative.get(e.index())).sum();
+            int finished = done.addAndGet(covered);
+            log.info("Translated {}/{} entries", finished, total);
+            if (jobId != null && !jobId.isBlank()) {
+                jobRepository.updateProgress(jobId, finished, total);
+            }
+
+            for (SrtEntry representative : batch.entries()) {
+                for (int f : filesByRepresentative.get(representative.index())) {
+                    if (remainingByFile.get(f).decrementAndGet() == 0) {
+                        rendered[f] = render(files.get(f), parsed.get(f), representativeByText,
+                                translatedByRepresentative, targetLanguage);
+                        outputs.add(rendered[f]);
+                    }
+                }
+            }
+        });
+        return List.of(rendered);
+    }
+
+    private static SubtitleFile render(SubtitleFile file, List<SrtEntry> entries,
+                                       Map<String, SrtEntry> representativeByText,
+                                       Map<Integer, List<String>> translatedByRepresentative, String targetLanguage) {
+        List<SrtEntry> out = new ArrayList<>(entries.size());
+        for (SrtEntry e : entries) {
+            int representativeIndex = representativeByText.get(e.originalText()).index();
+            out.add(new SrtEntry(e.index(), e.timeRange(),
+                    translatedByRepresentative.getOrDefault(representativeIndex, e.lines())));
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            SrtIOParser.write(bytes, out);
+        } catch (IOException ioe) {
+            throw new TranslationFailedException(ioe.getMessage());
+        }
+        return new SubtitleFile(OutputFileNames.forLanguage(file.name(), targetLanguage), bytes.toByteArray());
+    }
+}
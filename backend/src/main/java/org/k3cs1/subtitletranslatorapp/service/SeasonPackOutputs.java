@@ -0,0 +1,48 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import org.k3cs1.subtitletranslatorapp.model.SubtitleFile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Files of a running season pack in the order they finished, for consumers streaming them while the job runs.
+ */
+final class SeasonPackOutputs {
+    private final List<SubtitleFile> completed = new ArrayList<>();
+    private boolean finished;
+    private String failure;
+
+    synchronized void add(SubtitleFile file) {
+        completed.add(file);
+        notifyAll();
+    }
+
+    synchronized void finish() {
+        finished = true;
+        notifyAll();
+    }
+
+    synchronized void fail(String message) {
+        failure = message;
+        finished = true;
+        notifyAll();
+    }
+
+    /**
+     * Blocks until the file at {@code position} has finished; returns {@code null} once the job has ended without it.
+     */
+    synchronized SubtitleFile awaitFile(int position) throws InterruptedException, IOException {
+        while (position >= completed.size() && !finished) {
+            wait();
+        }
+        if (position < completed.size()) {
+            return completed.get(position);
+        }
+        if (failure != null) {
+            throw new IOException(failure);
+        }
+        return null;
+    }
+}
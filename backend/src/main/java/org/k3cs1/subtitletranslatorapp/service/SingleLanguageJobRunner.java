@@ -0,0 +1,225 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import io.opentelemetry.api.common.Attributes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationJobStatusResponse;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.k3cs1.subtitletranslatorapp.parser.SrtEntryReader;
+import org.k3cs1.subtitletranslatorapp.parser.SrtIOParser;
+import org.k3cs1.subtitletranslatorapp.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Translation of one subtitle file into one language: whole files held in memory, whose output grows in file
+ * order while batches complete, and large files read and written one window at a time.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SingleLanguageJobRunner {
+
+    private final JobBatchScheduler batchScheduler;
+    private final JobRepository jobRepository;
+    private final TranslationJobJournal journal;
+    private final LanguageIdentifier languageIdentifier;
+    private final TranslationMetrics metrics;
+    private final TranslationTracing tracing;
+    private final TranslationTuning tuning;
+
+    // Entries held in memory at once by large-file jobs
+    @Value("${translation.uploads.window-entries:2000}")
+    private int windowEntries;
+
+    // Single-file jobs running on this node, so the committed prefix of their output can be streamed
+    private final Map<String, RunningOutput> runningOutputs = new ConcurrentHashMap<>();
+
+    record RunningOutput(Path file, OrderedCommitCursor cursor) {
+    }
+
+    RunningOutput running(String jobId) {
+        return runningOutputs.get(jobId);
+    }
+
+    void forget(String jobId) {
+        if (jobId != null) {
+            runningOutputs.remove(jobId);
+        }
+    }
+
+    /**
+     * Translates the entries and writes them to {@code out} in file order through an {@link OrderedCommitCursor},
+     * so the output grows as soon as the earliest pending batches complete.
+     */
+    void translate(List<SrtEntry> entries, String targetLanguage, String jobId,
+                   Map<Integer, List<String>> completedTranslations, Path output, OutputStream out) throws IOException {
+
+        // Thread-safe result map, seeded with batches journaled before a restart
+        final Map<Integer, List<String>> translatedTextByIndex = new ConcurrentHashMap<>();
+        if (completedTranslations != null) {
+            translatedTextByIndex.putAll(completedTranslations);
+        }
+        int skipped = passThroughTargetLanguageCues(entries, targetLanguage, translatedTextByIndex);
+        if (skipped > 0 && jobId != null && !jobId.isBlank()) {
+            TranslationJobStatusResponse current = jobRepository.get(jobId);
+            if (current != null) {
+                jobRepository.store(jobId, current.withSkippedEntries(skipped));
+            }
+        }
+
+        // For progress reporting
+        final var done = new AtomicInteger(translatedTextByIndex.size());
+        final int totalEntries = entries.size();
+
+        final var cursor = new OrderedCommitCursor(entries, translatedTextByIndex, out);
+        if (jobId != null && !jobId.isBlank()) {
+            runningOutputs.put(jobId, new RunningOutput(output, cursor));
+        }
+
+        try {
+            // Entries translated before a restart form the initial prefix
+            write(cursor::advance);
+
+            // Build batches using an entry-count limit + a payload-size safety cap; skip already translated entries
+            final List<SrtEntry> pending = translatedTextByIndex.isEmpty()
+                    ? entries
+                    : entries.stream().filter(e -> !translatedTextByIndex.containsKey(e.index())).toList();
+            final List<JobBatchScheduler.Batch> batches =
+                    JobBatchScheduler.inLanguage(batchScheduler.plan(pending), targetLanguage);
+
+            batchScheduler.execute(batches, jobId, batchScheduler.newLimiter(), (batch, batchResult) -> {
+                translatedTextByIndex.putAll(batchResult);
+                journal.batchCompleted(jobId, batchResult);
+                write(cursor::advance);
+                reportProgress(jobId, done.addAndGet(batch.entries().size()), totalEntries);
+            });
+
+            // Commit whatever is left (entries the translator skipped keep their original text)
+            write(cursor::finish);
+        } catch (RuntimeException | IOException e) {
+            cursor.fail(e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Reads, translates and writes one window of entries at a time, so memory use depends on the window size
+     * rather than the file size. All windows share one limiter. Returns the number of cues passed through
+     * because they were already in the target language.
+     */
+    int translateWindowed(Path input, Path output, String targetLanguage, String jobId) throws IOException {
+        int totalEntries = countEntries(input);
+        if (jobId != null && !jobId.isBlank()) {
+            jobRepository.updateProgress(jobId, 0, totalEntries);
+        }
+
+        final var semaphore = batchScheduler.newLimiter();
+        final var done = new AtomicInteger();
+        final int window = Math.max(tuning.current().batchSize(), this.windowEntries);
+        int skipped = 0;
+
+        try (SrtEntryReader reader = SrtEntryReader.open(input);
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(output))) {
+            List<SrtEntry> entries;
+            while (!(entries = reader.nextWindow(window)).isEmpty()) {
+                // Concatenated files restart their cue numbers; key the window by position instead
+                List<SrtEntry> positional = new ArrayList<>(entries.size());
+                for (int i = 0; i < entries.size(); i++) {
+                    SrtEntry e = entries.get(i);
+                    positional.add(new SrtEntry(i + 1, e.timeRange(), e.lines()));
+                }
+
+                Map<Integer, List<String>> translated = new ConcurrentHashMap<>();
+                int passedThrough = passThroughTargetLanguageCues(positional, targetLanguage, translated);
+                skipped += passedThrough;
+                done.addAndGet(passedThrough);
+                List<SrtEntry> pending = passedThrough == 0
+                        ? positional
+                        : positional.stream().filter(e -> !translated.containsKey(e.index())).toList();
+                batchScheduler.execute(JobBatchScheduler.inLanguage(batchScheduler.plan(pending), targetLanguage),
+                        jobId, semaphore, (batch, batchResult) -> {
+                            translated.putAll(batchResult);
+                            reportProgress(jobId, done.addAndGet(batch.entries().size()), totalEntries);
+                        });
+
+                List<SrtEntry> translatedWindow = new ArrayList<>(entries.size());
+                for (int i = 0; i < entries.size(); i++) {
+                    SrtEntry e = entries.get(i);
+                    translatedWindow.add(new SrtEntry(e.index(), e.timeRange(), translated.getOrDefault(i + 1, e.lines())));
+                }
+                write(() -> SrtIOParser.write(out, translatedWindow));
+            }
+        }
+        return skipped;
+    }
+
+    /**
+     * Puts cues that are already in the target language into {@code translated} with their original text,
+     * so they never reach a provider. Returns how many cues were passed through. Single-language jobs only:
+     * multi-language and season-pack jobs share one batch plan across languages or episodes and translate
+     * every cue.
+     */
+    private int passThroughTargetLanguageCues(List<SrtEntry> entries, String targetLanguage,
+                                              Map<Integer, List<String>> translated) {
+        String languageCode = languageIdentifier.isEnabled() ? languageIdentifier.languageCode(targetLanguage) : null;
+        if (languageCode == null) {
+            return 0;
+        }
+        int skipped = 0;
+        for (SrtEntry e : entries) {
+            if (!translated.containsKey(e.index()) && languageIdentifier.isConfidentlyIn(e.originalText(), languageCode)) {
+                translated.put(e.index(), e.lines());
+                skipped++;
+            }
+        }
+        if (skipped > 0) {
+            metrics.recordSkippedCues(skipped);
+            log.debug("{} of {} cues are already in {}, passing them through", skipped, entries.size(), targetLanguage);
+        }
+        return skipped;
+    }
+
+    private void reportProgress(String jobId, int finished, int totalEntries) {
+        log.info("Translated {}/{} entries", finished, totalEntries);
+        if (jobId != null && !jobId.isBlank()) {
+            jobRepository.updateProgress(jobId, finished, totalEntries);
+        }
+    }
+
+    // Reassembly of translated cues into the output: commits through the cursor and window writes
+    private void write(WriteStep step) throws IOException {
+        long started = System.nanoTime();
+        tracing.inSpan("translation.write", Attributes.empty(), span -> {
+            step.run();
+            return null;
+        });
+        metrics.recordWrite(System.nanoTime() - started);
+    }
+
+    private static int countEntries(Path input) throws IOException {
+        int count = 0;
+        try (SrtEntryReader reader = SrtEntryReader.open(input)) {
+            while (reader.next() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @FunctionalInterface
+    private interface WriteStep {
+        void run() throws IOException;
+    }
+}
@@ -1,8 +1,16 @@
 package org.k3cs1.subtitletranslatorapp.service;
 
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.k3cs1.subtitletranslatorapp.codec.BatchPayloadCodec;
+import org.k3cs1.subtitletranslatorapp.exception.InvalidArgumentException;
 import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
@@ -12,17 +20,27 @@ import java.io.UncheckedIOException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
 @Service
+@Slf4j
 @RequiredArgsConstructor
-public class SrtTranslatorServiceImpl implements SrtTranslatorService {
+public class SrtTranslatorServiceImpl implements TranslationProvider {
+
+    // OpenTelemetry GenAI semantic conventions
+    private static final AttributeKey<String> GEN_AI_SYSTEM = AttributeKey.stringKey("gen_ai.system");
+    private static final AttributeKey<String> GEN_AI_REQUEST_MODEL = AttributeKey.stringKey("gen_ai.request.model");
+    private static final AttributeKey<Long> GEN_AI_INPUT_TOKENS = AttributeKey.longKey("gen_ai.usage.input_tokens");
+    private static final AttributeKey<Long> GEN_AI_OUTPUT_TOKENS = AttributeKey.longKey("gen_ai.usage.output_tokens");
+
+    static final String USER_PROMPT_PREFIX = "Translate this SRT text payload:\n\n";
 
     private final ChatClient.Builder builder;
+    private final PayloadCodecStatistics codecStatistics;
+    private final TranslationMetrics metrics;
+    private final TranslationTracing tracing;
     private ChatClient chatClient;
 
     private String systemPromptTemplate;
@@ -30,76 +48,222 @@ public class SrtTranslatorServiceImpl implements SrtTranslatorService {
     @Value("classpath:system_message_prompt.md")
     private Resource systemMessageResource;
 
+    // markers (default), compact or json; see BatchPayloadCodec
+    @Value("${translation.payload-codec:markers}")
+    private String payloadCodecName = "markers";
+
+    private BatchPayloadCodec codec;
+
+    // Strong tier; only used to label metrics, the ChatClient already carries it
+    @Value("${spring.ai.openai.chat.options.model:default}")
+    private String strongModel = "default";
+
+    // Easy batches go to a smaller, faster model; the configured default model stays the strong tier
+    @Value("${translation.tiering.enabled:false}")
+    private boolean tieringEnabled;
+
+    @Value("${translation.tiering.fast-model:gpt-5-mini}")
+    private String fastModel = "gpt-5-mini";
+
+    // Cues longer than this are never sent to the fast model
+    @Value("${translation.tiering.max-fast-cue-chars:90}")
+    private int maxFastCueChars = 90;
+
+    // Share of hard cues a batch may contain and still go to the fast model
+    @Value("${translation.tiering.max-hard-share:0.2}")
+    private double maxHardShare = 0.2;
+
+    @Value("${translation.tiering.escalate-on-validation-failure:true}")
+    private boolean escalateOnValidationFailure = true;
+
+    private ChatClient fastChatClient;
+    private CueComplexityClassifier classifier;
+
     @PostConstruct
     public void init() {
         this.chatClient = builder.build();
         this.systemPromptTemplate = readSystemPromptTemplate();
+        this.codec = BatchPayloadCodec.named(payloadCodecName);
+        if (tieringEnabled) {
+            this.fastChatClient = builder.clone()
+                    .defaultOptions(ChatOptions.builder().model(fastModel).build())
+                    .build();
+            this.classifier = new CueComplexityClassifier(maxFastCueChars, maxHardShare);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "openai";
+    }
+
+    // The model translates into any language it is asked for
+    @Override
+    public boolean supports(String targetLanguage) {
+        return true;
     }
 
     @Override
     public Map<Integer, List<String>> translateBatch(List<SrtEntry> batch, String targetLanguage) throws IOException {
         if (targetLanguage == null || targetLanguage.isBlank()) {
-            throw new IllegalArgumentException("Target language is required.");
+            throw new InvalidArgumentException("Target language is required.");
         }
-        String payload = buildPayload(batch);
+        if (tieringEnabled && classifier.classify(batch) == CueComplexityClassifier.Tier.FAST) {
+            Exchange fast = exchange(fastChatClient, fastModel, batch, targetLanguage);
+            try {
+                Map<Integer, List<String>> translated = decode(fast, batch.size());
+                if (!escalateOnValidationFailure || coversEveryCue(batch, translated)) {
+                    return translated;
+                }
+                log.debug("Fast model left cues of a {}-cue batch untranslated, escalating to the strong model", batch.size());
+            } catch (RuntimeException parseFailure) {
+                if (!escalateOnValidationFailure) {
+                    throw parseFailure;
+                }
+                log.debug("Fast model reply for a {}-cue batch was unreadable, escalating to the strong model: {}",
+                        batch.size(), parseFailure.getMessage());
+            }
+        }
+        return decode(exchange(chatClient, strongModel, batch, targetLanguage), batch.size());
+    }
+
+    private Exchange exchange(ChatClient client, String model, List<SrtEntry> batch, String targetLanguage) {
+        String payload = codec.encode(batch);
         String systemPrompt = Objects.requireNonNull(systemPromptTemplate, "System prompt template is not initialized")
-                .replace("{{TARGET_LANGUAGE}}", targetLanguage.trim());
+                .replace("{{TARGET_LANGUAGE}}", targetLanguage.trim())
+                .replace("{{FORMAT_RULES}}", codec.formatRules());
+
+        String user = USER_PROMPT_PREFIX + payload;
+        long requestBytes = utf8Length(systemPrompt) + utf8Length(user);
 
-        String user = "Translate this SRT text payload:\n\n" + payload;
+        TranslationModelCallEvent event = new TranslationModelCallEvent();
+        event.begin();
+        long started = System.nanoTime();
+        ChatResponse chatResponse;
+        try {
+            chatResponse = tracing.inSpan("translation.llm.call", Attributes.of(
+                    GEN_AI_SYSTEM, name(),
+                    GEN_AI_REQUEST_MODEL, model,
+                    TranslationTracing.CUES, (long) batch.size(),
+                    TranslationTracing.PAYLOAD_CHARS, (long) (systemPrompt.length() + user.length())), span -> {
+                ChatResponse reply = Objects.requireNonNull(client.prompt()
+                        .system(Objects.requireNonNull(systemPrompt, "System prompt is null"))
+                        .user(user)
+                        .call()
+                        .chatResponse(), "Chat response is null");
+                Usage usage = reply.getMetadata() != null ? reply.getMetadata().getUsage() : null;
+                if (usage != null && usage.getPromptTokens() != null && usage.getCompletionTokens() != null) {
+                    span.setAttribute(GEN_AI_INPUT_TOKENS, usage.getPromptTokens().longValue());
+                    span.setAttribute(GEN_AI_OUTPUT_TOKENS, usage.getCompletionTokens().longValue());
+                }
+                return reply;
+            });
+        } catch (RuntimeException callFailure) {
+            metrics.recordModelCall(name(), model, batch.size(), systemPrompt.length() + user.length(), 0, 0,
+                    System.nanoTime() - started, true);
+            commitCallEvent(event, model, batch.size(), requestBytes, 0, 0, 0, true);
+            throw callFailure;
+        }
+        long latencyNanos = System.nanoTime() - started;
+        event.end();
+        String response = Objects.requireNonNull(chatResponse.getResult() != null
+                ? chatResponse.getResult().getOutput().getText()
+                : null, "Chat response content is null");
+        return new Exchange(chatResponse, model, response, systemPrompt.length() + user.length(), requestBytes,
+                latencyNanos, event);
+    }
 
-        String response = Objects.requireNonNull(chatClient.prompt()
-                .system(Objects.requireNonNull(systemPrompt, "System prompt is null"))
-                .user(user)
-                .call()
-                .content(), "Chat response content is null");
+    private Map<Integer, List<String>> decode(Exchange exchange, int cues) {
+        try {
+            Map<Integer, List<String>> translated = tracing.inSpan("translation.response.parse",
+                    Attributes.of(TranslationTracing.CUES, (long) cues), span -> codec.decode(exchange.response()));
+            recordUsage(exchange, cues, false);
+            return translated;
+        } catch (RuntimeException parseFailure) {
+            recordUsage(exchange, cues, true);
+            throw parseFailure;
+        }
+    }
 
-        return parseTranslatedPayload(response);
+    private static boolean coversEveryCue(List<SrtEntry> batch, Map<Integer, List<String>> translated) {
+        for (SrtEntry entry : batch) {
+            List<String> lines = translated.get(entry.index());
+            if (lines == null || lines.stream().allMatch(String::isBlank)) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private String readSystemPromptTemplate() {
-        try (InputStream in = systemMessageResource.getInputStream()) {
-            String template = new String(in.readAllBytes(), StandardCharsets.UTF_8);
-            return Objects.requireNonNull(template, "System prompt template is null");
-        } catch (IOException ioe) {
-            throw new UncheckedIOException("Failed to read system prompt template", ioe);
+    private void recordUsage(Exchange exchange, int cues, boolean parseFailed) {
+        ChatResponse chatResponse = exchange.chatResponse();
+        Usage usage = chatResponse.getMetadata() != null ? chatResponse.getMetadata().getUsage() : null;
+        long promptTokens = usage != null && usage.getPromptTokens() != null ? usage.getPromptTokens() : 0;
+        long completionTokens = usage != null && usage.getCompletionTokens() != null ? usage.getCompletionTokens() : 0;
+        boolean estimated = promptTokens == 0 && completionTokens == 0;
+        if (estimated) {
+            // Rough rule of thumb for English-like text when the provider reports no usage
+            promptTokens = exchange.promptChars() / 4;
+            completionTokens = exchange.response().length() / 4;
         }
+        long responseBytes = utf8Length(exchange.response());
+        TokenUsageCollector.report(exchange.model(), promptTokens, completionTokens, exchange.latencyNanos(),
+                exchange.requestBytes(), responseBytes);
+        commitCallEvent(exchange.event(), exchange.model(), cues, exchange.requestBytes(), responseBytes,
+                promptTokens, completionTokens, parseFailed);
+        long latencyMs = exchange.latencyNanos() / 1_000_000;
+        codecStatistics.record(codec.name(), cues, promptTokens, completionTokens, estimated, latencyMs, parseFailed);
+        metrics.recordModelCall(name(), exchange.model(), cues, exchange.promptChars(), promptTokens, completionTokens,
+                exchange.latencyNanos(), parseFailed);
+        log.debug("Batch of {} cues via {} codec on {}: {} prompt + {} completion tokens{}, {} ms",
+                cues, codec.name(), exchange.model(), promptTokens, completionTokens, estimated ? " (estimated)" : "", latencyMs);
     }
 
-    private static String buildPayload(List<SrtEntry> batch) {
-        if (batch == null || batch.isEmpty()) {
-            return "";
+    private void commitCallEvent(TranslationModelCallEvent event, String model, int cues, long bytesIn, long bytesOut,
+                                 long promptTokens, long completionTokens, boolean failed) {
+        if (!event.shouldCommit()) {
+            return;
         }
-        StringBuilder sb = new StringBuilder(batch.size() * 128);
-        boolean first = true;
-        for (SrtEntry e : batch) {
-            if (!first) {
-                sb.append('\n');
+        event.provider = name();
+        event.model = model;
+        event.cues = cues;
+        event.bytesIn = bytesIn;
+        event.bytesOut = bytesOut;
+        event.promptTokens = promptTokens;
+        event.completionTokens = completionTokens;
+        event.failed = failed;
+        event.commit();
+    }
+
+    // Encoded size without encoding the string
+    static long utf8Length(CharSequence text) {
+        long bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
             }
-            first = false;
-            sb.append("<<<ENTRY ").append(e.index()).append(">>>\n")
-                    .append(e.originalText())
-                    .append("\n<<<END>>>");
         }
-        return sb.toString();
+        return bytes;
     }
 
-    private Map<Integer, List<String>> parseTranslatedPayload(String response) {
-        // Very simple parser; for production, harden this.
-        Map<Integer, List<String>> out = new LinkedHashMap<>();
-        String[] parts = response.split("<<<ENTRY ");
-        for (String part : parts) {
-            if (part.isBlank()) {
-                continue;
-            }
-            int close = part.indexOf(">>>");
-            int idx = Integer.parseInt(part.substring(0, close).trim());
-            String rest = part.substring(close + 3);
-            int end = rest.indexOf("<<<END>>>");
-            String translated = (end >= 0 ? rest.substring(0, end) : rest).trim();
-
-            List<String> lines = Arrays.asList(translated.split("\\R", -1));
-            out.put(idx, lines);
+    private String readSystemPromptTemplate() {
+        try (InputStream in = systemMessageResource.getInputStream()) {
+            String template = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return Objects.requireNonNull(template, "System prompt template is null");
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Failed to read system prompt template", ioe);
         }
-        return out;
+    }
+
+    private record Exchange(ChatResponse chatResponse, String model, String response, int promptChars, long requestBytes,
+                            long latencyNanos, TranslationModelCallEvent event) {
     }
 }
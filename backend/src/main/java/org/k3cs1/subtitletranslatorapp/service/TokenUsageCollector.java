@@ -0,0 +1,125 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import org.k3cs1.subtitletranslatorapp.model.BatchTokenUsage;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tokens spent by the model calls made on behalf of one caller, per model.
+ * A provider reports each call into the collector bound to the calling thread, so the job service can attribute
+ * a batch's usage without widening the {@link SrtTranslatorService} contract.
+ */
+final class TokenUsageCollector {
+
+    private static final ThreadLocal<TokenUsageCollector> CURRENT = new ThreadLocal<>();
+
+    // Model -> usage; coalesced calls report from the dispatcher's thread while the caller waits
+    private final Map<String, ModelUsage> byModel = new HashMap<>();
+
+    /**
+     * Runs {@code call} with this collector bound to the current thread.
+     */
+    <T> T collect(Call<T> call) throws IOException {
+        TokenUsageCollector previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return call.call();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * The collector bound to the current thread, or {@code null} outside of {@link #collect}.
+     */
+    static TokenUsageCollector current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Called by providers after each model call; a no-op when nobody is collecting.
+     */
+    static void report(String model, long promptTokens, long completionTokens, long durationNanos,
+                       long requestBytes, long responseBytes) {
+        TokenUsageCollector collector = CURRENT.get();
+        if (collector != null) {
+            collector.add(model, new ModelUsage(promptTokens, completionTokens, durationNanos, requestBytes, responseBytes, 1));
+        }
+    }
+
+    /**
+     * Adds the {@code cues / totalCues} share of {@code shared}, e.g. one job's part of a coalesced call.
+     */
+    void addShare(TokenUsageCollector shared, int cues, int totalCues) {
+        if (totalCues <= 0) {
+            return;
+        }
+        double share = (double) cues / totalCues;
+        // Every caller took part in each call, so calls are not shared out
+        shared.snapshot().forEach((model, usage) -> add(model, new ModelUsage(
+                Math.round(usage.promptTokens() * share),
+                Math.round(usage.completionTokens() * share),
+                Math.round(usage.durationNanos() * share),
+                Math.round(usage.requestBytes() * share),
+                Math.round(usage.responseBytes() * share),
+                usage.calls())));
+    }
+
+    synchronized Map<String, ModelUsage> snapshot() {
+        return Map.copyOf(byModel);
+    }
+
+    /**
+     * Tokens per model in the form a queued batch's outcome carries them back to the job's node.
+     */
+    synchronized Map<String, BatchTokenUsage> toBatchUsage() {
+        Map<String, BatchTokenUsage> out = new HashMap<>();
+        byModel.forEach((model, usage) -> out.put(model, new BatchTokenUsage(
+                usage.promptTokens(), usage.completionTokens(), usage.durationNanos(), usage.calls())));
+        return out;
+    }
+
+    /**
+     * Collector holding the usage another node reported for a queued batch; byte counts are not carried over.
+     */
+    static TokenUsageCollector fromBatchUsage(Map<String, BatchTokenUsage> reported) {
+        TokenUsageCollector collector = new TokenUsageCollector();
+        if (reported != null) {
+            reported.forEach((model, usage) -> collector.add(model, new ModelUsage(
+                    usage.promptTokens(), usage.completionTokens(), usage.modelNanos(), 0, 0, usage.calls())));
+        }
+        return collector;
+    }
+
+    private synchronized void add(String model, ModelUsage usage) {
+        byModel.merge(model, usage, ModelUsage::plus);
+    }
+
+    /**
+     * Model calls made for a batch; byte counts are UTF-8 sizes of the prompts and replies.
+     */
+    synchronized ModelUsage total() {
+        return byModel.values().stream().reduce(new ModelUsage(0, 0, 0, 0, 0, 0), ModelUsage::plus);
+    }
+
+    record ModelUsage(long promptTokens, long completionTokens, long durationNanos,
+                      long requestBytes, long responseBytes, int calls) {
+
+        ModelUsage plus(ModelUsage other) {
+            return new ModelUsage(promptTokens + other.promptTokens, completionTokens + other.completionTokens,
+                    durationNanos + other.durationNanos, requestBytes + other.requestBytes,
+                    responseBytes + other.responseBytes, calls + other.calls);
+        }
+    }
+
+    @FunctionalInterface
+    interface Call<T> {
+        T call() throws IOException;
+    }
+}
@@ -0,0 +1,60 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder event for one batch of a job: the limiter wait before it and the provider call itself.
+ * The event's own duration is the call; the wait precedes it.
+ */
+@Name("org.k3cs1.subtitletranslator.TranslationBatch")
+@Label("Translation Batch")
+@Category("Subtitle Translator")
+@Description("A batch of cues sent to a translation provider")
+@StackTrace(false)
+public class TranslationBatchEvent extends Event {
+
+    @Label("Job ID")
+    String jobId;
+
+    @Label("Batch Index")
+    int batchIndex;
+
+    @Label("Target Language")
+    String targetLanguage;
+
+    @Label("Cues")
+    int cues;
+
+    @Label("Queue Wait")
+    @Description("Time spent waiting for a max-parallel permit; 0 for batches claimed from the distributed queue")
+    @Timespan(Timespan.NANOSECONDS)
+    long queueWait;
+
+    @Label("Call Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long callDuration;
+
+    @Label("Bytes In")
+    @Description("UTF-8 size of the prompts sent to models")
+    @DataAmount(DataAmount.BYTES)
+    long bytesIn;
+
+    @Label("Bytes Out")
+    @Description("UTF-8 size of the model replies")
+    @DataAmount(DataAmount.BYTES)
+    long bytesOut;
+
+    @Label("Retries")
+    @Description("Model calls beyond the first, e.g. escalation from the fast tier")
+    int retries;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,71 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import lombok.RequiredArgsConstructor;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs one batch against the provider and does the bookkeeping every batch needs wherever it runs: the batch
+ * latency behind {@link TranslationCapacity}'s drain estimate and the {@link TranslationBatchEvent}. Local jobs
+ * and {@link DistributedBatchWorker} both translate through here; charging the tokens to the job is the caller's.
+ */
+@Service
+@RequiredArgsConstructor
+public class TranslationBatchRunner {
+
+    private final SrtTranslatorService translator;
+    private final CoalescingBatchDispatcher coalescingDispatcher;
+    private final TranslationCapacity capacity;
+
+    /**
+     * Translates the batch, reporting the model calls it made into {@code usage}. Small batches may share one
+     * LLM call with other jobs' batches.
+     *
+     * @param queueWaitNanos how long the batch waited for a permit or a worker before it started
+     */
+    Map<Integer, List<String>> run(List<SrtEntry> batch, String targetLanguage, String jobId, int batchIndex,
+                                   long queueWaitNanos, TokenUsageCollector usage) throws IOException {
+        TranslationBatchEvent event = new TranslationBatchEvent();
+        event.begin();
+        long started = System.nanoTime();
+        Map<Integer, List<String>> batchResult;
+        try {
+            batchResult = usage.collect(() -> coalescingDispatcher.isEligible(batch)
+                    ? coalescingDispatcher.submit(batch, targetLanguage).join()
+                    : translator.translateBatch(batch, targetLanguage));
+        } catch (IOException | RuntimeException e) {
+            capacity.recordBatchLatency(System.nanoTime() - started);
+            commitBatchEvent(event, jobId, batchIndex, batch, targetLanguage, queueWaitNanos,
+                    System.nanoTime() - started, usage, true);
+            throw e;
+        }
+        capacity.recordBatchLatency(System.nanoTime() - started);
+        commitBatchEvent(event, jobId, batchIndex, batch, targetLanguage, queueWaitNanos,
+                System.nanoTime() - started, usage, false);
+        return batchResult;
+    }
+
+    private static void commitBatchEvent(TranslationBatchEvent event, String jobId, int batchIndex, List<SrtEntry> batch,
+                                         String targetLanguage, long queueWaitNanos, long callNanos,
+                                         TokenUsageCollector batchUsage, boolean failed) {
+        if (!event.shouldCommit()) {
+            return;
+        }
+        TokenUsageCollector.ModelUsage calls = batchUsage.total();
+        event.jobId = jobId;
+        event.batchIndex = batchIndex;
+        event.targetLanguage = targetLanguage;
+        event.cues = batch.size();
+        event.queueWait = queueWaitNanos;
+        event.callDuration = callNanos;
+        event.bytesIn = calls.requestBytes();
+        event.bytesOut = calls.responseBytes();
+        event.retries = Math.max(0, calls.calls() - 1);
+        event.failed = failed;
+        event.commit();
+    }
+}
@@ -0,0 +1,127 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import org.k3cs1.subtitletranslatorapp.dto.TranslationCapacityResponse;
+import org.k3cs1.subtitletranslatorapp.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Load of this instance in terms of the work that limits it: batches waiting for a limiter permit, batches in
+ * flight at a provider, and how long both would take to drain at the recent batch latency. CPU says little
+ * about an instance that mostly waits for the LLM, so this is the signal to scale and route on.
+ */
+@Service
+public class TranslationCapacity {
+
+    // Weight of the newest batch in the smoothed batch latency
+    private static final double SMOOTHING = 0.2;
+
+    private final JobRepository jobRepository;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // Limiters of jobs with queued or in-flight batches, with the count of those batches
+    private final Map<TunableLimiter, Integer> outstandingByLimiter = new ConcurrentHashMap<>();
+    private double batchNanos = Double.NaN;
+    // Batches waiting in the shared queue in distributed mode. They belong to the cluster, not to this node, so
+    // every node counts all of them: any node with a free claim loop could be the one to drain them.
+    private volatile IntSupplier sharedBacklog = () -> 0;
+
+    @Value("${translation.capacity.saturated-drain-seconds:120}")
+    private double saturatedDrainSeconds = 120;
+
+    public TranslationCapacity(JobRepository jobRepository, TranslationMetrics metrics) {
+        this.jobRepository = jobRepository;
+        metrics.bindCapacity(this);
+    }
+
+    void batchesQueued(TunableLimiter limiter, int batches) {
+        if (batches <= 0) {
+            return;
+        }
+        queued.addAndGet(batches);
+        outstandingByLimiter.merge(limiter, batches, Integer::sum);
+    }
+
+    // Queued batches that will never start, e.g. because an earlier batch of the job failed
+    void batchesDropped(TunableLimiter limiter, int batches) {
+        if (batches <= 0) {
+            return;
+        }
+        queued.addAndGet(-batches);
+        settle(limiter, batches);
+    }
+
+    void batchStarted() {
+        queued.decrementAndGet();
+        inFlight.incrementAndGet();
+    }
+
+    void batchFinished(TunableLimiter limiter) {
+        inFlight.decrementAndGet();
+        settle(limiter, 1);
+    }
+
+    void bindSharedBacklog(IntSupplier backlog) {
+        this.sharedBacklog = backlog;
+    }
+
+    // Failed batches count too: they held a permit just as long
+    synchronized void recordBatchLatency(long nanos) {
+        batchNanos = Double.isNaN(batchNanos) ? nanos : SMOOTHING * nanos + (1 - SMOOTHING) * batchNanos;
+    }
+
+    public int queuedBatches() {
+        return Math.max(0, queued.get()) + Math.max(0, sharedBacklog.getAsInt());
+    }
+
+    public int inFlightBatches() {
+        return Math.max(0, inFlight.get());
+    }
+
+    public int limiterPermits() {
+        return outstandingByLimiter.keySet().stream().mapToInt(TunableLimiter::limit).sum();
+    }
+
+    public double limiterUtilization() {
+        int permits = limiterPermits();
+        return permits == 0 ? 0 : Math.min(1.0, (double) inFlightBatches() / permits);
+    }
+
+    /**
+     * Seconds until the queued and in-flight batches are done if every permit keeps working at the recent batch
+     * latency; 0 when idle, NaN while no batch has finished yet.
+     */
+    public double estimatedDrainSeconds() {
+        int outstanding = queuedBatches() + inFlightBatches();
+        if (outstanding == 0) {
+            return 0;
+        }
+        return averageBatchSeconds() * outstanding / Math.max(1, limiterPermits());
+    }
+
+    public boolean saturated() {
+        return estimatedDrainSeconds() > saturatedDrainSeconds;
+    }
+
+    public TranslationCapacityResponse snapshot() {
+        double average = averageBatchSeconds();
+        double drain = estimatedDrainSeconds();
+        return new TranslationCapacityResponse(queuedBatches(), inFlightBatches(), limiterPermits(),
+                limiterUtilization(), Double.isNaN(average) ? null : average, Double.isNaN(drain) ? null : drain,
+                drain > saturatedDrainSeconds, jobRepository.countByStatus());
+    }
+
+    private synchronized double averageBatchSeconds() {
+        return batchNanos / 1_000_000_000.0;
+    }
+
+    private void settle(TunableLimiter limiter, int batches) {
+        outstandingByLimiter.computeIfPresent(limiter, (l, outstanding) -> outstanding > batches ? outstanding - batches : null);
+    }
+}
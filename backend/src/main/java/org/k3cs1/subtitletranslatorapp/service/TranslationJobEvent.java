@@ -0,0 +1,35 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event spanning one job, from submission until its final status is stored.
+ */
+@Name("org.k3cs1.subtitletranslator.TranslationJob")
+@Label("Translation Job")
+@Category("Subtitle Translator")
+@Description("A translation job from submission to its final status")
+@StackTrace(false)
+public class TranslationJobEvent extends Event {
+
+    @Label("Job ID")
+    String jobId;
+
+    @Label("Kind")
+    @Description("single, multi-language, large-file or season-pack")
+    String kind;
+
+    @Label("Target Language")
+    String targetLanguage;
+
+    @Label("Cues")
+    int cues;
+
+    @Label("Status")
+    String status;
+}
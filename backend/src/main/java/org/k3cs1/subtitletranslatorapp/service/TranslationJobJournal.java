@@ -0,0 +1,178 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.k3cs1.subtitletranslatorapp.model.RecoveredTranslationJob;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local append-only journal that lets unfinished jobs survive a JVM restart.
+ * Each job gets its own JSON-lines file: one CREATED record with the parsed input,
+ * followed by one BATCH record per completed batch. The file is deleted once the job finishes.
+ * Multi-language, season-pack and large-file jobs only record that they started: their input is not kept,
+ * so after a restart they are reported as failed instead of resumed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TranslationJobJournal {
+
+    private static final String CREATED = "CREATED";
+    private static final String BATCH = "BATCH";
+    private static final String FILE_SUFFIX = ".jsonl";
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${translation.journal.enabled:true}")
+    private boolean enabled;
+
+    @Value("${translation.journal.dir:${java.io.tmpdir}/subtitle-translator-journal}")
+    private Path journalDir;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(journalDir);
+        } catch (IOException ioe) {
+            // Don’t crash the whole app on startup; jobs simply won't be resumable.
+            log.warn("Job journal directory {} is not usable, disabling journal: {}", journalDir, ioe.getMessage());
+            enabled = false;
+        }
+    }
+
+    public void jobCreated(String jobId, String inputFileName, String targetLanguage, List<SrtEntry> entries) {
+        append(jobId, new JournalRecord(CREATED, null, inputFileName, targetLanguage, entries, null));
+    }
+
+    // Jobs that cannot be resumed: only their kind and input name are kept
+    public void jobStarted(String jobId, String jobKind, String inputFileName) {
+        append(jobId, new JournalRecord(CREATED, jobKind, inputFileName, null, null, null));
+    }
+
+    public void batchCompleted(String jobId, Map<Integer, List<String>> translations) {
+        append(jobId, new JournalRecord(BATCH, null, null, null, null, translations));
+    }
+
+    public void jobFinished(String jobId) {
+        if (!enabled || jobId == null || jobId.isBlank()) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(journalFile(jobId));
+        } catch (IOException ioe) {
+            log.warn("Failed to delete journal of job {}: {}", jobId, ioe.getMessage());
+        }
+    }
+
+    /**
+     * Replays every journal file left behind by a previous run.
+     * A torn trailing line (crash mid-write) is ignored; the batch it described is simply translated again.
+     */
+    public List<RecoveredTranslationJob> recoverUnfinished() {
+        if (!enabled) {
+            return List.of();
+        }
+        List<RecoveredTranslationJob> recovered = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(journalDir, "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                RecoveredTranslationJob job = replay(file);
+                if (job != null) {
+                    recovered.add(job);
+                }
+            }
+        } catch (IOException ioe) {
+            log.warn("Failed to scan job journal directory {}: {}", journalDir, ioe.getMessage());
+        }
+        return recovered;
+    }
+
+    private RecoveredTranslationJob replay(Path file) {
+        String name = file.getFileName().toString();
+        String jobId = name.substring(0, name.length() - FILE_SUFFIX.length());
+        try {
+            JournalRecord created = null;
+            Map<Integer, List<String>> completed = new HashMap<>();
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JournalRecord record;
+                try {
+                    record = objectMapper.readValue(line, JournalRecord.class);
+                } catch (IOException torn) {
+                    log.warn("Ignoring unreadable journal line of job {}", jobId);
+                    continue;
+                }
+                if (CREATED.equals(record.type())) {
+                    created = record;
+                } else if (BATCH.equals(record.type()) && record.translations() != null) {
+                    completed.putAll(record.translations());
+                }
+            }
+            if (created == null || (created.jobKind() == null && created.entries() == null)) {
+                log.warn("Discarding journal of job {} without a CREATED record", jobId);
+                Files.deleteIfExists(file);
+                return null;
+            }
+            String jobKind = created.jobKind() != null ? created.jobKind() : RecoveredTranslationJob.SINGLE;
+            return new RecoveredTranslationJob(jobId, jobKind, created.inputFileName(), created.targetLanguage(),
+                    created.entries(), completed);
+        } catch (IOException ioe) {
+            log.warn("Failed to replay journal of job {}: {}", jobId, ioe.getMessage());
+            return null;
+        }
+    }
+
+    // Appends are rare (one per batch) so a single lock keeps concurrent batch records from interleaving.
+    private synchronized void append(String jobId, JournalRecord record) {
+        if (!enabled || jobId == null || jobId.isBlank()) {
+            return;
+        }
+        try {
+            byte[] line = (objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8);
+            Files.write(journalFile(jobId), line,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Failed to write job journal for " + jobId, ioe);
+        }
+    }
+
+    private Path journalFile(String jobId) {
+        // Job IDs are server-generated UUIDs; reject anything that could escape the journal directory.
+        if (!jobId.matches("[A-Za-z0-9-]+")) {
+            throw new IllegalArgumentException("Invalid job ID for journal: " + jobId);
+        }
+        return journalDir.resolve(jobId + FILE_SUFFIX);
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record JournalRecord(
+            String type,
+            String jobKind, // absent for single-language jobs
+            String inputFileName,
+            String targetLanguage,
+            List<SrtEntry> entries,
+            Map<Integer, List<String>> translations
+    ) {
+    }
+}
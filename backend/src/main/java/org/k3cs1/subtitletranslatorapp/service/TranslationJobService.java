@@ -1,10 +1,74 @@
 package org.k3cs1.subtitletranslatorapp.service;
 
+import org.k3cs1.subtitletranslatorapp.dto.MultiLanguageJobRequest;
+import org.k3cs1.subtitletranslatorapp.dto.SeasonPackJobRequest;
 import org.k3cs1.subtitletranslatorapp.dto.TranslationJobRequest;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationJobResponse;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Path;
 import java.util.concurrent.CompletableFuture;
 
 public interface TranslationJobService {
     CompletableFuture<Path> translateInBackground(TranslationJobRequest request);
+
+    /**
+     * Runs the job in the background and records its outcome (translated content or failure) in the job store.
+     * The input file is deleted once the job has finished.
+     */
+    CompletableFuture<Void> submit(TranslationJobRequest request, String inputFileName);
+
+    /**
+     * Whether {@link #streamCommittedOutput} can serve the job: a single-file job still running on this node,
+     * or a completed one with inline content.
+     */
+    boolean hasCommittedOutput(String jobId);
+
+    /**
+     * Writes the translated prefix of a running job's output to {@code out}: every cue whose earlier cues are all
+     * translated. The stream follows the prefix as it grows and ends when the job finishes.
+     * For a completed job, writes the whole output.
+     */
+    void streamCommittedOutput(String jobId, OutputStream out) throws IOException;
+
+    /**
+     * Translates one upload into several languages in a single job.
+     * The file is parsed and deduplicated once; all languages' batches share one concurrency limiter.
+     * The completed job holds a zip with one subtitle file per language.
+     */
+    CompletableFuture<Void> submitMultiLanguage(MultiLanguageJobRequest request, String inputFileName);
+
+    /**
+     * Translates a file too large to hold in memory as a windowed pipeline: a window of entries is read,
+     * translated, appended to {@code output} and discarded before the next window is read.
+     * The completed job carries no inline content; the output stays on disk for download.
+     */
+    CompletableFuture<Void> submitLargeFile(TranslationJobRequest request, String inputFileName, Path output);
+
+    /**
+     * Translates every subtitle file of a season pack as one job.
+     * Cues repeated across episodes are translated once and all files' batches share one concurrency limiter.
+     * Each output becomes available for streaming as soon as its file is fully translated;
+     * the completed job holds a zip of all outputs.
+     */
+    CompletableFuture<Void> submitSeasonPack(SeasonPackJobRequest request, String inputFileName);
+
+    /**
+     * Whether {@link #streamOutputArchive} can serve the job: a season pack still running on this node,
+     * or a completed job whose output is a zip.
+     */
+    boolean hasOutputArchive(String jobId);
+
+    /**
+     * Writes the job's outputs to {@code out} as a zip. For a season pack still running on this node,
+     * each file is written as soon as it is translated and the call returns once the job has finished.
+     */
+    void streamOutputArchive(String jobId, OutputStream out) throws IOException;
+
+    /**
+     * Returns one output file of a completed job (a single language out of a multi-language zip),
+     * or {@code null} if the job is not completed or has no such file.
+     */
+    TranslationJobResponse getOutputFile(String jobId, String fileName) throws IOException;
 }
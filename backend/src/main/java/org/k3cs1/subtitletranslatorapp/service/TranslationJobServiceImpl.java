@@ -1,45 +1,65 @@
 package org.k3cs1.subtitletranslatorapp.service;
 
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.k3cs1.subtitletranslatorapp.dto.MultiLanguageJobRequest;
+import org.k3cs1.subtitletranslatorapp.dto.SeasonPackJobRequest;
 import org.k3cs1.subtitletranslatorapp.dto.TranslationJobRequest;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationJobResponse;
 import org.k3cs1.subtitletranslatorapp.dto.TranslationJobStatusResponse;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationLanguageStatus;
 import org.k3cs1.subtitletranslatorapp.exception.TranslationFailedException;
+import org.k3cs1.subtitletranslatorapp.model.RecoveredTranslationJob;
 import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.k3cs1.subtitletranslatorapp.model.SubtitleFile;
 import org.k3cs1.subtitletranslatorapp.parser.SrtIOParser;
-import org.springframework.beans.factory.annotation.Value;
+import org.k3cs1.subtitletranslatorapp.repository.JobRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
-import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class TranslationJobServiceImpl implements TranslationJobService {
 
-    private final SrtTranslatorService translator;
     private final ExecutorService executor;
-    private final TranslationJobStore jobStore;
+    private final JobRepository jobRepository;
+    private final TranslationJobJournal journal;
+    private final TranslationMetrics metrics;
+    private final TranslationTracing tracing;
 
-    @Value("${translation.batch-size}")
-    private int batchSize;
+    // Every kind of job runs its batches through the scheduler, which also keeps the jobs' token usage
+    private final JobBatchScheduler batchScheduler;
+    private final SingleLanguageJobRunner singleLanguageJobs;
+    private final MultiLanguageJobRunner multiLanguageJobs;
+    private final SeasonPackJobRunner seasonPackJobs;
 
-    /**
-     * Safety cap to avoid creating oversized prompts for the LLM.
-     * This is an approximate character budget of the user payload (markers + entry text).
-     */
-    @Value("${translation.max-batch-chars:12000}")
-    private int maxBatchChars;
-
-    // Max parallel in-flight translation calls
-    @Value("${translation.max-parallel}")
-    private int maxParallel;
+    // Season packs running on this node, so their outputs can be streamed before the whole pack is done
+    private final Map<String, SeasonPackOutputs> runningSeasonPacks = new ConcurrentHashMap<>();
 
     @Override
     public CompletableFuture<Path> translateInBackground(TranslationJobRequest request) {
@@ -47,12 +67,20 @@ public class TranslationJobServiceImpl implements TranslationJobService {
             try {
                 log.debug("Request input path: {}", request.inputPath());
                 Path input = request.inputPath();
-                List<SrtEntry> entries = SrtIOParser.parse(input);
-
-                List<SrtEntry> translated = translateAll(entries, request.targetLanguage(), request.jobId());
+                List<SrtEntry> entries = parse(() -> SrtIOParser.parse(input));
+                if (!request.isResumed()) {
+                    journal.jobCreated(request.jobId(), inputFileName(request.jobId()), request.targetLanguage(), entries);
+                    if (request.completedTranslations() != null && !request.completedTranslations().isEmpty()) {
+                        // Reused translations count as done if the job has to be resumed
+                        journal.batchCompleted(request.jobId(), request.completedTranslations());
+                    }
+                }
 
                 Path output = outputPath(request.inputPath(), request.targetLanguage());
-                SrtIOParser.write(output, translated);
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output))) {
+                    singleLanguageJobs.translate(entries, request.targetLanguage(), request.jobId(),
+                            request.completedTranslations(), output, out);
+                }
                 return output;
             } catch (Exception e) {
                 log.error(e.getMessage());
@@ -61,132 +89,474 @@ public class TranslationJobServiceImpl implements TranslationJobService {
         }, executor);
     }
 
-    private List<SrtEntry> translateAll(List<SrtEntry> entries, String targetLanguage, String jobId) {
-
-        // Thread-safe result map
-        final Map<Integer, List<String>> translatedTextByIndex = new ConcurrentHashMap<>();
-
-        // For progress reporting
-        final var done = new AtomicInteger(0);
-        final int totalEntries = entries.size();
-
-        // Concurrency limiter (even with virtual threads)
-        final var semaphore = new Semaphore(this.maxParallel);
-
-        // Build batches using an entry-count limit + a payload-size safety cap
-        final List<List<SrtEntry>> batches = buildBatches(entries, this.batchSize, this.maxBatchChars);
+    @Override
+    public CompletableFuture<Void> submit(TranslationJobRequest request, String inputFileName) {
+        metrics.jobStarted();
+        String jobId = request.jobId();
+        Path inputFile = request.inputPath();
+        Span jobSpan = startJobSpan("single", jobId, request.targetLanguage());
+        TranslationJobEvent jobEvent = startJobEvent("single", jobId, request.targetLanguage());
+        CompletableFuture<Path> translation;
+        try (Scope scope = jobSpan.makeCurrent()) {
+            translation = translateInBackground(request);
+        }
+        // One stage for both outcomes, so the job span and event see a failure of either the translation or
+        // the post-processing
+        return translation.handle((output, translationFailure) -> {
+            Throwable failure = translationFailure;
+            try {
+                if (failure == null) {
+                    try {
+                        // Get current status to preserve progress information
+                        TranslationJobStatusResponse currentStatus = jobRepository.get(jobId);
+                        Integer totalEntriesForCompletion = currentStatus != null ? currentStatus.totalEntries() : null;
+
+                        // Update status to processing (already processing, but update for consistency)
+                        // Preserve progress if available
+                        if (currentStatus != null && currentStatus.translatedEntries() != null && currentStatus.totalEntries() != null) {
+                            jobRepository.store(jobId, TranslationJobStatusResponse.processing(
+                                    jobId, inputFileName, currentStatus.translatedEntries(), currentStatus.totalEntries()));
+                        } else {
+                            jobRepository.store(jobId, TranslationJobStatusResponse.processing(jobId, inputFileName));
+                        }
 
-        List<CompletableFuture<Void>> futures = new ArrayList<>(batches.size());
+                        String contentBase64 = tracing.inSpan("translation.reassemble", Attributes.empty(),
+                                span -> Base64.getEncoder().encodeToString(Files.readAllBytes(output)));
+                        String outputFileName = OutputFileNames.forLanguage(inputFileName, request.targetLanguage());
+
+                        // Store completed status with total entries for consistency
+                        jobRepository.store(jobId, TranslationJobStatusResponse.completed(
+                                        jobId, inputFileName, outputFileName, contentBase64, totalEntriesForCompletion)
+                                .withSkippedEntries(currentStatus != null ? currentStatus.skippedEntries() : null)
+                                .withTokenUsage(batchScheduler.tokenUsage(jobId)));
+                        journal.jobFinished(jobId);
+
+                        // Cleanup files
+                        Files.deleteIfExists(output);
+                        Files.deleteIfExists(inputFile);
+                    } catch (Exception e) {
+                        failure = e;
+                        jobRepository.store(jobId, TranslationJobStatusResponse.failed(
+                                jobId, inputFileName, "Failed to process translation: " + e.getMessage())
+                                .withTokenUsage(batchScheduler.tokenUsage(jobId)));
+                        journal.jobFinished(jobId);
+                        // Cleanup on error
+                        try {
+                            Files.deleteIfExists(inputFile);
+                        } catch (Exception ignored) {
+                        }
+                    }
+                } else {
+                    jobRepository.store(jobId, TranslationJobStatusResponse.failed(
+                            jobId, inputFileName, "Translation failed: " + failure.getMessage())
+                            .withTokenUsage(batchScheduler.tokenUsage(jobId)));
+                    journal.jobFinished(jobId);
+                    // Cleanup on error
+                    try {
+                        Files.deleteIfExists(inputFile);
+                    } catch (Exception ignored) {
+                    }
+                }
+            } finally {
+                tracing.end(jobSpan, failure);
+                commitJobEvent(jobEvent, jobId, failure);
+                metrics.jobFinished();
+                batchScheduler.finishTokenUsage(jobId);
+                singleLanguageJobs.forget(jobId);
+            }
+            return null;
+        });
+    }
 
-        for (List<SrtEntry> batch : batches) {
-            futures.add(CompletableFuture.runAsync(() -> {
-                boolean acquired = false;
-                try {
-                    semaphore.acquire();
-                    acquired = true;
+    @Override
+    public boolean hasCommittedOutput(String jobId) {
+        return singleLanguageJobs.running(jobId) != null || isCompletedSubtitle(jobRepository.get(jobId));
+    }
 
-                    Map<Integer, List<String>> batchResult = translator.translateBatch(batch, targetLanguage);
-                    translatedTextByIndex.putAll(batchResult);
+    @Override
+    public void streamCommittedOutput(String jobId, OutputStream out) throws IOException {
+        SingleLanguageJobRunner.RunningOutput running = singleLanguageJobs.running(jobId);
+        if (running != null) {
+            try (InputStream in = Files.newInputStream(running.file())) {
+                byte[] buffer = new byte[8192];
+                long position = 0;
+                long committed;
+                while ((committed = running.cursor().awaitCommittedBytes(position)) > position) {
+                    long remaining = committed - position;
+                    while (remaining > 0) {
+                        int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                        if (read < 0) {
+                            throw new IOException("Output of job " + jobId + " ended before its committed length.");
+                        }
+                        out.write(buffer, 0, read);
+                        remaining -= read;
+                    }
+                    position = committed;
+                    out.flush();
+                }
+                return;
+            } catch (NoSuchFileException finished) {
+                // The job completed and removed its working file in the meantime; serve the stored result
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while streaming output of job " + jobId, ie);
+            }
+        }
+        TranslationJobStatusResponse status = jobRepository.get(jobId);
+        if (!isCompletedSubtitle(status)) {
+            throw new IOException("Job " + jobId + " has no output to stream.");
+        }
+        out.write(Base64.getDecoder().decode(status.contentBase64()));
+        out.flush();
+    }
 
-                    int finished = done.addAndGet(batch.size());
-                    log.info("Translated {}/{} entries", finished, entries.size());
+    @Override
+    public CompletableFuture<Void> submitMultiLanguage(MultiLanguageJobRequest request, String inputFileName) {
+        metrics.jobStarted();
+        String jobId = request.jobId();
+        Path inputFile = request.inputPath();
+        List<String> languages = request.targetLanguages();
+        Span jobSpan = startJobSpan("multi-language", jobId, String.join(",", languages));
+        TranslationJobEvent jobEvent = startJobEvent("multi-language", jobId, String.join(",", languages));
+        return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        journal.jobStarted(jobId, "multi-language", inputFileName);
+                        List<SrtEntry> entries = parse(() -> SrtIOParser.parse(inputFile));
+                        Map<String, List<SrtEntry>> translatedByLanguage =
+                                multiLanguageJobs.translate(entries, languages, jobId, inputFileName);
+                        return tracing.inSpan("translation.reassemble", Attributes.empty(),
+                                span -> zipOutputs(translatedByLanguage, inputFileName));
+                    } catch (IOException e) {
+                        log.error(e.getMessage());
+                        throw new TranslationFailedException("Translation failed: " + e.getMessage());
+                    }
+                }, inSpan(jobSpan))
+                .thenAccept(zip -> {
+                    TranslationJobStatusResponse currentStatus = jobRepository.get(jobId);
+                    Integer totalEntries = currentStatus != null ? currentStatus.totalEntries() : null;
+                    List<TranslationLanguageStatus> completedLanguages = languages.stream()
+                            .map(language -> new TranslationLanguageStatus(language, "COMPLETED", null, null,
+                                    OutputFileNames.forLanguage(inputFileName, language)))
+                            .toList();
+                    jobRepository.store(jobId, TranslationJobStatusResponse.completed(
+                                    jobId, inputFileName, OutputFileNames.multiLanguageZip(inputFileName),
+                                    Base64.getEncoder().encodeToString(zip), totalEntries)
+                            .withLanguages(completedLanguages)
+                            .withTokenUsage(batchScheduler.tokenUsage(jobId)));
+                })
+                .handle((result, ex) -> {
+                    try {
+                        if (ex != null) {
+                            jobRepository.store(jobId, TranslationJobStatusResponse.failed(
+                                    jobId, inputFileName, "Translation failed: " + ex.getMessage())
+                                    .withTokenUsage(batchScheduler.tokenUsage(jobId)));
+                        }
+                    } finally {
+                        tracing.end(jobSpan, ex);
+                        commitJobEvent(jobEvent, jobId, ex);
+                        metrics.jobFinished();
+                        batchScheduler.finishTokenUsage(jobId);
+                        journal.jobFinished(jobId);
+                        try {
+                            Files.deleteIfExists(inputFile);
+                        } catch (Exception cleanupFailure) {
+                            log.warn("Failed to delete input file {}: {}", inputFile, cleanupFailure.getMessage());
+                        }
+                    }
+                    return null;
+                });
+    }
 
-                    // Update progress in job store if jobId is provided
-                    if (jobId != null && !jobId.isBlank() && jobStore != null) {
-                        TranslationJobStatusResponse currentStatus = jobStore.get(jobId);
-                        if (currentStatus != null) {
-                            String inputFileName = currentStatus.inputFileName();
-                            jobStore.store(jobId, TranslationJobStatusResponse.processing(
-                                    jobId, inputFileName, finished, totalEntries));
+    @Override
+    public CompletableFuture<Void> submitLargeFile(TranslationJobRequest request, String inputFileName, Path output) {
+        metrics.jobStarted();
+        String jobId = request.jobId();
+        Path inputFile = request.inputPath();
+        Span jobSpan = startJobSpan("large-file", jobId, request.targetLanguage());
+        TranslationJobEvent jobEvent = startJobEvent("large-file", jobId, request.targetLanguage());
+        return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        journal.jobStarted(jobId, "large-file", inputFileName);
+                        return singleLanguageJobs.translateWindowed(inputFile, output, request.targetLanguage(), jobId);
+                    } catch (IOException e) {
+                        log.error(e.getMessage());
+                        throw new TranslationFailedException("Translation failed: " + e.getMessage());
+                    }
+                }, inSpan(jobSpan))
+                .thenAccept(skipped -> {
+                    TranslationJobStatusResponse currentStatus = jobRepository.get(jobId);
+                    Integer totalEntries = currentStatus != null ? currentStatus.totalEntries() : null;
+                    jobRepository.store(jobId, TranslationJobStatusResponse.completed(jobId, inputFileName,
+                                    OutputFileNames.forLanguage(inputFileName, request.targetLanguage()), null, totalEntries)
+                            .withSkippedEntries(skipped)
+                            .withTokenUsage(batchScheduler.tokenUsage(jobId)));
+                })
+                .handle((result, ex) -> {
+                    try {
+                        if (ex != null) {
+                            jobRepository.store(jobId, TranslationJobStatusResponse.failed(
+                                    jobId, inputFileName, "Translation failed: " + ex.getMessage())
+                                    .withTokenUsage(batchScheduler.tokenUsage(jobId)));
+                            try {
+                                Files.deleteIfExists(output);
+                            } catch (Exception ignored) {
+                            }
+                        }
+                    } finally {
+                        tracing.end(jobSpan, ex);
+                        commitJobEvent(jobEvent, jobId, ex);
+                        metrics.jobFinished();
+                        batchScheduler.finishTokenUsage(jobId);
+                        journal.jobFinished(jobId);
+                        try {
+                            Files.deleteIfExists(inputFile);
+                        } catch (Exception cleanupFailure) {
+                            log.warn("Failed to delete input file {}: {}", inputFile, cleanupFailure.getMessage());
                         }
                     }
+                    return null;
+                });
+    }
 
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    log.error(ie.getMessage());
-                    throw new TranslationFailedException(ie.getMessage());
-                } catch (IOException ioe) {
-                    log.error(ioe.getMessage());
-                    throw new TranslationFailedException(ioe.getMessage());
-                } finally {
-                    if (acquired) {
-                        semaphore.release();
+    @Override
+    public CompletableFuture<Void> submitSeasonPack(SeasonPackJobRequest request, String inputFileName) {
+        metrics.jobStarted();
+        String jobId = request.jobId();
+        String language = request.targetLanguage();
+        SeasonPackOutputs outputs = new SeasonPackOutputs();
+        if (jobId != null && !jobId.isBlank()) {
+            runningSeasonPacks.put(jobId, outputs);
+        }
+        Span jobSpan = startJobSpan("season-pack", jobId, language);
+        TranslationJobEvent jobEvent = startJobEvent("season-pack", jobId, language);
+        return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        journal.jobStarted(jobId, "season-pack", inputFileName);
+                        List<SubtitleFile> translated =
+                                seasonPackJobs.translate(request.files(), request.entries(), language, jobId, outputs);
+                        return tracing.inSpan("translation.reassemble", Attributes.empty(), span -> zipFiles(translated));
+                    } catch (IOException e) {
+                        log.error(e.getMessage());
+                        throw new TranslationFailedException("Translation failed: " + e.getMessage());
+                    }
+                }, inSpan(jobSpan))
+                .thenAccept(zip -> {
+                    TranslationJobStatusResponse currentStatus = jobRepository.get(jobId);
+                    Integer totalEntries = currentStatus != null ? currentStatus.totalEntries() : null;
+                    jobRepository.store(jobId, TranslationJobStatusResponse.completed(
+                            jobId, inputFileName, OutputFileNames.seasonPackZip(inputFileName, language),
+                            Base64.getEncoder().encodeToString(zip), totalEntries)
+                            .withTokenUsage(batchScheduler.tokenUsage(jobId)));
+                    outputs.finish();
+                })
+                .handle((result, ex) -> {
+                    try {
+                        if (ex != null) {
+                            jobRepository.store(jobId, TranslationJobStatusResponse.failed(
+                                    jobId, inputFileName, "Translation failed: " + ex.getMessage())
+                                    .withTokenUsage(batchScheduler.tokenUsage(jobId)));
+                            outputs.fail("Translation failed: " + ex.getMessage());
+                        }
+                    } finally {
+                        tracing.end(jobSpan, ex);
+                        commitJobEvent(jobEvent, jobId, ex);
+                        metrics.jobFinished();
+                        batchScheduler.finishTokenUsage(jobId);
+                        journal.jobFinished(jobId);
+                        if (jobId != null) {
+                            runningSeasonPacks.remove(jobId, outputs);
+                        }
                     }
+                    return null;
+                });
+    }
+
+    @Override
+    public boolean hasOutputArchive(String jobId) {
+        return runningSeasonPacks.containsKey(jobId) || isCompletedArchive(jobRepository.get(jobId));
+    }
+
+    @Override
+    public void streamOutputArchive(String jobId, OutputStream out) throws IOException {
+        SeasonPackOutputs running = runningSeasonPacks.get(jobId);
+        if (running != null) {
+            try (ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8)) {
+                int position = 0;
+                SubtitleFile file;
+                while ((file = running.awaitFile(position++)) != null) {
+                    zip.putNextEntry(new ZipEntry(file.name()));
+                    zip.write(file.content());
+                    zip.closeEntry();
+                    // Push the finished entry to the client instead of waiting for the next file
+                    zip.flush();
                 }
-            }, executor));
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while streaming outputs of job " + jobId, ie);
+            }
+            return;
         }
-
-        // Wait for all batches to finish (propagate errors)
-        try {
-            CompletableFuture.allOf(
-                    futures.toArray(new CompletableFuture[0])
-            ).join();
-        } catch (CompletionException ce) {
-            // Unwrap to keep logs readable
-            Throwable root = ce.getCause() != null ? ce.getCause() : ce;
-            throw new TranslationFailedException("Parallel translation failed: " + root.getMessage());
+        TranslationJobStatusResponse status = jobRepository.get(jobId);
+        if (!isCompletedArchive(status)) {
+            throw new IOException("Job " + jobId + " has no output archive.");
         }
+        out.write(Base64.getDecoder().decode(status.contentBase64()));
+        out.flush();
+    }
 
-        // Reassemble in original order
-        List<SrtEntry> out = new ArrayList<>(entries.size());
-        for (SrtEntry e : entries) {
-            List<String> lines = translatedTextByIndex.getOrDefault(e.index(), e.lines());
-            out.add(new SrtEntry(e.index(), e.timeRange(), lines));
+    @Override
+    public TranslationJobResponse getOutputFile(String jobId, String fileName) throws IOException {
+        TranslationJobStatusResponse status = jobRepository.get(jobId);
+        if (status == null || !"COMPLETED".equals(status.status()) || fileName == null) {
+            return null;
         }
-        return out;
+        if (fileName.equals(status.outputFileName())) {
+            return new TranslationJobResponse(status.inputFileName(), fileName, status.contentBase64());
+        }
+        if (!status.outputFileName().toLowerCase().endsWith(".zip")) {
+            return null;
+        }
+        byte[] zip = Base64.getDecoder().decode(status.contentBase64());
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip), StandardCharsets.UTF_8)) {
+            ZipEntry zipEntry;
+            while ((zipEntry = in.getNextEntry()) != null) {
+                if (zipEntry.getName().equals(fileName)) {
+                    return new TranslationJobResponse(
+                            status.inputFileName(), fileName, Base64.getEncoder().encodeToString(in.readAllBytes()));
+                }
+            }
+        }
+        return null;
     }
 
-    private static List<List<SrtEntry>> buildBatches(List<SrtEntry> entries, int batchSize, int maxBatchChars) {
-        if (entries == null || entries.isEmpty()) {
-            return List.of();
+    /**
+     * Resumes jobs that were interrupted by a JVM restart.
+     * Only the batches that were not journaled as completed are sent to the translator again.
+     * Multi-language, season-pack and large-file jobs are marked failed instead.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        for (RecoveredTranslationJob job : journal.recoverUnfinished()) {
+            if (!job.isResumable()) {
+                log.warn("Job {} ({}) was interrupted by a restart and cannot be resumed", job.jobId(), job.jobKind());
+                jobRepository.store(job.jobId(), TranslationJobStatusResponse.failed(job.jobId(), job.inputFileName(),
+                        "Interrupted by a server restart; " + job.jobKind() + " jobs cannot be resumed, submit it again."));
+                journal.jobFinished(job.jobId());
+                continue;
+            }
+            try {
+                Path input = Files.createTempFile("subtitle-", ".srt");
+                SrtIOParser.write(input, job.entries());
+
+                jobRepository.store(job.jobId(), TranslationJobStatusResponse.processing(
+                        job.jobId(), job.inputFileName(), job.completedTranslations().size(), job.entries().size()));
+                log.info("Resuming job {} ({}/{} entries already translated)",
+                        job.jobId(), job.completedTranslations().size(), job.entries().size());
+
+                submit(new TranslationJobRequest(input, job.targetLanguage(), job.jobId(), job.completedTranslations()),
+                        job.inputFileName());
+            } catch (Exception e) {
+                log.error("Failed to resume job {}: {}", job.jobId(), e.getMessage());
+                journal.jobFinished(job.jobId());
+            }
         }
-        int safeBatchSize = Math.max(1, batchSize);
-        int safeMaxChars = Math.max(512, maxBatchChars);
+    }
 
-        final List<List<SrtEntry>> batches = new ArrayList<>();
-        List<SrtEntry> current = new ArrayList<>(Math.min(safeBatchSize, entries.size()));
-        int currentChars = 0;
+    private static byte[] zipFiles(List<SubtitleFile> files) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes, StandardCharsets.UTF_8)) {
+            for (SubtitleFile file : files) {
+                zip.putNextEntry(new ZipEntry(file.name()));
+                zip.write(file.content());
+                zip.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
 
-        for (SrtEntry e : entries) {
-            // Approximate per-entry payload length: markers + entry text + newlines
-            int entryChars = 40 + (e == null ? 0 : e.originalText().length());
+    private static boolean isCompletedSubtitle(TranslationJobStatusResponse status) {
+        return status != null && "COMPLETED".equals(status.status()) && status.contentBase64() != null
+                && status.outputFileName() != null && status.outputFileName().toLowerCase().endsWith(".srt");
+    }
 
-            boolean wouldExceedCount = current.size() >= safeBatchSize;
-            boolean wouldExceedChars = !current.isEmpty() && (currentChars + 1 + entryChars) > safeMaxChars;
+    private static boolean isCompletedArchive(TranslationJobStatusResponse status) {
+        return status != null && "COMPLETED".equals(status.status()) && status.outputFileName() != null
+                && status.outputFileName().toLowerCase().endsWith(".zip");
+    }
 
-            if (wouldExceedCount || wouldExceedChars) {
-                batches.add(current);
-                current = new ArrayList<>(Math.min(safeBatchSize, entries.size()));
-                currentChars = 0;
+    private byte[] zipOutputs(Map<String, List<SrtEntry>> translatedByLanguage, String inputFileName) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, List<SrtEntry>> language : translatedByLanguage.entrySet()) {
+                zip.putNextEntry(new ZipEntry(OutputFileNames.forLanguage(inputFileName, language.getKey())));
+                SrtIOParser.write(zip, language.getValue());
+                zip.closeEntry();
             }
-
-            current.add(e);
-            currentChars += entryChars + 1;
         }
+        return bytes.toByteArray();
+    }
 
-        if (!current.isEmpty()) {
-            batches.add(current);
+    private <E extends Exception> List<SrtEntry> parse(Stage<List<SrtEntry>, E> parser) throws E {
+        long started = System.nanoTime();
+        List<SrtEntry> entries = tracing.inSpan("translation.parse", Attributes.empty(), span -> {
+            List<SrtEntry> parsed = parser.run();
+            span.setAttribute(TranslationTracing.CUES, (long) parsed.size());
+            return parsed;
+        });
+        metrics.recordParse(System.nanoTime() - started);
+        return entries;
+    }
+
+    private Span startJobSpan(String kind, String jobId, String targetLanguages) {
+        return tracing.start("translation.job", Attributes.of(
+                TranslationTracing.JOB_ID, Objects.toString(jobId, ""),
+                TranslationTracing.JOB_KIND, kind,
+                TranslationTracing.TARGET_LANGUAGE, targetLanguages));
+    }
+
+    private static TranslationJobEvent startJobEvent(String kind, String jobId, String targetLanguages) {
+        TranslationJobEvent event = new TranslationJobEvent();
+        event.kind = kind;
+        event.jobId = jobId;
+        event.targetLanguage = targetLanguages;
+        event.begin();
+        return event;
+    }
+
+    private void commitJobEvent(TranslationJobEvent event, String jobId, Throwable failure) {
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
         }
+        TranslationJobStatusResponse status = jobRepository.get(jobId);
+        event.cues = status != null && status.totalEntries() != null ? status.totalEntries() : 0;
+        event.status = failure != null ? "FAILED" : status != null ? status.status() : null;
+        event.commit();
+    }
 
-        return batches;
+    // Runs tasks on the translation executor as children of {@code span}
+    private Executor inSpan(Span span) {
+        return Context.current().with(span).wrap(executor);
+    }
+
+    private String inputFileName(String jobId) {
+        if (jobId == null || jobId.isBlank()) {
+            return null;
+        }
+        TranslationJobStatusResponse status = jobRepository.get(jobId);
+        return status != null ? status.inputFileName() : null;
     }
 
     private Path outputPath(Path input, String targetLanguage) {
         Path normalizedInput = input.toAbsolutePath().normalize();
         String name = normalizedInput.getFileName().toString();
         log.debug("Input name: {}", name);
-        String base = name.toLowerCase().endsWith(".srt") ? name.substring(0, name.length() - 4) : name;
-        String suffix = targetLanguage == null ? "" : targetLanguage.toLowerCase();
-        suffix = suffix.replaceAll("[^a-z0-9]+", "-");
-        suffix = suffix.replaceAll("(^-+|-+$)", "");
-        if (suffix.isBlank()) {
-            suffix = "translated";
-        }
-        if (suffix.length() > 24) {
-            suffix = suffix.substring(0, 24);
-        }
-        String outName = base + "_" + suffix + ".srt";
         Path userHome = Path.of(System.getProperty("user.home"));
-        return userHome.resolve(outName);
+        return userHome.resolve(OutputFileNames.forLanguage(name, targetLanguage));
+    }
+
+    @FunctionalInterface
+    private interface Stage<T, E extends Exception> {
+        T run() throws E;
     }
 }
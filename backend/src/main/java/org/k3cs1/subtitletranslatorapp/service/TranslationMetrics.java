@@ -0,0 +1,217 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationTokenUsage;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micrometer instrumentation of the translation pipeline, exported at {@code /actuator/prometheus}.
+ * Latencies and sizes are published as histograms so percentiles can be aggregated across instances.
+ */
+@Service
+public class TranslationMetrics {
+
+    private final MeterRegistry registry;
+    private final AtomicInteger runningJobs = new AtomicInteger();
+
+    public TranslationMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("translation.jobs.running", runningJobs, AtomicInteger::get)
+                .description("Jobs currently translating on this instance")
+                .register(registry);
+    }
+
+    /**
+     * One request to a provider's model: latency, payload size and token usage.
+     */
+    public void recordModelCall(String provider, String model, int cues, int payloadChars,
+                                long promptTokens, long completionTokens, long durationNanos, boolean failed) {
+        Timer.builder("translation.model.call")
+                .description("Latency of one provider request")
+                .tags("provider", provider, "model", model, "outcome", failed ? "failure" : "success")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        summary("translation.model.payload", "chars", provider, model).record(payloadChars);
+        summary("translation.model.cues", "cues", provider, model).record(cues);
+        if (promptTokens > 0 || completionTokens > 0) {
+            summary("translation.model.tokens.prompt", "tokens", provider, model).record(promptTokens);
+            summary("translation.model.tokens.completion", "tokens", provider, model).record(completionTokens);
+        }
+    }
+
+    /**
+     * One batch routed to a provider, including everything the provider does for it (e.g. tier escalation).
+     */
+    public void recordProviderBatch(String provider, int cues, long durationNanos, boolean failed) {
+        Timer.builder("translation.batch")
+                .description("Latency of a batch at the routed provider")
+                .tags("provider", provider, "outcome", failed ? "failure" : "success")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        if (!failed) {
+            cues(provider).increment(cues);
+        }
+    }
+
+    public void recordSkippedCues(int cues) {
+        cues("none").increment(cues);
+    }
+
+    // Time a batch waited for a permit of the per-job parallelism limiter
+    public void recordLimiterWait(long durationNanos) {
+        Timer.builder("translation.limiter.wait")
+                .description("Time batches waited for a max-parallel permit")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordParse(long durationNanos) {
+        Timer.builder("translation.srt.parse")
+                .description("Time to parse an uploaded subtitle file")
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordWrite(long durationNanos) {
+        Timer.builder("translation.srt.write")
+                .description("Time to write translated cues to the output")
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Token usage of a finished job. Not tagged by target language: labels are free text.
+     */
+    public void recordJobTokenUsage(TranslationTokenUsage usage) {
+        if (usage.totalTokens() == 0) {
+            return;
+        }
+        jobSummary("translation.job.tokens", "tokens").tag("type", "prompt").register(registry)
+                .record(usage.promptTokens());
+        jobSummary("translation.job.tokens", "tokens").tag("type", "completion").register(registry)
+                .record(usage.completionTokens());
+        if (usage.tokensPerCue() != null) {
+            jobSummary("translation.job.tokens.per.cue", "tokens").register(registry).record(usage.tokensPerCue());
+        }
+        if (usage.tokensPerSecond() != null) {
+            jobSummary("translation.job.tokens.per.second", "tokens").register(registry).record(usage.tokensPerSecond());
+        }
+        if (usage.estimatedCostUsd() != null) {
+            Counter.builder("translation.job.cost")
+                    .description("Estimated model cost of finished jobs")
+                    .baseUnit("usd")
+                    .register(registry)
+                    .increment(usage.estimatedCostUsd());
+        }
+    }
+
+    public void jobStarted() {
+        runningJobs.incrementAndGet();
+    }
+
+    public void jobFinished() {
+        runningJobs.decrementAndGet();
+    }
+
+    /**
+     * Exposes a breaker's state (0 closed, 1 half-open, 2 open) and its transition counts.
+     */
+    void bindCircuitBreaker(ProviderCircuitBreaker breaker) {
+        Gauge.builder("translation.provider.circuit.state", breaker, b -> switch (b.state()) {
+                    case CLOSED -> 0;
+                    case HALF_OPEN -> 1;
+                    case OPEN -> 2;
+                })
+                .description("Circuit breaker state: 0 closed, 1 half-open, 2 open")
+                .tag("provider", breaker.provider())
+                .register(registry);
+        for (ProviderCircuitBreaker.State state : ProviderCircuitBreaker.State.values()) {
+            FunctionCounter.builder("translation.provider.circuit.transitions", breaker,
+                            b -> b.transitions().getOrDefault(state, 0L))
+                    .description("Times the circuit breaker entered a state")
+                    .tags("provider", breaker.provider(), "state", state.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Exposes the current tuning values, so a change shows up next to the throughput it affects.
+     */
+    void bindTuning(TranslationTuning tuning) {
+        Gauge.builder("translation.tuning", tuning, t -> t.current().batchSize())
+                .description("Current runtime tuning value")
+                .tag("setting", "batch-size")
+                .register(registry);
+        Gauge.builder("translation.tuning", tuning, t -> t.current().maxBatchChars())
+                .description("Current runtime tuning value")
+                .tag("setting", "max-batch-chars")
+                .register(registry);
+        Gauge.builder("translation.tuning", tuning, t -> t.current().maxParallel())
+                .description("Current runtime tuning value")
+                .tag("setting", "max-parallel")
+                .register(registry);
+    }
+
+    /**
+     * Exposes the capacity signals an autoscaler can track: backlog, in-flight calls, limiter use and drain time.
+     */
+    void bindCapacity(TranslationCapacity capacity) {
+        Gauge.builder("translation.batches.queued", capacity, TranslationCapacity::queuedBatches)
+                .description("Batches waiting for a max-parallel permit")
+                .register(registry);
+        Gauge.builder("translation.batches.in.flight", capacity, TranslationCapacity::inFlightBatches)
+                .description("Batches being translated by a provider")
+                .register(registry);
+        Gauge.builder("translation.limiter.utilization", capacity, TranslationCapacity::limiterUtilization)
+                .description("Share of the active jobs' max-parallel permits in use")
+                .register(registry);
+        Gauge.builder("translation.drain.time", capacity, TranslationCapacity::estimatedDrainSeconds)
+                .description("Estimated time to finish the queued and in-flight batches")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("translation.saturated", capacity, c -> c.saturated() ? 1 : 0)
+                .description("1 while the estimated drain time is above the saturation threshold")
+                .register(registry);
+    }
+
+    public void recordTuningChange(String setting) {
+        Counter.builder("translation.tuning.changes")
+                .description("Runtime changes of a tuning value")
+                .tag("setting", setting)
+                .register(registry)
+                .increment();
+    }
+
+    private Counter cues(String provider) {
+        return Counter.builder("translation.cues")
+                .description("Cues finished; provider none counts cues passed through untranslated")
+                .tag("provider", provider)
+                .register(registry);
+    }
+
+    private static DistributionSummary.Builder jobSummary(String name, String unit) {
+        return DistributionSummary.builder(name)
+                .baseUnit(unit)
+                .publishPercentileHistogram();
+    }
+
+    private DistributionSummary summary(String name, String unit, String provider, String model) {
+        return DistributionSummary.builder(name)
+                .baseUnit(unit)
+                .tags("provider", provider, "model", model)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,46 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for one request to a model; a batch may make several (tier escalation).
+ */
+@Name("org.k3cs1.subtitletranslator.TranslationModelCall")
+@Label("Translation Model Call")
+@Category("Subtitle Translator")
+@Description("One chat request to a translation model")
+@StackTrace(false)
+public class TranslationModelCallEvent extends Event {
+
+    @Label("Provider")
+    String provider;
+
+    @Label("Model")
+    String model;
+
+    @Label("Cues")
+    int cues;
+
+    @Label("Bytes In")
+    @DataAmount(DataAmount.BYTES)
+    long bytesIn;
+
+    @Label("Bytes Out")
+    @DataAmount(DataAmount.BYTES)
+    long bytesOut;
+
+    @Label("Prompt Tokens")
+    long promptTokens;
+
+    @Label("Completion Tokens")
+    long completionTokens;
+
+    @Label("Failed")
+    boolean failed;
+}
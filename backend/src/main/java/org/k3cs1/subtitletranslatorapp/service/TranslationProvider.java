@@ -0,0 +1,21 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+/**
+ * One translation backend the {@link TranslationProviderRouter} can send batches to.
+ */
+public interface TranslationProvider extends SrtTranslatorService {
+
+    /**
+     * Stable name used in configuration, logs and statistics (e.g. {@code openai}, {@code deepl}).
+     */
+    String name();
+
+    boolean supports(String targetLanguage);
+
+    /**
+     * Whether the provider is configured at all; unconfigured providers are never routed to.
+     */
+    default boolean isAvailable() {
+        return true;
+    }
+}
@@ -0,0 +1,221 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.k3cs1.subtitletranslatorapp.dto.ProviderStatsResponse;
+import org.k3cs1.subtitletranslatorapp.exception.InvalidArgumentException;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Picks a translation provider for every batch.
+ * With routing set to {@code auto} the provider is the available one supporting the target language
+ * with the best recent latency per cue, penalized by its recent error rate; providers without samples
+ * are tried first so every provider gets measured. Any other routing value pins the named provider.
+ * <p>
+ * Every provider sits behind a {@link ProviderCircuitBreaker}. A failed batch is retried on the next
+ * candidate, and providers whose breaker is open are skipped, so an outage at one vendor moves
+ * the traffic to the other instead of failing the job.
+ */
+@Service
+@Primary
+@RequiredArgsConstructor
+@Slf4j
+public class TranslationProviderRouter implements SrtTranslatorService {
+
+    static final String AUTO = "auto";
+
+    private final List<TranslationProvider> providers;
+    private final TranslationMetrics metrics;
+
+    @Value("${translation.providers.routing:auto}")
+    private String routing = AUTO;
+
+    // Samples older than this no longer influence routing
+    @Value("${translation.providers.window-ms:300000}")
+    private long windowMs = 300_000;
+
+    @Value("${translation.providers.max-samples:50}")
+    private int maxSamples = 50;
+
+    @Value("${translation.providers.circuit-breaker.window-ms:60000}")
+    private long breakerWindowMs = 60_000;
+
+    // The breaker never opens on fewer calls than this, so a single early failure can't trip it
+    @Value("${translation.providers.circuit-breaker.minimum-calls:5}")
+    private int breakerMinimumCalls = 5;
+
+    @Value("${translation.providers.circuit-breaker.failure-rate-threshold:0.5}")
+    private double breakerFailureRateThreshold = 0.5;
+
+    @Value("${translation.providers.circuit-breaker.open-duration-ms:30000}")
+    private long breakerOpenDurationMs = 30_000;
+
+    private LongSupplier clock = System::currentTimeMillis;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final Map<String, ProviderCircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    @Override
+    public Map<Integer, List<String>> translateBatch(List<SrtEntry> batch, String targetLanguage) throws IOException {
+        List<TranslationProvider> candidates = candidates(targetLanguage);
+        if (candidates.isEmpty()) {
+            throw new IllegalStateException("No translation provider available for target language: " + targetLanguage);
+        }
+        Exception lastFailure = null;
+        for (TranslationProvider provider : candidates) {
+            ProviderCircuitBreaker breaker = breaker(provider);
+            if (!breaker.tryAcquire()) {
+                continue;
+            }
+            long start = System.nanoTime();
+            try {
+                Map<Integer, List<String>> translated = provider.translateBatch(batch, targetLanguage);
+                long elapsed = System.nanoTime() - start;
+                breaker.onSuccess();
+                record(provider, batch.size(), elapsed / 1_000_000, false);
+                metrics.recordProviderBatch(provider.name(), batch.size(), elapsed, false);
+                return translated;
+            } catch (InvalidArgumentException e) {
+                // Invalid requests fail the same way everywhere; don't blame the provider or fail over.
+                // Unparsable answers are ProviderResponseExceptions and fail over like any provider failure.
+                breaker.onIgnored();
+                throw e;
+            } catch (IOException | RuntimeException e) {
+                long elapsed = System.nanoTime() - start;
+                breaker.onFailure();
+                record(provider, batch.size(), elapsed / 1_000_000, true);
+                metrics.recordProviderBatch(provider.name(), batch.size(), elapsed, true);
+                log.warn("Provider {} failed a batch of {} cues: {}", provider.name(), batch.size(), e.getMessage());
+                lastFailure = e;
+            }
+        }
+        if (lastFailure instanceof IOException ioe) {
+            throw ioe;
+        }
+        if (lastFailure instanceof RuntimeException re) {
+            throw re;
+        }
+        throw new IllegalStateException("Every translation provider for " + targetLanguage
+                + " has an open circuit breaker; try again later.");
+    }
+
+    TranslationProvider select(String targetLanguage) {
+        List<TranslationProvider> candidates = candidates(targetLanguage);
+        if (candidates.isEmpty()) {
+            throw new IllegalStateException("No translation provider available for target language: " + targetLanguage);
+        }
+        return candidates.getFirst();
+    }
+
+    /**
+     * Available providers that support the target language, best first.
+     */
+    List<TranslationProvider> candidates(String targetLanguage) {
+        String pinned = routing == null ? AUTO : routing.trim().toLowerCase(Locale.ROOT);
+        long now = clock.getAsLong();
+        return providers.stream()
+                .filter(p -> AUTO.equals(pinned) || p.name().equals(pinned))
+                .filter(TranslationProvider::isAvailable)
+                .filter(p -> p.supports(targetLanguage))
+                .sorted(Comparator.comparingDouble(p -> scoreOrZero(p, now)))
+                .toList();
+    }
+
+    public List<ProviderStatsResponse> snapshot() {
+        long now = clock.getAsLong();
+        return providers.stream()
+                .sorted(Comparator.comparing(TranslationProvider::name))
+                .map(p -> {
+                    Window window = windows.get(p.name());
+                    Window.Summary summary = window == null ? Window.Summary.EMPTY : window.summarize(now, windowMs);
+                    ProviderCircuitBreaker breaker = breaker(p);
+                    Map<String, Long> transitions = new LinkedHashMap<>();
+                    breaker.transitions().forEach((state, count) -> transitions.put(state.name(), count));
+                    return new ProviderStatsResponse(p.name(), p.isAvailable(), summary.calls(), summary.errorRate(),
+                            summary.latencyMsPerCue(), summary.calls() == 0 ? null : summary.score(),
+                            breaker.state().name(), transitions);
+                })
+                .toList();
+    }
+
+    void record(TranslationProvider provider, int cues, long latencyMs, boolean failed) {
+        windows.computeIfAbsent(provider.name(), name -> new Window())
+                .add(new Sample(clock.getAsLong(), cues, latencyMs, failed), maxSamples);
+    }
+
+    private ProviderCircuitBreaker breaker(TranslationProvider provider) {
+        return breakers.computeIfAbsent(provider.name(), name -> {
+            ProviderCircuitBreaker breaker = new ProviderCircuitBreaker(name, breakerWindowMs, breakerMinimumCalls,
+                    breakerFailureRateThreshold, breakerOpenDurationMs, () -> clock.getAsLong());
+            metrics.bindCircuitBreaker(breaker);
+            return breaker;
+        });
+    }
+
+    private double scoreOrZero(TranslationProvider provider, long now) {
+        Window window = windows.get(provider.name());
+        if (window == null) {
+            return 0;
+        }
+        Window.Summary summary = window.summarize(now, windowMs);
+        return summary.calls() == 0 ? 0 : summary.score();
+    }
+
+    private record Sample(long at, int cues, long latencyMs, boolean failed) {
+    }
+
+    private static final class Window {
+        private final Deque<Sample> samples = new ArrayDeque<>();
+
+        synchronized void add(Sample sample, int maxSamples) {
+            samples.addLast(sample);
+            while (samples.size() > maxSamples) {
+                samples.removeFirst();
+            }
+        }
+
+        synchronized Summary summarize(long now, long windowMs) {
+            while (!samples.isEmpty() && samples.peekFirst().at() < now - windowMs) {
+                samples.removeFirst();
+            }
+            int calls = samples.size();
+            if (calls == 0) {
+                return Summary.EMPTY;
+            }
+            long cues = 0;
+            long latency = 0;
+            int failures = 0;
+            for (Sample s : samples) {
+                cues += s.cues();
+                latency += s.latencyMs();
+                if (s.failed()) {
+                    failures++;
+                }
+            }
+            return new Summary(calls, (double) failures / calls, (double) latency / Math.max(1, cues));
+        }
+
+        record Summary(int calls, double errorRate, double latencyMsPerCue) {
+            static final Summary EMPTY = new Summary(0, 0, 0);
+
+            // A provider failing half its calls counts as twice as slow; the floor keeps a broken provider finite
+            double score() {
+                return Math.max(0.001, latencyMsPerCue) / Math.max(0.05, 1 - errorRate);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * OpenTelemetry spans for the stages of a job: job, upload validation, parse, batch planning,
+ * each batch (queue wait, LLM call, response parse) and reassembly/write.
+ * Spans parent to the current context, which the translation executor carries across threads;
+ * they are exported over OTLP when {@code management.otlp.tracing.endpoint} is set.
+ */
+@Service
+public class TranslationTracing {
+
+    public static final AttributeKey<String> JOB_ID = AttributeKey.stringKey("translation.job.id");
+    public static final AttributeKey<String> JOB_KIND = AttributeKey.stringKey("translation.job.kind");
+    public static final AttributeKey<String> TARGET_LANGUAGE = AttributeKey.stringKey("translation.target_language");
+    public static final AttributeKey<Long> BATCH_INDEX = AttributeKey.longKey("translation.batch.index");
+    public static final AttributeKey<Long> BATCH_COUNT = AttributeKey.longKey("translation.batch.count");
+    public static final AttributeKey<Long> CUES = AttributeKey.longKey("translation.cues");
+    public static final AttributeKey<Long> PAYLOAD_CHARS = AttributeKey.longKey("translation.payload.chars");
+    public static final AttributeKey<Long> COALESCED_BATCHES = AttributeKey.longKey("translation.coalesced.batches");
+
+    private final Tracer tracer;
+
+    public TranslationTracing(OpenTelemetry openTelemetry) {
+        this.tracer = openTelemetry.getTracer("org.k3cs1.subtitletranslatorapp");
+    }
+
+    /**
+     * Starts a span under the current context; the caller ends it with {@link #end}.
+     */
+    public Span start(String name, Attributes attributes) {
+        return tracer.spanBuilder(name).setAllAttributes(attributes).startSpan();
+    }
+
+    /**
+     * Runs {@code call} in a span of its own, recording a thrown exception as the span's error.
+     */
+    public <T, E extends Exception> T inSpan(String name, Attributes attributes, SpanCall<T, E> call) throws E {
+        return run(start(name, attributes), call);
+    }
+
+    /**
+     * Runs {@code call} in a span serving several callers at once: it parents to the first context and links to
+     * the spans of all of them, so each caller's trace leads to the shared work.
+     */
+    public <T, E extends Exception> T inSharedSpan(String name, Attributes attributes, List<Context> callers,
+                                                   SpanCall<T, E> call) throws E {
+        SpanBuilder builder = tracer.spanBuilder(name).setAllAttributes(attributes);
+        if (!callers.isEmpty()) {
+            builder.setParent(callers.getFirst());
+        }
+        for (Context caller : callers) {
+            SpanContext linked = Span.fromContext(caller).getSpanContext();
+            if (linked.isValid()) {
+                builder.addLink(linked);
+            }
+        }
+        return run(builder.startSpan(), call);
+    }
+
+    private <T, E extends Exception> T run(Span span, SpanCall<T, E> call) throws E {
+        try (Scope ignored = span.makeCurrent()) {
+            return call.call(span);
+        } catch (Exception e) {
+            fail(span, e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    public void fail(Span span, Throwable failure) {
+        span.recordException(failure);
+        span.setStatus(StatusCode.ERROR, String.valueOf(failure.getMessage()));
+    }
+
+    public void end(Span span, Throwable failure) {
+        if (failure != null) {
+            fail(span, failure);
+        }
+        span.end();
+    }
+
+    @FunctionalInterface
+    public interface SpanCall<T, E extends Exception> {
+        T call(Span span) throws E;
+    }
+}
@@ -0,0 +1,94 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Batch size, batch character budget and per-job parallelism, changeable while the service runs
+ * (see {@code /actuator/tuning}). Jobs take a fresh {@link Settings} snapshot whenever they plan batches or
+ * acquire a limiter permit, so a change reaches running jobs from their next batch on.
+ */
+@Service
+public class TranslationTuning {
+
+    // Kept apart from the application log so changes can be routed to an audit sink
+    private static final Logger AUDIT = LoggerFactory.getLogger("translation.audit");
+
+    /**
+     * One consistent set of tuning values.
+     *
+     * @param batchSize     upper bound on cues per provider request
+     * @param maxBatchChars approximate character budget of one request payload
+     * @param maxParallel   provider requests in flight per job
+     */
+    public record Settings(int batchSize, int maxBatchChars, int maxParallel) {
+        public Settings {
+            if (batchSize < 1 || batchSize > 1000) {
+                throw new IllegalArgumentException("batchSize must be between 1 and 1000.");
+            }
+            if (maxBatchChars < 512 || maxBatchChars > 1_000_000) {
+                throw new IllegalArgumentException("maxBatchChars must be between 512 and 1000000.");
+            }
+            if (maxParallel < 1 || maxParallel > 256) {
+                throw new IllegalArgumentException("maxParallel must be between 1 and 256.");
+            }
+        }
+    }
+
+    private final AtomicReference<Settings> current;
+    private final TranslationMetrics metrics;
+
+    @Autowired
+    public TranslationTuning(@Value("${translation.batch-size}") int batchSize,
+                             @Value("${translation.max-batch-chars:12000}") int maxBatchChars,
+                             @Value("${translation.max-parallel}") int maxParallel,
+                             TranslationMetrics metrics) {
+        this(new Settings(batchSize, maxBatchChars, maxParallel), metrics);
+    }
+
+    public TranslationTuning(Settings initial, TranslationMetrics metrics) {
+        this.current = new AtomicReference<>(initial);
+        this.metrics = metrics;
+        metrics.bindTuning(this);
+    }
+
+    public Settings current() {
+        return current.get();
+    }
+
+    /**
+     * Replaces the given values, keeping the others. Null leaves a value unchanged.
+     *
+     * @param actor who made the change, for the audit log
+     * @return the settings now in effect
+     * @throws IllegalArgumentException if a value is out of range; nothing changes then
+     */
+    public Settings update(Integer batchSize, Integer maxBatchChars, Integer maxParallel, String actor) {
+        Settings[] previous = new Settings[1];
+        Settings updated = current.updateAndGet(settings -> {
+            previous[0] = settings;
+            return new Settings(
+                    batchSize != null ? batchSize : settings.batchSize(),
+                    maxBatchChars != null ? maxBatchChars : settings.maxBatchChars(),
+                    maxParallel != null ? maxParallel : settings.maxParallel());
+        });
+        Settings before = previous[0];
+        audit(actor, "batch-size", before.batchSize(), updated.batchSize());
+        audit(actor, "max-batch-chars", before.maxBatchChars(), updated.maxBatchChars());
+        audit(actor, "max-parallel", before.maxParallel(), updated.maxParallel());
+        return updated;
+    }
+
+    private void audit(String actor, String setting, int before, int after) {
+        if (before == after) {
+            return;
+        }
+        AUDIT.info("Translation tuning changed by {}: {} {} -> {}", actor, setting, before, after);
+        metrics.recordTuningChange(setting);
+    }
+}
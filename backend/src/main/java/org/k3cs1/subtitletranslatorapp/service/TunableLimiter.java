@@ -0,0 +1,31 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Per-job parallelism limiter whose size can change while batches hold permits. Shrinking takes effect as
+ * running batches release their permits; growing admits waiting batches at once.
+ */
+final class TunableLimiter extends Semaphore {
+
+    private int limit;
+
+    TunableLimiter(int limit) {
+        super(limit);
+        this.limit = limit;
+    }
+
+    synchronized void resize(int newLimit) {
+        int delta = newLimit - limit;
+        if (delta > 0) {
+            release(delta);
+        } else if (delta < 0) {
+            reducePermits(-delta);
+        }
+        limit = newLimit;
+    }
+
+    synchronized int limit() {
+        return limit;
+    }
+}
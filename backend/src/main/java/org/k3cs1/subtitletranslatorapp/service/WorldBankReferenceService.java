@@ -2,9 +2,22 @@ package org.k3cs1.subtitletranslatorapp.service;
 
 import org.k3cs1.subtitletranslatorapp.dto.CountryOptionDto;
 
+import java.time.Instant;
 import java.util.List;
 
 public interface WorldBankReferenceService {
     List<CountryOptionDto> listCountries();
-}
 
+    /**
+     * The cached country list with its validator. Never waits for the World Bank API: a stale list is returned
+     * while a refresh runs in the background.
+     */
+    Countries countries();
+
+    /**
+     * @param etag      strong validator of {@code items}, quoted for the {@code ETag} header
+     * @param refreshed when the list was fetched from the API; null for the bundled snapshot
+     */
+    record Countries(List<CountryOptionDto> items, String etag, Instant refreshed) {
+    }
+}
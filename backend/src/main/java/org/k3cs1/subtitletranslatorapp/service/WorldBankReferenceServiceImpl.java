@@ -4,37 +4,132 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.k3cs1.subtitletranslatorapp.dto.CountryOptionDto;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Country list for the UI, served from memory. It starts from a bundled snapshot of the World Bank list and is
+ * refreshed from the API in the background: on startup, every {@code ttl-ms}, and when a request finds it older
+ * than that. Requests get the current list at once, even while a refresh runs or after one failed.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class WorldBankReferenceServiceImpl implements WorldBankReferenceService {
 
+    static final String SNAPSHOT = "reference/countries.json";
+
     private final RestClient.Builder builder;
     private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
 
     @Value("${worldbank.base-url:https://api.worldbank.org}")
     private String baseUrl;
 
+    // Age after which the list is refreshed
+    @Value("${worldbank.countries.ttl-ms:86400000}")
+    private long ttlMs = 86_400_000;
+
+    // Wait after a failed refresh before a request triggers the next one
+    @Value("${worldbank.countries.retry-ms:300000}")
+    private long retryMs = 300_000;
+
+    // Serve the bundled snapshot only and never call the API
+    @Value("${worldbank.countries.offline:false}")
+    private boolean offline;
+
     private RestClient restClient;
 
+    private volatile Countries countries;
+    private volatile long refreshedAtMs;
+    private volatile long lastAttemptAtMs;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
     @PostConstruct
     public void init() {
         this.restClient = builder
                 .baseUrl(Objects.requireNonNull(baseUrl, "worldbank.base-url is required"))
                 .build();
+        List<CountryOptionDto> snapshot = loadSnapshot();
+        this.countries = new Countries(snapshot, etag(snapshot), null);
+        if (!offline) {
+            refreshInBackground();
+        }
     }
 
     @Override
     public List<CountryOptionDto> listCountries() {
+        return countries().items();
+    }
+
+    @Override
+    public Countries countries() {
+        Countries current = this.countries;
+        long now = System.currentTimeMillis();
+        if (!offline && now - refreshedAtMs >= ttlMs && now - lastAttemptAtMs >= retryMs) {
+            // Stale: serve it anyway and revalidate behind the request
+            refreshInBackground();
+        }
+        return current;
+    }
+
+    @Scheduled(fixedDelayString = "${worldbank.countries.ttl-ms:86400000}",
+            initialDelayString = "${worldbank.countries.ttl-ms:86400000}")
+    public void scheduledRefresh() {
+        if (!offline) {
+            refresh();
+        }
+    }
+
+    /**
+     * Fetches the list from the API and swaps it in. At most one refresh runs at a time; a failed one keeps the
+     * current list. Returns whether the list was replaced.
+     */
+    boolean refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            lastAttemptAtMs = System.currentTimeMillis();
+            List<CountryOptionDto> fetched = fetchCountries();
+            this.countries = new Countries(fetched, etag(fetched), Instant.now());
+            refreshedAtMs = System.currentTimeMillis();
+            return true;
+        } catch (Exception ex) {
+            log.warn("Failed to refresh countries from World Bank, serving the cached list: {}", ex.getMessage());
+            return false;
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private void refreshInBackground() {
+        if (!refreshing.get()) {
+            executor.execute(this::refresh);
+        }
+    }
+
+    private List<CountryOptionDto> fetchCountries() {
         try {
             String body = Objects.requireNonNull(restClient.get()
                     .uri(uriBuilder -> uriBuilder
@@ -66,14 +161,36 @@ public class WorldBankReferenceServiceImpl implements WorldBankReferenceService
 
                 out.add(new CountryOptionDto(iso2, name));
             }
+            if (out.isEmpty()) {
+                throw new IllegalStateException("World Bank returned no countries.");
+            }
 
             out.sort(Comparator.comparing(CountryOptionDto::name, String.CASE_INSENSITIVE_ORDER));
-            return out;
+            return List.copyOf(out);
         } catch (IllegalArgumentException ex) {
             throw ex;
         } catch (Exception ex) {
             throw new IllegalStateException("Failed to fetch countries from World Bank.", ex);
         }
     }
-}
 
+    private List<CountryOptionDto> loadSnapshot() {
+        try (InputStream in = new ClassPathResource(SNAPSHOT).getInputStream()) {
+            return List.of(objectMapper.readValue(in, CountryOptionDto[].class));
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Failed to read the bundled country list " + SNAPSHOT, ioe);
+        }
+    }
+
+    private static String etag(List<CountryOptionDto> countries) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (CountryOptionDto country : countries) {
+                digest.update((country.code() + '\t' + country.name() + '\n').getBytes(StandardCharsets.UTF_8));
+            }
+            return '"' + HexFormat.of().formatHex(digest.digest(), 0, 16) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+CREATE TABLE IF NOT EXISTS translation_jobs (
+    job_id             VARCHAR(64)  NOT NULL PRIMARY KEY,
+    status             VARCHAR(16)  NOT NULL,
+    input_file_name    VARCHAR(512),
+    output_file_name   VARCHAR(512),
+    content_base64     TEXT,
+    error_message      TEXT,
+    translated_entries INTEGER,
+    total_entries      INTEGER,
+    languages_json     TEXT,
+    skipped_entries    INTEGER,
+    token_usage_json   TEXT,
+    updated_at         TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_translation_jobs_status ON translation_jobs (status);
+
+CREATE TABLE IF NOT EXISTS translation_job_fingerprints (
+    fingerprint VARCHAR(64) NOT NULL PRIMARY KEY,
+    job_id      VARCHAR(64) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_translation_job_fingerprints_job_id ON translation_job_fingerprints (job_id);
+
+CREATE TABLE IF NOT EXISTS translation_batches (
+    batch_id         VARCHAR(96)  NOT NULL PRIMARY KEY,
+    job_id           VARCHAR(64)  NOT NULL,
+    sequence_no      INTEGER      NOT NULL,
+    target_language  VARCHAR(128) NOT NULL,
+    entries_json     TEXT         NOT NULL,
+    status           VARCHAR(16)  NOT NULL,
+    attempts         INTEGER      NOT NULL,
+    lease_owner      VARCHAR(128),
+    lease_expires_at TIMESTAMP,
+    result_json      TEXT,
+    token_usage_json TEXT,
+    error_message    TEXT,
+    created_at       TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_translation_batches_claim ON translation_batches (status, created_at);
+CREATE INDEX IF NOT EXISTS idx_translation_batches_job_id ON translation_batches (job_id);
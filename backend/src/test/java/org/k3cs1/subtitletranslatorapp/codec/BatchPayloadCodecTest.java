@@ -0,0 +1,49 @@
+package org.k3cs1.subtitletranslatorapp.codec;
+
+import org.junit.jupiter.api.Test;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchPayloadCodecTest {
+
+    private final List<SrtEntry> batch = List.of(
+            new SrtEntry(1, "00:00:01,000 --> 00:00:02,000", List.of("Hello", "World")),
+            new SrtEntry(2, "00:00:03,000 --> 00:00:04,000", List.of("Goodbye")));
+
+    @Test
+    void compactCodecIsShorterThanMarkersAndParsesLooseWhitespace() {
+        BatchPayloadCodec compact = BatchPayloadCodec.named("compact");
+
+        assertThat(compact.encode(batch)).isEqualTo("#1\nHello\nWorld\n#2\nGoodbye");
+        assertThat(compact.encode(batch).length()).isLessThan(BatchPayloadCodec.named("markers").encode(batch).length());
+
+        Map<Integer, List<String>> decoded = compact.decode("Sure:\n#1\n Hola\nMundo\n\n #2 \nAdiós\n");
+        assertThat(decoded)
+                .containsEntry(1, List.of("Hola", "Mundo"))
+                .containsEntry(2, List.of("Adiós"))
+                .hasSize(2);
+    }
+
+    @Test
+    void jsonCodecRoundTripsThroughStructuredOutput() {
+        BatchPayloadCodec json = BatchPayloadCodec.named("json");
+
+        assertThat(json.encode(batch)).isEqualTo(
+                "{\"cues\":[{\"id\":1,\"text\":\"Hello\\nWorld\"},{\"id\":2,\"text\":\"Goodbye\"}]}");
+        assertThat(json.formatRules()).contains("JSON Schema");
+
+        Map<Integer, List<String>> decoded = json.decode("""
+                ```json
+                {"cues":[{"id":1,"text":"Hola\\nMundo"},{"id":2,"text":"Adiós"}]}
+                ```""");
+        assertThat(decoded)
+                .containsEntry(1, List.of("Hola", "Mundo"))
+                .containsEntry(2, List.of("Adiós"));
+        assertThrows(IllegalArgumentException.class, () -> BatchPayloadCodec.named("yaml"));
+    }
+}
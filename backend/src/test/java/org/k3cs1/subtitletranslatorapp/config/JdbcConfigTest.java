@@ -0,0 +1,32 @@
+package org.k3cs1.subtitletranslatorapp.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JdbcConfigTest {
+
+    private final ApplicationContextRunner context = new ApplicationContextRunner()
+            .withUserConfiguration(JdbcConfig.class);
+
+    @Test
+    void inMemoryStoresNeedNoDatasource() {
+        context.run(started -> assertThat(started).hasNotFailed().doesNotHaveBean(DataSource.class));
+    }
+
+    @Test
+    void jdbcRepositoryWithoutDatasourceUrlFailsAtStartup() {
+        context.withPropertyValues("translation.job-repository.type=jdbc")
+                .run(started -> assertThat(started).hasFailed()
+                        .getFailure().rootCause().hasMessageContaining("spring.datasource.url"));
+    }
+
+    @Test
+    void jdbcQueueUsesTheConfiguredDatasource() {
+        context.withPropertyValues("translation.distributed.queue=jdbc", "spring.datasource.url=jdbc:h2:mem:jdbc-config")
+                .run(started -> assertThat(started).hasSingleBean(DataSource.class));
+    }
+}
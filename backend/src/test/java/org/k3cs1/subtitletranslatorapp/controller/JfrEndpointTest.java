@@ -0,0 +1,53 @@
+package org.k3cs1.subtitletranslatorapp.controller;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.client.RestClient;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.ai.openai.api-key=fake",
+        "translation.journal.enabled=false",
+        "worldbank.countries.offline=true",
+        "translation.jfr.enabled=true",
+        "translation.admin.token=jfr-test-token"
+})
+class JfrEndpointTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void dump_requiresTheAdminTokenAndLeavesOutEnvironmentAndSystemProperties(@TempDir Path tempDir) throws Exception {
+        RestClient client = RestClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .defaultStatusHandler(HttpStatusCode::isError, (request, response) -> {
+                })
+                .build();
+
+        assertThat(client.get().uri("/actuator/jfr").retrieve().toBodilessEntity().getStatusCode().value())
+                .isEqualTo(401);
+        assertThat(client.get().uri("/actuator/jfr").header(HttpHeaders.AUTHORIZATION, "Bearer wrong")
+                .retrieve().toBodilessEntity().getStatusCode().value()).isEqualTo(401);
+
+        byte[] dump = client.get().uri("/actuator/jfr").header(HttpHeaders.AUTHORIZATION, "Bearer jfr-test-token")
+                .retrieve().body(byte[].class);
+        assertThat(dump).isNotEmpty();
+        Path file = Files.write(tempDir.resolve("dump.jfr"), dump);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events).isNotEmpty();
+        assertThat(events).extracting(event -> event.getEventType().getName())
+                .doesNotContain("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+    }
+}
@@ -0,0 +1,82 @@
+package org.k3cs1.subtitletranslatorapp.controller;
+
+import io.opentelemetry.api.OpenTelemetry;
+import org.junit.jupiter.api.Test;
+import org.k3cs1.subtitletranslatorapp.api.ApiResponse;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationJobCreateResponse;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationJobStatusResponse;
+import org.k3cs1.subtitletranslatorapp.repository.InMemoryJobRepository;
+import org.k3cs1.subtitletranslatorapp.repository.JobRepository;
+import org.k3cs1.subtitletranslatorapp.service.ChunkedUploadService;
+import org.k3cs1.subtitletranslatorapp.service.TranslationJobService;
+import org.k3cs1.subtitletranslatorapp.service.TranslationTracing;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class TranslationJobControllerTest {
+
+    private static final byte[] UPLOAD = "1\n00:00:01,000 --> 00:00:02,000\nHello\n".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void fingerprint_separatesLanguageListsThatOnlyDifferInHowTheyAreSplit() throws IOException {
+        assertThat(fingerprint(List.of("a b", "c"))).isNotEqualTo(fingerprint(List.of("a", "b c")));
+        assertThat(fingerprint(List.of("a\nb"))).isNotEqualTo(fingerprint(List.of("a", "b")));
+    }
+
+    @Test
+    void fingerprint_ignoresLanguageOrderCaseAndSpacing() throws IOException {
+        assertThat(fingerprint(List.of("Hungarian", " German "))).isEqualTo(fingerprint(List.of("german", "HUNGARIAN")));
+        assertThat(fingerprint(List.of("Brazilian  Portuguese"))).isEqualTo(fingerprint(List.of("brazilian portuguese")));
+    }
+
+    @Test
+    void fingerprint_separatesDeltaRequestsFromFullTranslationsAndFromEachOther() throws IOException {
+        byte[] previousSource = "1\n00:00:01,000 --> 00:00:02,000\nHi\n".getBytes(StandardCharsets.UTF_8);
+        String full = fingerprint(List.of("Hungarian"));
+        String fromUpload = TranslationJobController.fingerprint(new ByteArrayInputStream(UPLOAD), List.of("Hungarian"),
+                List.of(previousSource, "1\n00:00:01,000 --> 00:00:02,000\nSzia\n".getBytes(StandardCharsets.UTF_8), new byte[0]));
+        String fromJob = TranslationJobController.fingerprint(new ByteArrayInputStream(UPLOAD), List.of("Hungarian"),
+                List.of(previousSource, new byte[0], "job-1".getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(fromUpload).isNotEqualTo(full).isNotEqualTo(fromJob);
+        assertThat(fromJob).isNotEqualTo(full);
+    }
+
+    @Test
+    void createSeasonPackJob_registersTheCueCountOfTheWholePack() throws IOException {
+        JobRepository jobRepository = new InMemoryJobRepository();
+        TranslationJobController controller = new TranslationJobController(mock(TranslationJobService.class),
+                jobRepository, mock(ChunkedUploadService.class), new TranslationTracing(OpenTelemetry.noop()));
+        ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(zip)) {
+            out.putNextEntry(new ZipEntry("e01.srt"));
+            out.write(UPLOAD);
+            out.putNextEntry(new ZipEntry("e02.srt"));
+            out.write("1\n00:00:01,000 --> 00:00:02,000\nA\n\n2\n00:00:03,000 --> 00:00:04,000\nB\n"
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+
+        ResponseEntity<ApiResponse<?>> response = controller.createSeasonPackJob(
+                new MockMultipartFile("file", "season.zip", "application/zip", zip.toByteArray()), "Hungarian");
+
+        TranslationJobCreateResponse created = (TranslationJobCreateResponse) response.getBody().getData();
+        TranslationJobStatusResponse status = jobRepository.get(created.jobId());
+        assertThat(status.status()).isEqualTo("PENDING");
+        assertThat(status.totalEntries()).isEqualTo(3);
+    }
+
+    private static String fingerprint(List<String> languages) throws IOException {
+        return TranslationJobController.fingerprint(new ByteArrayInputStream(UPLOAD), languages);
+    }
+}
@@ -0,0 +1,233 @@
+package org.k3cs1.subtitletranslatorapp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in for the OpenAI chat completions API ({@code POST /v1/chat/completions}) that answers every request by
+ * echoing the payload of the user message, which is a valid reply in every batch codec. Replies are delayed by a
+ * log-normal latency, and a configurable share of requests is rejected with 429 or cut short as if the model hit its
+ * token limit. Requests with {@code "stream": true} get the reply as server-sent event chunks.
+ */
+final class FakeOpenAiServer implements AutoCloseable {
+
+    private static final String PAYLOAD_PREFIX = "Translate this SRT text payload:\n\n";
+    private static final int STREAM_CHUNK_CHARS = 64;
+
+    private final Settings settings;
+    private final HttpServer server;
+    private final ExecutorService handlers = Executors.newVirtualThreadPerTaskExecutor();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong truncated = new AtomicLong();
+
+    private FakeOpenAiServer(Settings settings) throws IOException {
+        this.settings = settings;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/v1/chat/completions", this::handle);
+        server.setExecutor(handlers);
+    }
+
+    static FakeOpenAiServer start(Settings settings) throws IOException {
+        FakeOpenAiServer fake = new FakeOpenAiServer(settings);
+        fake.server.start();
+        return fake;
+    }
+
+    /**
+     * Value for {@code spring.ai.openai.base-url}.
+     */
+    String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    long requests() {
+        return requests.get();
+    }
+
+    long rateLimited() {
+        return rateLimited.get();
+    }
+
+    long truncated() {
+        return truncated.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+            // Seeded per request number, so a run with the same settings and order sees the same faults
+            SplittableRandom random = new SplittableRandom(settings.seed() + requests.incrementAndGet());
+
+            sleep(settings.latencyMillis(random));
+            if (random.nextDouble() < settings.rateLimitRate()) {
+                rateLimited.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                send(exchange, 429, "application/json", """
+                        {"error":{"message":"Rate limit reached (fake)","type":"requests","code":"rate_limit_exceeded"}}""");
+                return;
+            }
+
+            String reply = payloadOf(request);
+            String finishReason = "stop";
+            if (random.nextDouble() < settings.truncationRate()) {
+                truncated.incrementAndGet();
+                reply = reply.substring(0, reply.length() / 2);
+                finishReason = "length";
+            }
+            String model = request.path("model").asText("fake");
+            long promptTokens = request.path("messages").toString().length() / 4L;
+            long completionTokens = reply.length() / 4L;
+            if (request.path("stream").asBoolean(false)) {
+                stream(exchange, model, reply, finishReason, promptTokens, completionTokens);
+            } else {
+                ObjectNode response = completion(model, "chat.completion");
+                ObjectNode choice = response.putArray("choices").addObject();
+                choice.put("index", 0);
+                choice.putObject("message").put("role", "assistant").put("content", reply);
+                choice.put("finish_reason", finishReason);
+                putUsage(response, promptTokens, completionTokens);
+                send(exchange, 200, "application/json", objectMapper.writeValueAsString(response));
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void stream(HttpExchange exchange, String model, String reply, String finishReason,
+                        long promptTokens, long completionTokens) throws IOException, InterruptedException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        for (int from = 0; from < reply.length(); from += STREAM_CHUNK_CHARS) {
+            ObjectNode chunk = completion(model, "chat.completion.chunk");
+            ObjectNode choice = chunk.putArray("choices").addObject();
+            choice.put("index", 0);
+            choice.putObject("delta").put("role", "assistant")
+                    .put("content", reply.substring(from, Math.min(reply.length(), from + STREAM_CHUNK_CHARS)));
+            choice.putNull("finish_reason");
+            writeEvent(out, objectMapper.writeValueAsString(chunk));
+            // Spread the reply over the stream instead of sending it at once
+            sleep(settings.streamChunkDelayMs());
+        }
+        ObjectNode last = completion(model, "chat.completion.chunk");
+        ObjectNode choice = last.putArray("choices").addObject();
+        choice.put("index", 0);
+        choice.putObject("delta");
+        choice.put("finish_reason", finishReason);
+        putUsage(last, promptTokens, completionTokens);
+        writeEvent(out, objectMapper.writeValueAsString(last));
+        writeEvent(out, "[DONE]");
+    }
+
+    private String payloadOf(JsonNode request) {
+        for (JsonNode message : request.path("messages")) {
+            if ("user".equals(message.path("role").asText())) {
+                String content = message.path("content").isArray()
+                        ? message.path("content").path(0).path("text").asText("")
+                        : message.path("content").asText("");
+                return content.startsWith(PAYLOAD_PREFIX) ? content.substring(PAYLOAD_PREFIX.length()) : content;
+            }
+        }
+        return "";
+    }
+
+    private ObjectNode completion(String model, String object) {
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("id", "chatcmpl-fake-" + requests.get());
+        response.put("object", object);
+        response.put("created", System.currentTimeMillis() / 1000);
+        response.put("model", model);
+        return response;
+    }
+
+    private static void putUsage(ObjectNode response, long promptTokens, long completionTokens) {
+        response.putObject("usage")
+                .put("prompt_tokens", promptTokens)
+                .put("completion_tokens", completionTokens)
+                .put("total_tokens", promptTokens + completionTokens);
+    }
+
+    private static void writeEvent(OutputStream out, String data) throws IOException {
+        out.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static void sleep(long millis) throws InterruptedException {
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+
+    /**
+     * @param medianLatencyMs    median time before a reply starts
+     * @param latencySigma       log-normal shape; 0 makes every call take the median, 1 gives a long p99 tail
+     * @param rateLimitRate      share of requests answered with 429
+     * @param truncationRate     share of replies cut in half with {@code finish_reason: length}
+     * @param streamChunkDelayMs pause between streamed chunks
+     */
+    record Settings(double medianLatencyMs, double latencySigma, double rateLimitRate, double truncationRate,
+                    long streamChunkDelayMs, long seed) {
+
+        Settings {
+            if (medianLatencyMs < 0 || latencySigma < 0 || streamChunkDelayMs < 0) {
+                throw new IllegalArgumentException("Latency settings cannot be negative.");
+            }
+            if (rateLimitRate < 0 || rateLimitRate > 1 || truncationRate < 0 || truncationRate > 1) {
+                throw new IllegalArgumentException("Fault rates must be between 0 and 1.");
+            }
+        }
+
+        /**
+         * Reads {@code loadtest.llm.*} system properties, e.g. {@code -Dloadtest.llm.median-latency-ms=800}.
+         */
+        static Settings fromSystemProperties() {
+            return new Settings(
+                    Double.parseDouble(System.getProperty("loadtest.llm.median-latency-ms", "20")),
+                    Double.parseDouble(System.getProperty("loadtest.llm.latency-sigma", "0.5")),
+                    Double.parseDouble(System.getProperty("loadtest.llm.rate-limit-rate", "0")),
+                    Double.parseDouble(System.getProperty("loadtest.llm.truncation-rate", "0")),
+                    Long.parseLong(System.getProperty("loadtest.llm.stream-chunk-delay-ms", "0")),
+                    Long.parseLong(System.getProperty("loadtest.llm.seed", "42")));
+        }
+
+        long latencyMillis(SplittableRandom random) {
+            if (medianLatencyMs == 0) {
+                return 0;
+            }
+            return Math.round(medianLatencyMs * Math.exp(latencySigma * random.nextGaussian()));
+        }
+    }
+}
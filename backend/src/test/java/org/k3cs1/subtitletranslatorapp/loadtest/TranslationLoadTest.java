@@ -0,0 +1,198 @@
+package org.k3cs1.subtitletranslatorapp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load-test driver: submits {@code loadtest.jobs} distinct uploads through {@code POST /api/translation-jobs},
+ * {@code loadtest.concurrency} at a time, against the application wired to a {@link FakeOpenAiServer}, polls each job
+ * to its final status and logs throughput, job latency percentiles and heap usage. Tagged {@code load}, so the
+ * default build skips it; the {@code load-test} profile runs it. The defaults are a small smoke run; for a real
+ * measurement pass e.g.
+ * {@code ./mvnw -P load-test -pl backend test -Dloadtest.jobs=500 -Dloadtest.concurrency=50
+ * -Dloadtest.llm.median-latency-ms=1500 -Dloadtest.llm.rate-limit-rate=0.05}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.ai.openai.api-key=fake",
+        // Retry rate-limited calls quickly, as a client of a throttled deployment would
+        "spring.ai.retry.on-http-codes=429",
+        "spring.ai.retry.max-attempts=5",
+        "spring.ai.retry.backoff.initial-interval=50ms",
+        "spring.ai.retry.backoff.multiplier=2",
+        "spring.ai.retry.backoff.max-interval=1s",
+        "translation.journal.enabled=false",
+        // The report is logged at info; the application logs at warn
+        "logging.level.org.k3cs1.subtitletranslatorapp.loadtest=info"
+})
+@Tag("load")
+@Slf4j
+class TranslationLoadTest {
+
+    private static final int JOBS = Integer.getInteger("loadtest.jobs", 6);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 3);
+    private static final int CUES_PER_JOB = Integer.getInteger("loadtest.cues", 40);
+    private static final String TARGET_LANGUAGE = System.getProperty("loadtest.target-language", "Hungarian");
+    private static final long JOB_TIMEOUT_MS = Long.getLong("loadtest.job-timeout-ms", 120_000);
+    private static final long POLL_INTERVAL_MS = 20;
+
+    private static final FakeOpenAiServer LLM = startLlm();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void llmProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.ai.openai.base-url", LLM::baseUrl);
+    }
+
+    @AfterAll
+    static void stopLlm() {
+        LLM.close();
+    }
+
+    @Test
+    void concurrentUploads() throws Exception {
+        RestClient client = RestClient.create("http://localhost:" + port);
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        AtomicLong peakHeap = new AtomicLong(memory.getHeapMemoryUsage().getUsed());
+        ScheduledExecutorService heapSampler = Executors.newSingleThreadScheduledExecutor();
+        heapSampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 50, TimeUnit.MILLISECONDS);
+
+        List<Future<JobResult>> futures = new ArrayList<>(JOBS);
+        long started = System.nanoTime();
+        try (ExecutorService uploaders = Executors.newFixedThreadPool(CONCURRENCY)) {
+            for (int job = 0; job < JOBS; job++) {
+                int jobNumber = job;
+                futures.add(uploaders.submit(() -> runJob(client, jobNumber)));
+            }
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        heapSampler.shutdownNow();
+
+        List<JobResult> results = new ArrayList<>(JOBS);
+        for (Future<JobResult> future : futures) {
+            results.add(future.get());
+        }
+        long completed = results.stream().filter(result -> "COMPLETED".equals(result.status())).count();
+        long failed = results.stream().filter(result -> "FAILED".equals(result.status())).count();
+        long timedOut = results.size() - completed - failed;
+        long[] latencies = results.stream().filter(result -> result.status() != null)
+                .mapToLong(JobResult::latencyMs).sorted().toArray();
+
+        log.info("""
+                Load test: {} jobs x {} cues, {} concurrent uploads, target {}
+                  completed {}, failed {}, timed out {} in {} s -> {} jobs/min
+                  job latency ms: p50 {}, p95 {}, p99 {}, max {}
+                  heap MB: peak {}, after run {}
+                  fake LLM: {} requests, {} rate-limited, {} truncated""",
+                JOBS, CUES_PER_JOB, CONCURRENCY, TARGET_LANGUAGE,
+                completed, failed, timedOut, "%.1f".formatted(elapsedNanos / 1e9),
+                "%.1f".formatted(completed * 60e9 / elapsedNanos),
+                percentile(latencies, 50), percentile(latencies, 95), percentile(latencies, 99), percentile(latencies, 100),
+                "%.1f".formatted(peakHeap.get() / 1048576.0),
+                "%.1f".formatted(memory.getHeapMemoryUsage().getUsed() / 1048576.0),
+                LLM.requests(), LLM.rateLimited(), LLM.truncated());
+
+        assertThat(timedOut).as("jobs without a final status").isZero();
+        if (LLM.rateLimited() == 0 && LLM.truncated() == 0) {
+            assertThat(failed).as("failed jobs without injected faults").isZero();
+        }
+    }
+
+    private JobResult runJob(RestClient client, int jobNumber) throws IOException, InterruptedException {
+        MultiValueMap<String, Object> form = new LinkedMultiValueMap<>();
+        form.add("file", new ByteArrayResource(subtitle(jobNumber)) {
+            @Override
+            public String getFilename() {
+                return "load-" + jobNumber + ".srt";
+            }
+        });
+        form.add("targetLanguage", TARGET_LANGUAGE);
+
+        long submitted = System.nanoTime();
+        String created = client.post().uri("/api/translation-jobs")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(form)
+                .retrieve()
+                .body(String.class);
+        String jobId = objectMapper.readTree(created).path("data").path("jobId").asText();
+
+        long deadline = submitted + TimeUnit.MILLISECONDS.toNanos(JOB_TIMEOUT_MS);
+        while (System.nanoTime() < deadline) {
+            JsonNode status = objectMapper.readTree(client.get().uri("/api/translation-jobs/{jobId}", jobId)
+                    .retrieve()
+                    .body(String.class)).path("data");
+            String state = status.path("status").asText();
+            if ("COMPLETED".equals(state) || "FAILED".equals(state)) {
+                return new JobResult(state, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitted));
+            }
+            Thread.sleep(POLL_INTERVAL_MS);
+        }
+        return new JobResult(null, JOB_TIMEOUT_MS);
+    }
+
+    // Distinct text per job, so identical-upload deduplication does not fold jobs together
+    private static byte[] subtitle(int jobNumber) {
+        StringBuilder srt = new StringBuilder(CUES_PER_JOB * 80);
+        for (int cue = 1; cue <= CUES_PER_JOB; cue++) {
+            int second = cue * 3;
+            srt.append(cue).append('\n')
+                    .append(String.format("00:%02d:%02d,000 --> 00:%02d:%02d,500\n",
+                            second / 60 % 60, second % 60, second / 60 % 60, second % 60))
+                    .append("Job ").append(jobNumber).append(", line ").append(cue)
+                    .append(": we should leave before the storm reaches the harbour.\n\n");
+        }
+        return srt.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long percentile(long[] sorted, int percent) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static FakeOpenAiServer startLlm() {
+        try {
+            return FakeOpenAiServer.start(FakeOpenAiServer.Settings.fromSystemProperties());
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    private record JobResult(String status, long latencyMs) {
+    }
+}
@@ -0,0 +1,72 @@
+package org.k3cs1.subtitletranslatorapp.repository;
+
+import org.junit.jupiter.api.Test;
+import org.k3cs1.subtitletranslatorapp.model.BatchOutcome;
+import org.k3cs1.subtitletranslatorapp.model.BatchWorkItem;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryBatchWorkQueueTest {
+
+    private final InMemoryBatchWorkQueue queue = new InMemoryBatchWorkQueue();
+
+    private static BatchWorkItem item(String jobId, int sequence) {
+        return new BatchWorkItem(jobId + ":" + sequence, jobId, sequence, "HU",
+                List.of(new SrtEntry(sequence + 1, "00:00:01,000 --> 00:00:02,000", List.of("Hello"))));
+    }
+
+    @Test
+    void claim_stealsBatchWhoseLeaseExpired() throws InterruptedException {
+        queue.publish("job-1", List.of(item("job-1", 0)));
+
+        assertThat(queue.claim("node-a", Duration.ofMillis(200))).isPresent();
+        assertThat(queue.claim("node-b", Duration.ofMinutes(1))).as("lease still valid").isEmpty();
+
+        Thread.sleep(300);
+
+        assertThat(queue.claim("node-b", Duration.ofMinutes(1))).map(BatchWorkItem::batchId).contains("job-1:0");
+    }
+
+    @Test
+    void fail_requeuesUntilMaxAttempts() {
+        queue.publish("job-1", List.of(item("job-1", 0)));
+
+        queue.claim("node-a", Duration.ofMinutes(1));
+        queue.fail("job-1:0", "boom", 2);
+        assertThat(queue.outcomes("job-1")).isEmpty();
+
+        queue.claim("node-a", Duration.ofMinutes(1));
+        queue.fail("job-1:0", "boom", 2);
+
+        assertThat(queue.outcomes("job-1")).containsEntry("job-1:0", BatchOutcome.failure("job-1:0", "boom"));
+    }
+
+    @Test
+    void complete_firstResultWins() {
+        queue.publish("job-1", List.of(item("job-1", 0)));
+        queue.claim("node-a", Duration.ofMinutes(1));
+
+        queue.complete("job-1:0", Map.of(1, List.of("Szia")), Map.of());
+        queue.complete("job-1:0", Map.of(1, List.of("Hello again")), Map.of());
+
+        assertThat(queue.outcomes("job-1").get("job-1:0").translations()).containsEntry(1, List.of("Szia"));
+    }
+
+    @Test
+    void backlog_countsQueuedAndExpiredBatches() throws Exception {
+        queue.publish("job-1", List.of(item("job-1", 0), item("job-1", 1), item("job-1", 2)));
+
+        queue.claim("node-a", Duration.ofMinutes(1));
+        queue.claim("node-a", Duration.ofMillis(100));
+        assertThat(queue.backlog()).isEqualTo(1);
+
+        Thread.sleep(200);
+
+        assertThat(queue.backlog()).as("expired lease is claimable again").isEqualTo(2);
+    }
+}
@@ -0,0 +1,53 @@
+package org.k3cs1.subtitletranslatorapp.repository;
+
+import org.junit.jupiter.api.Test;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationJobStatusResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class InMemoryJobRepositoryTest {
+
+    private final InMemoryJobRepository repository = new InMemoryJobRepository();
+
+    @Test
+    void registerOrAttach_attachesToInFlightJob() {
+        String first = repository.registerOrAttach("fp", "job-1", TranslationJobStatusResponse.pending("job-1", "a.srt", 2));
+        String second = repository.registerOrAttach("fp", "job-2", TranslationJobStatusResponse.pending("job-2", "a.srt", 2));
+
+        assertThat(first).isEqualTo("job-1");
+        assertThat(second).isEqualTo("job-1");
+        assertThat(repository.get("job-2")).isNull();
+    }
+
+    @Test
+    void registerOrAttach_replacesFailedJob() {
+        repository.registerOrAttach("fp", "job-1", TranslationJobStatusResponse.pending("job-1", "a.srt", 2));
+        repository.store("job-1", TranslationJobStatusResponse.failed("job-1", "a.srt", "boom"));
+
+        String owner = repository.registerOrAttach("fp", "job-2", TranslationJobStatusResponse.pending("job-2", "a.srt", 2));
+
+        assertThat(owner).isEqualTo("job-2");
+        assertThat(repository.get("job-2").status()).isEqualTo("PENDING");
+    }
+
+    @Test
+    void updateProgress_onlyTouchesKnownJobs() {
+        repository.store("job-1", TranslationJobStatusResponse.pending("job-1", "a.srt", 4));
+
+        repository.updateProgress("job-1", 2, 4);
+        repository.updateProgress("missing", 1, 1);
+
+        assertThat(repository.get("job-1")).isEqualTo(TranslationJobStatusResponse.processing("job-1", "a.srt", 2, 4));
+        assertThat(repository.get("missing")).isNull();
+    }
+
+    @Test
+    void countByStatus_groupsStoredJobs() {
+        repository.store("job-1", TranslationJobStatusResponse.pending("job-1", "a.srt", 4));
+        repository.store("job-2", TranslationJobStatusResponse.failed("job-2", "b.srt", "boom"));
+        repository.store("job-3", TranslationJobStatusResponse.failed("job-3", "c.srt", "boom"));
+
+        assertThat(repository.countByStatus()).containsOnly(entry("PENDING", 1L), entry("FAILED", 2L));
+    }
+}
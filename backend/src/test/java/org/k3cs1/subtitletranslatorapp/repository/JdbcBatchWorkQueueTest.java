@@ -0,0 +1,72 @@
+package org.k3cs1.subtitletranslatorapp.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.k3cs1.subtitletranslatorapp.model.BatchOutcome;
+import org.k3cs1.subtitletranslatorapp.model.BatchTokenUsage;
+import org.k3cs1.subtitletranslatorapp.model.BatchWorkItem;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JdbcBatchWorkQueueTest {
+
+    private EmbeddedDatabase database;
+    private JdbcBatchWorkQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        queue = new JdbcBatchWorkQueue(new JdbcTemplate(database), new ObjectMapper());
+        ReflectionTestUtils.setField(queue, "initializeSchema", true);
+        queue.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void claimAndComplete_roundTripsBatchAcrossNodes() {
+        SrtEntry entry = new SrtEntry(1, "00:00:01,000 --> 00:00:02,000", List.of("Hello"));
+        queue.publish("job-1", List.of(
+                new BatchWorkItem("job-1:0", "job-1", 0, "HU", List.of(entry)),
+                new BatchWorkItem("job-1:1", "job-1", 1, "HU", List.of(entry))));
+
+        Optional<BatchWorkItem> first = queue.claim("node-a", Duration.ofMinutes(1));
+        Optional<BatchWorkItem> second = queue.claim("node-b", Duration.ofMinutes(1));
+
+        assertThat(first).map(BatchWorkItem::batchId).contains("job-1:0");
+        assertThat(first.orElseThrow().entries()).containsExactly(entry);
+        assertThat(second).map(BatchWorkItem::batchId).contains("job-1:1");
+        assertThat(queue.claim("node-c", Duration.ofMinutes(1))).isEmpty();
+        assertThat(queue.backlog()).isZero();
+
+        Map<String, BatchTokenUsage> usage = Map.of("gpt-5", new BatchTokenUsage(100, 40, 2_000_000_000L, 1));
+        queue.complete("job-1:0", Map.of(1, List.of("Szia")), usage);
+        queue.fail("job-1:1", "boom", 1);
+
+        assertThat(queue.outcomes("job-1"))
+                .containsEntry("job-1:0", BatchOutcome.success("job-1:0", Map.of(1, List.of("Szia")), usage))
+                .containsEntry("job-1:1", BatchOutcome.failure("job-1:1", "boom"));
+
+        queue.removeJob("job-1");
+        assertThat(queue.outcomes("job-1")).isEmpty();
+    }
+}
@@ -0,0 +1,113 @@
+package org.k3cs1.subtitletranslatorapp.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationJobStatusResponse;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationTokenUsage;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JdbcJobRepositoryTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private JdbcJobRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        repository = new JdbcJobRepository(jdbcTemplate, new ObjectMapper());
+        ReflectionTestUtils.setField(repository, "initializeSchema", true);
+        repository.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void store_roundTripsStatus() {
+        repository.store("job-1", TranslationJobStatusResponse.pending("job-1", "a.srt", 10));
+        repository.store("job-1", TranslationJobStatusResponse.completed("job-1", "a.srt", "a_hu.srt", "QUJD", 10));
+
+        TranslationJobStatusResponse status = repository.get("job-1");
+
+        assertThat(status).isEqualTo(TranslationJobStatusResponse.completed("job-1", "a.srt", "a_hu.srt", "QUJD", 10));
+        assertThat(repository.get("missing")).isNull();
+    }
+
+    @Test
+    void updateProgress_isBufferedUntilFlush() {
+        repository.store("job-1", TranslationJobStatusResponse.pending("job-1", "a.srt", 10));
+
+        repository.updateProgress("job-1", 4, 10);
+        Integer persistedBeforeFlush = jdbcTemplate.queryForObject(
+                "SELECT translated_entries FROM translation_jobs WHERE job_id = 'job-1'", Integer.class);
+        assertThat(persistedBeforeFlush).isZero();
+        assertThat(repository.get("job-1").translatedEntries()).isEqualTo(4);
+
+        repository.flushProgress();
+
+        assertThat(new JdbcJobRepository(jdbcTemplate, new ObjectMapper()).get("job-1"))
+                .isEqualTo(TranslationJobStatusResponse.processing("job-1", "a.srt", 4, 10));
+    }
+
+    @Test
+    void updateTokenUsage_isFlushedAndKeptWithTheCompletedJob() {
+        TranslationTokenUsage usage = TranslationTokenUsage.of(200, 80, 2, 4000, null,
+                Map.of("Hungarian", TranslationTokenUsage.of(200, 80, 2, 4000, null, null)));
+        repository.store("job-1", TranslationJobStatusResponse.pending("job-1", "a.srt", 2));
+
+        repository.updateTokenUsage("job-1", usage);
+        repository.updateProgress("job-1", 2, 2);
+        assertThat(repository.get("job-1").tokenUsage()).isEqualTo(usage);
+        repository.flushProgress();
+        assertThat(new JdbcJobRepository(jdbcTemplate, new ObjectMapper()).get("job-1").tokenUsage()).isEqualTo(usage);
+
+        repository.store("job-1", TranslationJobStatusResponse.completed("job-1", "a.srt", "a_hu.srt", "QUJD", 2)
+                .withTokenUsage(usage));
+        assertThat(repository.get("job-1").tokenUsage().languages()).containsOnlyKeys("Hungarian");
+    }
+
+    @Test
+    void flushProgress_neverOverwritesTerminalStatus() {
+        repository.store("job-1", TranslationJobStatusResponse.pending("job-1", "a.srt", 10));
+        repository.updateProgress("job-1", 10, 10);
+        jdbcTemplate.update("UPDATE translation_jobs SET status = 'FAILED' WHERE job_id = 'job-1'");
+
+        repository.flushProgress();
+
+        assertThat(repository.get("job-1").status()).isEqualTo("FAILED");
+    }
+
+    @Test
+    void registerOrAttach_sharesOwnerAcrossInstances() {
+        JdbcJobRepository otherInstance = new JdbcJobRepository(jdbcTemplate, new ObjectMapper());
+
+        String first = repository.registerOrAttach("fp", "job-1", TranslationJobStatusResponse.pending("job-1", "a.srt", 2));
+        String second = otherInstance.registerOrAttach("fp", "job-2", TranslationJobStatusResponse.pending("job-2", "a.srt", 2));
+
+        assertThat(first).isEqualTo("job-1");
+        assertThat(second).isEqualTo("job-1");
+        assertThat(repository.get("job-2")).isNull();
+
+        repository.store("job-1", TranslationJobStatusResponse.failed("job-1", "a.srt", "boom"));
+        String retry = otherInstance.registerOrAttach("fp", "job-3", TranslationJobStatusResponse.pending("job-3", "a.srt", 2));
+
+        assertThat(retry).isEqualTo("job-3");
+    }
+}
@@ -0,0 +1,88 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.k3cs1.subtitletranslatorapp.dto.UploadSessionResponse;
+import org.k3cs1.subtitletranslatorapp.exception.InvalidArgumentException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ChunkedUploadServiceTest {
+
+    private static final String CONTENT = """
+            1
+            00:00:01,000 --> 00:00:02,000
+            Hello
+
+            """;
+
+    private ChunkedUploadService service;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) {
+        service = new ChunkedUploadService();
+        ReflectionTestUtils.setField(service, "uploadDir", tempDir);
+        ReflectionTestUtils.setField(service, "chunkSize", 16);
+        ReflectionTestUtils.setField(service, "maxFileBytes", 1024L);
+        ReflectionTestUtils.setField(service, "retentionMs", 60_000L);
+        service.init();
+    }
+
+    @Test
+    void chunksArriveOutOfOrderAndCanBeResent() throws Exception {
+        byte[] content = CONTENT.getBytes(StandardCharsets.UTF_8);
+        UploadSessionResponse started = service.start("movie.srt", content.length);
+        assertThat(started.totalChunks()).isEqualTo(3);
+
+        service.writeChunk(started.uploadId(), 2, chunk(content, 2));
+        service.writeChunk(started.uploadId(), 0, chunk(content, 0));
+        // Retry of an already stored chunk
+        service.writeChunk(started.uploadId(), 0, chunk(content, 0));
+
+        UploadSessionResponse partial = service.status(started.uploadId());
+        assertThat(partial.receivedChunks()).containsExactly(0, 2);
+        assertThat(partial.complete()).isFalse();
+        assertThrows(InvalidArgumentException.class, () -> service.complete(started.uploadId()));
+
+        service.writeChunk(started.uploadId(), 1, chunk(content, 1));
+        Path completed = service.complete(started.uploadId());
+
+        assertThat(Files.readString(completed)).isEqualTo(CONTENT);
+        assertThat(service.status(started.uploadId())).isNull();
+    }
+
+    @Test
+    void rejectsChunkOfWrongSizeAndInvalidContent() throws Exception {
+        byte[] content = "not a subtitle file".getBytes(StandardCharsets.UTF_8);
+        UploadSessionResponse started = service.start("movie.srt", content.length);
+
+        assertThrows(InvalidArgumentException.class, () -> service.writeChunk(
+                started.uploadId(), 0, new ByteArrayInputStream(Arrays.copyOf(content, 10))));
+
+        service.writeChunk(started.uploadId(), 0, chunk(content, 0));
+        service.writeChunk(started.uploadId(), 1, chunk(content, 1));
+        assertThrows(IllegalArgumentException.class, () -> service.complete(started.uploadId()));
+        assertThat(service.status(started.uploadId())).isNull();
+    }
+
+    @Test
+    void refusesUploadsInDistributedMode() {
+        ReflectionTestUtils.setField(service, "distributed", true);
+
+        assertThrows(IllegalStateException.class, () -> service.start("movie.srt", 64));
+    }
+
+    private static ByteArrayInputStream chunk(byte[] content, int index) {
+        int from = index * 16;
+        return new ByteArrayInputStream(Arrays.copyOfRange(content, from, Math.min(content.length, from + 16)));
+    }
+}
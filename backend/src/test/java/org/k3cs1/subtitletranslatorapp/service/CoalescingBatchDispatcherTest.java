@@ -0,0 +1,130 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingBatchDispatcherTest {
+
+    @Mock
+    private SrtTranslatorService translator;
+
+    private ExecutorService executor;
+    private CoalescingBatchDispatcher dispatcher;
+    private TranslationTuning tuning;
+    private final InMemorySpanExporter spans = InMemorySpanExporter.create();
+    private TranslationTracing tracing;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        tuning = new TranslationTuning(new TranslationTuning.Settings(60, 12000, 5),
+                new TranslationMetrics(new SimpleMeterRegistry()));
+        tracing = new TranslationTracing(OpenTelemetrySdk.builder()
+                .setTracerProvider(SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(spans)).build())
+                .build());
+        dispatcher = new CoalescingBatchDispatcher(translator, executor, tuning, tracing);
+        ReflectionTestUtils.setField(dispatcher, "enabled", true);
+        ReflectionTestUtils.setField(dispatcher, "windowMs", 200L);
+        ReflectionTestUtils.setField(dispatcher, "maxBatchEntries", 40);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void submit_coalescesJobsWithSameLanguageAndKeepsTheirIndices() throws Exception {
+        when(translator.translateBatch(anyList(), eq("HU"))).thenAnswer(invocation -> {
+            List<SrtEntry> combined = invocation.getArgument(0);
+            Map<Integer, List<String>> result = new HashMap<>();
+            for (SrtEntry e : combined) {
+                result.put(e.index(), List.of("T:" + e.originalText()));
+            }
+            return result;
+        });
+
+        // Both jobs use index 1; the shared payload must not mix them up
+        CompletableFuture<Map<Integer, List<String>>> jobA = dispatcher.submit(
+                List.of(new SrtEntry(1, "00:00:01,000 --> 00:00:02,000", List.of("A"))), "HU");
+        CompletableFuture<Map<Integer, List<String>>> jobB = dispatcher.submit(
+                List.of(new SrtEntry(1, "00:00:01,000 --> 00:00:02,000", List.of("B"))), " hu ");
+
+        assertThat(jobA.join()).containsExactly(Map.entry(1, List.of("T:A")));
+        assertThat(jobB.join()).containsExactly(Map.entry(1, List.of("T:B")));
+        verify(translator, times(1)).translateBatch(anyList(), eq("HU"));
+    }
+
+    @Test
+    void submit_linksCoalescedCallToEveryContributingBatch() throws Exception {
+        when(translator.translateBatch(anyList(), eq("HU"))).thenReturn(Map.of(1, List.of("T"), 2, List.of("T")));
+        Span batchA = tracing.start("translation.batch", Attributes.empty());
+        Span batchB = tracing.start("translation.batch", Attributes.empty());
+
+        CompletableFuture<Map<Integer, List<String>>> jobA;
+        try (Scope ignored = batchA.makeCurrent()) {
+            jobA = dispatcher.submit(List.of(new SrtEntry(1, "00:00:01,000 --> 00:00:02,000", List.of("A"))), "HU");
+        }
+        try (Scope ignored = batchB.makeCurrent()) {
+            dispatcher.submit(List.of(new SrtEntry(1, "00:00:01,000 --> 00:00:02,000", List.of("B"))), "HU").join();
+        }
+        jobA.join();
+
+        // The shared call belongs to the trace of the job that opened the group and is linked from both
+        SpanData call = spans.getFinishedSpanItems().stream()
+                .filter(s -> s.getName().equals("translation.coalesced_call"))
+                .findFirst().orElseThrow();
+        assertThat(call.getParentSpanId()).isEqualTo(batchA.getSpanContext().getSpanId());
+        assertThat(call.getLinks()).extracting(LinkData::getSpanContext)
+                .containsExactly(batchA.getSpanContext(), batchB.getSpanContext());
+        assertThat(call.getAttributes().get(TranslationTracing.COALESCED_BATCHES)).isEqualTo(2L);
+    }
+
+    @Test
+    void submit_sendsFullGroupWithoutWaitingForWindow() throws Exception {
+        // Applies to groups built after a runtime tuning change
+        tuning.update(1, null, null, "test");
+        when(translator.translateBatch(anyList(), eq("HU"))).thenReturn(Map.of(1, List.of("T")));
+
+        CompletableFuture<Map<Integer, List<String>>> first = dispatcher.submit(
+                List.of(new SrtEntry(1, "00:00:01,000 --> 00:00:02,000", List.of("A"))), "HU");
+        dispatcher.submit(List.of(new SrtEntry(2, "00:00:03,000 --> 00:00:04,000", List.of("B"))), "HU");
+
+        // The first group is full, so it is sent as soon as the second batch arrives
+        assertThat(first.get(100, TimeUnit.MILLISECONDS)).containsEntry(1, List.of("T"));
+
+        verify(translator, times(1)).translateBatch(anyList(), eq("HU"));
+    }
+}
@@ -0,0 +1,37 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import org.junit.jupiter.api.Test;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CueComplexityClassifierTest {
+
+    private final CueComplexityClassifier classifier = new CueComplexityClassifier(90, 0.2);
+
+    @Test
+    void flagsLongFormattedMultiLineAndUncommonVocabularyCues() {
+        assertThat(classifier.isHard(cue("Where are you going?"))).isFalse();
+        assertThat(classifier.isHard(cue("x".repeat(91)))).isTrue();
+        assertThat(classifier.isHard(cue("One", "Two", "Three"))).isTrue();
+        assertThat(classifier.isHard(cue("{\\an8}Upstairs"))).isTrue();
+        assertThat(classifier.isHard(cue("<font color=\"red\">Run</font>"))).isTrue();
+        assertThat(classifier.isHard(cue("Pseudohypoparathyroidism again?"))).isTrue();
+        assertThat(classifier.isHard(cue("Thermodynamic equilibrium considerations everywhere"))).isTrue();
+    }
+
+    @Test
+    void batchStaysFastWhileHardShareIsWithinLimit() {
+        List<SrtEntry> mostlyEasy = List.of(cue("Hi."), cue("Yes."), cue("No."), cue("Okay."), cue("<i>Hm.</i>"));
+        assertThat(classifier.classify(mostlyEasy)).isEqualTo(CueComplexityClassifier.Tier.FAST);
+
+        List<SrtEntry> mixed = List.of(cue("Hi."), cue("Yes."), cue("<i>No.</i>"), cue("<i>Hm.</i>"));
+        assertThat(classifier.classify(mixed)).isEqualTo(CueComplexityClassifier.Tier.STRONG);
+    }
+
+    private static SrtEntry cue(String... lines) {
+        return new SrtEntry(1, "00:00:01,000 --> 00:00:02,000", List.of(lines));
+    }
+}
@@ -0,0 +1,81 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.ExpectedCount.times;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class DeeplTranslatorServiceImplTest {
+
+    private MockRestServiceServer server;
+    private DeeplTranslatorServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).build();
+        service = new DeeplTranslatorServiceImpl(builder, new TranslationMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(service, "deeplBaseUrl", "https://deepl.test");
+        ReflectionTestUtils.setField(service, "authKey", "key");
+        service.init();
+    }
+
+    @Test
+    void mapsLanguageNamesToDeeplTargetCodes() {
+        assertThat(DeeplLanguages.targetCode("Hungarian")).isEqualTo("HU");
+        assertThat(DeeplLanguages.targetCode("german")).isEqualTo("DE");
+        assertThat(DeeplLanguages.targetCode("pt-BR")).isEqualTo("PT-BR");
+        assertThat(DeeplLanguages.targetCode("English")).isEqualTo("EN-US");
+        assertThat(DeeplLanguages.targetCode("Hungary")).isEqualTo("HU");
+        assertThat(DeeplLanguages.targetCode("Klingon")).isNull();
+        assertThat(service.supports("Klingon")).isFalse();
+    }
+
+    @Test
+    void sendsAtMostFiftyTextsPerRequestAndRestoresLineBreaks() {
+        List<SrtEntry> batch = new ArrayList<>();
+        for (int i = 1; i <= 51; i++) {
+            batch.add(new SrtEntry(i, "00:00:01,000 --> 00:00:02,000", List.of("Line " + i, "second")));
+        }
+        server.expect(times(1), requestTo("https://deepl.test/v2/translate"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(jsonPath("$.target_lang").value("HU"))
+                .andExpect(jsonPath("$.source_lang").doesNotExist())
+                .andExpect(jsonPath("$.text.length()").value(50))
+                .andRespond(withSuccess(translations(50), MediaType.APPLICATION_JSON));
+        server.expect(times(1), requestTo("https://deepl.test/v2/translate"))
+                .andExpect(jsonPath("$.text.length()").value(1))
+                .andRespond(withSuccess(translations(1), MediaType.APPLICATION_JSON));
+
+        Map<Integer, List<String>> translated = service.translateBatch(batch, "Hungarian");
+
+        server.verify();
+        assertThat(translated).hasSize(51);
+        assertThat(translated.get(1)).containsExactly("Sor", "második");
+        assertThat(translated.get(51)).containsExactly("Sor", "második");
+    }
+
+    private static String translations(int count) {
+        StringBuilder json = new StringBuilder("{\"translations\":[");
+        for (int i = 0; i < count; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"text\":\"Sor\\nmásodik\"}");
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,59 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import org.junit.jupiter.api.Test;
+import org.k3cs1.subtitletranslatorapp.exception.InvalidArgumentException;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DeltaTranslationPlannerTest {
+
+    @Test
+    void reusesUnchangedAndRetimedCuesOnly() {
+        List<SrtEntry> previousSource = List.of(
+                new SrtEntry(1, "00:00:01,000 --> 00:00:02,000", List.of("Hello")),
+                new SrtEntry(2, "00:00:03,000 --> 00:00:04,000", List.of("How are you?")),
+                new SrtEntry(3, "00:00:05,000 --> 00:00:06,000", List.of("Fine")));
+        List<SrtEntry> previousTranslation = List.of(
+                new SrtEntry(1, "00:00:01,000 --> 00:00:02,000", List.of("Szia")),
+                new SrtEntry(2, "00:00:03,000 --> 00:00:04,000", List.of("Hogy vagy?")),
+                new SrtEntry(3, "00:00:05,000 --> 00:00:06,000", List.of("Jól")));
+        List<SrtEntry> revised = List.of(
+                // retimed, same text
+                new SrtEntry(1, "00:00:01,500 --> 00:00:02,500", List.of("Hello")),
+                // corrected line
+                new SrtEntry(2, "00:00:03,000 --> 00:00:04,000", List.of("How are you doing?")),
+                // re-wrapped, same text
+                new SrtEntry(3, "00:00:05,000 --> 00:00:06,000", List.of("  Fine ")));
+
+        Map<Integer, List<String>> reused =
+                DeltaTranslationPlanner.reusableTranslations(previousSource, previousTranslation, revised);
+
+        assertThat(reused).containsOnlyKeys(1, 3);
+        assertThat(reused.get(1)).containsExactly("Szia");
+        assertThat(reused.get(3)).containsExactly("Jól");
+    }
+
+    @Test
+    void repeatedTextUsesTheNearestPreviousCue() {
+        List<SrtEntry> previousSource = List.of(
+                new SrtEntry(1, "00:00:01,000 --> 00:00:02,000", List.of("Yes")),
+                new SrtEntry(2, "00:10:00,000 --> 00:10:01,000", List.of("Yes")));
+        List<SrtEntry> previousTranslation = List.of(
+                new SrtEntry(1, "00:00:01,000 --> 00:00:02,000", List.of("Igen")),
+                new SrtEntry(2, "00:10:00,000 --> 00:10:01,000", List.of("Persze")));
+        List<SrtEntry> revised = List.of(
+                new SrtEntry(1, "00:09:58,000 --> 00:09:59,000", List.of("Yes")));
+
+        Map<Integer, List<String>> reused =
+                DeltaTranslationPlanner.reusableTranslations(previousSource, previousTranslation, revised);
+
+        assertThat(reused.get(1)).containsExactly("Persze");
+        assertThrows(InvalidArgumentException.class, () -> DeltaTranslationPlanner.reusableTranslations(
+                previousSource, previousTranslation.subList(0, 1), revised));
+    }
+}
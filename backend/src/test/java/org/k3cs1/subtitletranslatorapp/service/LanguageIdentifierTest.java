@@ -0,0 +1,73 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LanguageIdentifierTest {
+
+    private final LanguageIdentifier identifier = new LanguageIdentifier();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(identifier, "enabled", true);
+        identifier.init();
+    }
+
+    @Test
+    void recognizesCuesNotInTheSamples() {
+        assertThat(identifier.isConfidentlyIn("Nem tudom, hová tettem a kulcsaimat.", "hu")).isTrue();
+        assertThat(identifier.isConfidentlyIn("I have no idea where I left my keys.", "en")).isTrue();
+        assertThat(identifier.isConfidentlyIn("Ich habe keine Ahnung, wo meine Schlüssel sind.", "de")).isTrue();
+        assertThat(identifier.isConfidentlyIn("Je ne sais pas où j'ai mis mes clés.", "fr")).isTrue();
+        assertThat(identifier.isConfidentlyIn("Ik weet niet waar ik mijn sleutels heb gelaten.", "nl")).isTrue();
+        assertThat(identifier.isConfidentlyIn("Não sei onde deixei as minhas chaves.", "pt")).isTrue();
+        assertThat(identifier.isConfidentlyIn("I have no idea where I left my keys.", "hu")).isFalse();
+    }
+
+    @Test
+    void staysUnsureAboutShortOrUnprofiledText() {
+        assertThat(identifier.detect("Okay.")).isNull();
+        assertThat(identifier.isConfidentlyIn("Я не знаю, где мои ключи, честное слово.", "en")).isFalse();
+        assertThat(identifier.isConfidentlyIn("Я не знаю, где мои ключи, честное слово.", "hu")).isFalse();
+    }
+
+    @Test
+    void doesNotTakeCloseLanguagesForAProfiledOne() {
+        // Danish, Norwegian and Frisian next to Dutch and Swedish
+        assertThat(identifier.isConfidentlyIn("Jeg ved ikke hvor jeg har lagt mine nøgler.", "nl")).isFalse();
+        assertThat(identifier.isConfidentlyIn("Jeg ved ikke hvor jeg har lagt mine nøgler.", "sv")).isFalse();
+        assertThat(identifier.isConfidentlyIn("Jeg vet ikke hvor jeg har lagt nøklene mine.", "nl")).isFalse();
+        assertThat(identifier.isConfidentlyIn("Jeg vet ikke hvor jeg har lagt nøklene mine.", "sv")).isFalse();
+        assertThat(identifier.isConfidentlyIn("Ik wit net wêr't ik myn kaaien litten ha.", "nl")).isFalse();
+        // Slovak and Slovenian next to Czech
+        assertThat(identifier.isConfidentlyIn("Neviem, kam som dal svoje kľúče.", "cs")).isFalse();
+        assertThat(identifier.isConfidentlyIn("Ne vem, kam sem dal svoje ključe.", "cs")).isFalse();
+        // Galician next to Portuguese and Spanish
+        assertThat(identifier.isConfidentlyIn("Non sei onde deixei as miñas chaves.", "pt")).isFalse();
+        assertThat(identifier.isConfidentlyIn("Non teño nin idea de que estás a falar.", "es")).isFalse();
+        // No neighbour profile at all: rejected by the coverage floor
+        assertThat(identifier.isConfidentlyIn("Ech weess net, wou ech meng Schlësselen higeluecht hunn.", "de")).isFalse();
+        assertThat(identifier.isConfidentlyIn("Sabi pas ont ai daissat mas claus.", "fr")).isFalse();
+    }
+
+    @Test
+    void isOffUnlessEnabled() {
+        LanguageIdentifier byDefault = new LanguageIdentifier();
+        byDefault.init();
+
+        assertThat(byDefault.isEnabled()).isFalse();
+        assertThat(byDefault.isConfidentlyIn("I have no idea where I left my keys.", "en")).isFalse();
+    }
+
+    @Test
+    void resolvesTargetLanguageLabels() {
+        assertThat(identifier.languageCode("Hungarian")).isEqualTo("hu");
+        assertThat(identifier.languageCode("Hungary")).isEqualTo("hu");
+        assertThat(identifier.languageCode("pt-BR")).isEqualTo("pt");
+        assertThat(identifier.languageCode("Japanese")).isNull();
+        assertThat(identifier.languageCode("Danish")).isNull();
+    }
+}
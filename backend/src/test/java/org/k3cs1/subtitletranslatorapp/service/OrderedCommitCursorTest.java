@@ -0,0 +1,59 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import org.junit.jupiter.api.Test;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrderedCommitCursorTest {
+
+    private final List<SrtEntry> entries = List.of(
+            new SrtEntry(1, "00:00:01,000 --> 00:00:02,000", List.of("One")),
+            new SrtEntry(2, "00:00:03,000 --> 00:00:04,000", List.of("Two")),
+            new SrtEntry(3, "00:00:05,000 --> 00:00:06,000", List.of("Three")));
+
+    @Test
+    void commitsOnlyTheContiguousTranslatedPrefix() throws Exception {
+        Map<Integer, List<String>> translated = new ConcurrentHashMap<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        OrderedCommitCursor cursor = new OrderedCommitCursor(entries, translated, out);
+
+        // A later batch finishing first must not be written yet
+        translated.put(2, List.of("Kettő"));
+        cursor.advance();
+        assertThat(cursor.committedEntries()).isZero();
+        assertThat(out.size()).isZero();
+
+        translated.put(1, List.of("Egy"));
+        cursor.advance();
+        assertThat(cursor.committedEntries()).isEqualTo(2);
+        assertThat(cursor.awaitCommittedBytes(0)).isEqualTo(out.size());
+        assertThat(out.toString(StandardCharsets.UTF_8).lines()).containsExactly(
+                "1", "00:00:01,000 --> 00:00:02,000", "Egy", "",
+                "2", "00:00:03,000 --> 00:00:04,000", "Kettő", "");
+
+        // Entries the translator skipped keep their original text
+        cursor.finish();
+        assertThat(cursor.committedEntries()).isEqualTo(3);
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("Three");
+        assertThat(cursor.awaitCommittedBytes(out.size())).isEqualTo(out.size());
+    }
+
+    @Test
+    void readersSeeFailureOnceNothingMoreIsCommitted() {
+        OrderedCommitCursor cursor = new OrderedCommitCursor(entries, new ConcurrentHashMap<>(), new ByteArrayOutputStream());
+
+        cursor.fail("Translation failed: quota");
+
+        IOException failure = assertThrows(IOException.class, () -> cursor.awaitCommittedBytes(0));
+        assertThat(failure.getMessage()).isEqualTo("Translation failed: quota");
+    }
+}
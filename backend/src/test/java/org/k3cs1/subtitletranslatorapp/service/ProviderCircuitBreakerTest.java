@@ -0,0 +1,52 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProviderCircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final ProviderCircuitBreaker breaker = new ProviderCircuitBreaker("openai", 60_000, 4, 0.5, 30_000, now::get);
+
+    @Test
+    void opensOnFailureRateAndClosesAfterSuccessfulTrialCall() {
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(ProviderCircuitBreaker.State.CLOSED); // below minimum calls
+
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(ProviderCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        now.addAndGet(30_000);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.state()).isEqualTo(ProviderCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isFalse(); // only one trial call at a time
+
+        breaker.onSuccess();
+        assertThat(breaker.state()).isEqualTo(ProviderCircuitBreaker.State.CLOSED);
+        assertThat(breaker.failureRate()).isZero();
+        assertThat(breaker.transitions()).containsEntry(ProviderCircuitBreaker.State.OPEN, 1L)
+                .containsEntry(ProviderCircuitBreaker.State.HALF_OPEN, 1L)
+                .containsEntry(ProviderCircuitBreaker.State.CLOSED, 1L);
+    }
+
+    @Test
+    void failedTrialCallReopensAndOldFailuresLeaveTheWindow() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        now.addAndGet(30_000);
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(ProviderCircuitBreaker.State.OPEN);
+        assertThat(breaker.transitions()).containsEntry(ProviderCircuitBreaker.State.OPEN, 2L);
+
+        now.addAndGet(120_000);
+        assertThat(breaker.failureRate()).isZero();
+    }
+}
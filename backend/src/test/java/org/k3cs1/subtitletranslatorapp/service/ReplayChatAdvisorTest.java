@@ -0,0 +1,70 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.k3cs1.subtitletranslatorapp.codec.BatchPayloadCodec;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReplayChatAdvisorTest {
+
+    private static final String SYSTEM = "Translate into Spanish.";
+    private final BatchPayloadCodec codec = BatchPayloadCodec.named("compact");
+
+    @Test
+    void replaysRecordedCallsAndAssemblesRebatchedRequestsFromRecordedCues(@TempDir Path tempDir) throws Exception {
+        Path fixture = tempDir.resolve("llm.jsonl.gz");
+        ChatModel model = mock(ChatModel.class);
+        when(model.call(any(Prompt.class))).thenReturn(ChatResponse.builder()
+                .generations(List.of(new Generation(new AssistantMessage("#1\nHola\n#2\nMundo"))))
+                .metadata(ChatResponseMetadata.builder().usage(new DefaultUsage(30, 8)).build())
+                .build());
+        try (RecordingChatAdvisor recorder = new RecordingChatAdvisor(fixture)) {
+            String reply = ChatClient.builder(model).defaultAdvisors(recorder).build()
+                    .prompt().system(SYSTEM).user(SrtTranslatorServiceImpl.USER_PROMPT_PREFIX + "#1\nHello\n#2\nWorld")
+                    .call().content();
+            assertThat(reply).isEqualTo("#1\nHola\n#2\nMundo");
+        }
+
+        assertThat(LlmFixture.read(fixture)).singleElement().satisfies(exchange -> {
+            assertThat(exchange.promptTokens()).isEqualTo(30);
+            assertThat(exchange.latencyNanos()).isPositive();
+        });
+
+        ChatModel offline = mock(ChatModel.class);
+        ChatClient replay = ChatClient.builder(offline)
+                .defaultAdvisors(new ReplayChatAdvisor(fixture, codec, 0))
+                .build();
+        ChatResponse same = replay.prompt().system(SYSTEM)
+                .user(SrtTranslatorServiceImpl.USER_PROMPT_PREFIX + "#1\nHello\n#2\nWorld")
+                .call().chatResponse();
+        assertThat(same.getResult().getOutput().getText()).isEqualTo("#1\nHola\n#2\nMundo");
+        assertThat(same.getMetadata().getUsage().getCompletionTokens()).isEqualTo(8);
+
+        // A batch cut differently than the recorded one
+        String rebatched = replay.prompt().system(SYSTEM)
+                .user(SrtTranslatorServiceImpl.USER_PROMPT_PREFIX + "#2\nWorld")
+                .call().content();
+        assertThat(codec.decode(rebatched)).containsExactlyEntriesOf(Map.of(2, List.of("Mundo")));
+
+        assertThrows(IllegalStateException.class, () -> replay.prompt().system(SYSTEM)
+                .user(SrtTranslatorServiceImpl.USER_PROMPT_PREFIX + "#3\nGoodbye")
+                .call().content());
+        verify(offline, never()).call(any(Prompt.class));
+    }
+}
@@ -1,13 +1,24 @@
 package org.k3cs1.subtitletranslatorapp.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.k3cs1.subtitletranslatorapp.exception.ProviderResponseException;
 import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
 import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -19,7 +30,10 @@ import java.util.Objects;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -40,12 +54,19 @@ class SrtTranslatorServiceImplTest {
     @Mock
     private ChatClient.CallResponseSpec responseSpec;
 
+    private final PayloadCodecStatistics codecStatistics = new PayloadCodecStatistics();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final InMemorySpanExporter spans = InMemorySpanExporter.create();
+
     private SrtTranslatorServiceImpl service;
 
     @BeforeEach
     @SuppressWarnings({"NullAway", "nullness"})
     void setUp() {
-        service = new SrtTranslatorServiceImpl(builder);
+        service = new SrtTranslatorServiceImpl(builder, codecStatistics, new TranslationMetrics(registry),
+                new TranslationTracing(OpenTelemetrySdk.builder()
+                        .setTracerProvider(SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(spans)).build())
+                        .build()));
         SrtTranslatorServiceImpl target = Objects.requireNonNull(service);
         byte[] systemBytes = "System: {{TARGET_LANGUAGE}}".getBytes(StandardCharsets.UTF_8);
         ReflectionTestUtils.setField(
@@ -75,7 +96,7 @@ class SrtTranslatorServiceImplTest {
                 <<<END>>>
                 """;
         when(requestSpec.call()).thenReturn(responseSpec);
-        when(responseSpec.content()).thenReturn(response);
+        when(responseSpec.chatResponse()).thenReturn(chatResponse(response));
 
         Map<Integer, List<String>> result = service.translateBatch(batch, "  HU  ");
 
@@ -97,6 +118,36 @@ class SrtTranslatorServiceImplTest {
                 "<<<END>>>"
         );
         verify(requestSpec).user(Objects.requireNonNull(expectedUser));
+        assertThat(codecStatistics.snapshot()).singleElement()
+                .satisfies(stats -> {
+                    assertThat(stats.codec()).isEqualTo("markers");
+                    assertThat(stats.cues()).isEqualTo(2);
+                    assertThat(stats.estimatedCalls()).isEqualTo(1);
+                });
+        assertThat(registry.get("translation.model.call").tags("provider", "openai", "model", "default").timer().count())
+                .isEqualTo(1);
+        assertThat(spans.getFinishedSpanItems()).extracting(SpanData::getName)
+                .containsExactly("translation.llm.call", "translation.response.parse");
+        assertThat(spans.getFinishedSpanItems().getFirst().getAttributes().get(AttributeKey.stringKey("gen_ai.request.model")))
+                .isEqualTo("default");
+    }
+
+    @Test
+    void translateBatch_usesConfiguredCodec() throws IOException {
+        ReflectionTestUtils.setField(service, "payloadCodecName", "compact");
+        ReflectionTestUtils.setField(service, "systemMessageResource",
+                new ByteArrayResource("Into {{TARGET_LANGUAGE}}\n{{FORMAT_RULES}}".getBytes(StandardCharsets.UTF_8)));
+        service.init();
+        List<SrtEntry> batch = List.of(
+                new SrtEntry(7, "00:00:01,000 --> 00:00:02,000", List.of("Hello", "World")));
+        when(requestSpec.call()).thenReturn(responseSpec);
+        when(responseSpec.chatResponse()).thenReturn(chatResponse("#7\nHola\nMundo\n"));
+
+        Map<Integer, List<String>> result = service.translateBatch(batch, "ES");
+
+        assertThat(result).containsExactly(Map.entry(7, List.of("Hola", "Mundo")));
+        verify(requestSpec).user("Translate this SRT text payload:\n\n#7\nHello\nWorld");
+        assertThat(codecStatistics.snapshot()).extracting("codec").containsExactly("compact");
     }
 
     @Test
@@ -120,8 +171,44 @@ class SrtTranslatorServiceImplTest {
                 new SrtEntry(1, "00:00:01,000 --> 00:00:02,000", List.of("Hello"))
         );
         when(requestSpec.call()).thenReturn(responseSpec);
-        when(responseSpec.content()).thenReturn("<<<ENTRY X>>>\nBoom\n<<<END>>>");
+        when(responseSpec.chatResponse()).thenReturn(chatResponse("<<<ENTRY X>>>\nBoom\n<<<END>>>"));
+
+        assertThrows(ProviderResponseException.class, () -> service.translateBatch(batch, "EN"));
+    }
+
+    @Test
+    void translateBatch_sendsEasyBatchesToFastModelAndEscalatesUnreadableReplies() throws IOException {
+        ChatClient.Builder fastBuilder = mock(ChatClient.Builder.class, Answers.RETURNS_SELF);
+        ChatClient fastClient = mock(ChatClient.class);
+        ChatClient.ChatClientRequestSpec fastRequest = mock(ChatClient.ChatClientRequestSpec.class, Answers.RETURNS_SELF);
+        ChatClient.CallResponseSpec fastResponse = mock(ChatClient.CallResponseSpec.class);
+        when(builder.clone()).thenReturn(fastBuilder);
+        when(fastBuilder.build()).thenReturn(fastClient);
+        when(fastClient.prompt()).thenReturn(fastRequest);
+        when(fastRequest.call()).thenReturn(fastResponse);
+        ReflectionTestUtils.setField(service, "tieringEnabled", true);
+        service.init();
+
+        List<SrtEntry> easy = List.of(new SrtEntry(1, "00:00:01,000 --> 00:00:02,000", List.of("Hi there.")));
+        when(fastResponse.chatResponse()).thenReturn(chatResponse("<<<ENTRY 1>>>\nSzia.\n<<<END>>>"));
+        assertThat(service.translateBatch(easy, "HU")).containsExactly(Map.entry(1, List.of("Szia.")));
+        verify(fastBuilder).defaultOptions(argThat(options -> "gpt-5-mini".equals(options.getModel())));
+
+        // The strong model gets the batch the fast one garbled
+        when(fastResponse.chatResponse()).thenReturn(chatResponse("Sorry, I can't help with that."));
+        when(requestSpec.call()).thenReturn(responseSpec);
+        when(responseSpec.chatResponse()).thenReturn(chatResponse("<<<ENTRY 1>>>\nSziasztok.\n<<<END>>>"));
+        assertThat(service.translateBatch(easy, "HU")).containsExactly(Map.entry(1, List.of("Sziasztok.")));
+
+        // Formatted cues skip the fast model altogether
+        List<SrtEntry> hard = List.of(new SrtEntry(2, "00:00:03,000 --> 00:00:04,000", List.of("<i>Hi there.</i>")));
+        when(responseSpec.chatResponse()).thenReturn(chatResponse("<<<ENTRY 2>>>\n<i>Szia.</i>\n<<<END>>>"));
+        service.translateBatch(hard, "HU");
+        verify(fastClient, times(2)).prompt();
+        verify(chatClient, times(2)).prompt();
+    }
 
-        assertThrows(NumberFormatException.class, () -> service.translateBatch(batch, "EN"));
+    private static ChatResponse chatResponse(String text) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
     }
 }
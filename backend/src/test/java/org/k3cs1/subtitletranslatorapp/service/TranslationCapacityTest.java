@@ -0,0 +1,67 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationCapacityResponse;
+import org.k3cs1.subtitletranslatorapp.repository.InMemoryJobRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TranslationCapacityTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TranslationCapacity capacity =
+            new TranslationCapacity(new InMemoryJobRepository(), new TranslationMetrics(registry));
+
+    @Test
+    void estimatesDrainTimeFromBacklogPermitsAndRecentBatchLatency() {
+        ReflectionTestUtils.setField(capacity, "saturatedDrainSeconds", 30.0);
+        TunableLimiter first = new TunableLimiter(2);
+        TunableLimiter second = new TunableLimiter(2);
+        capacity.batchesQueued(first, 10);
+        capacity.batchesQueued(second, 6);
+        for (int i = 0; i < 4; i++) {
+            capacity.batchStarted();
+        }
+        capacity.recordBatchLatency(10_000_000_000L);
+
+        TranslationCapacityResponse snapshot = capacity.snapshot();
+        assertThat(snapshot.queuedBatches()).isEqualTo(12);
+        assertThat(snapshot.inFlightBatches()).isEqualTo(4);
+        assertThat(snapshot.limiterPermits()).isEqualTo(4);
+        assertThat(snapshot.limiterUtilization()).isEqualTo(1.0);
+        // 16 batches of 10 s over 4 permits
+        assertThat(snapshot.estimatedDrainSeconds()).isEqualTo(40.0);
+        assertThat(snapshot.saturated()).isTrue();
+        assertThat(registry.get("translation.saturated").gauge().value()).isEqualTo(1);
+
+        capacity.batchesDropped(second, 4);
+        capacity.batchFinished(second);
+        capacity.batchFinished(second);
+        assertThat(capacity.limiterPermits()).isEqualTo(2);
+        assertThat(capacity.estimatedDrainSeconds()).isEqualTo(50.0);
+    }
+
+    @Test
+    void idleInstanceIsNotSaturatedBeforeAnyBatchFinished() {
+        assertThat(capacity.snapshot()).satisfies(snapshot -> {
+            assertThat(snapshot.estimatedDrainSeconds()).isZero();
+            assertThat(snapshot.averageBatchSeconds()).isNull();
+            assertThat(snapshot.saturated()).isFalse();
+        });
+
+        capacity.batchesQueued(new TunableLimiter(1), 3);
+        assertThat(capacity.snapshot().estimatedDrainSeconds()).isNull();
+        assertThat(capacity.saturated()).isFalse();
+    }
+
+    @Test
+    void countsTheSharedQueueAsBacklog() {
+        capacity.bindSharedBacklog(() -> 5);
+        capacity.recordBatchLatency(10_000_000_000L);
+
+        assertThat(capacity.queuedBatches()).isEqualTo(5);
+        assertThat(capacity.estimatedDrainSeconds()).isEqualTo(50.0);
+    }
+}
@@ -1,31 +1,62 @@
 package org.k3cs1.subtitletranslatorapp.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
+import org.k3cs1.subtitletranslatorapp.dto.MultiLanguageJobRequest;
+import org.k3cs1.subtitletranslatorapp.dto.SeasonPackJobRequest;
 import org.k3cs1.subtitletranslatorapp.dto.TranslationJobRequest;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationJobResponse;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationJobStatusResponse;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationLanguageStatus;
+import org.k3cs1.subtitletranslatorapp.dto.TranslationTokenUsage;
 import org.k3cs1.subtitletranslatorapp.exception.TranslationFailedException;
+import org.k3cs1.subtitletranslatorapp.model.RecoveredTranslationJob;
 import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.k3cs1.subtitletranslatorapp.model.SubtitleFile;
+import org.k3cs1.subtitletranslatorapp.parser.SrtIOParser;
+import org.k3cs1.subtitletranslatorapp.repository.InMemoryBatchWorkQueue;
+import org.k3cs1.subtitletranslatorapp.repository.JobRepository;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -36,19 +67,47 @@ class TranslationJobServiceImplTest {
     private SrtTranslatorService translator;
 
     @Mock
-    private TranslationJobStore jobStore;
+    private JobRepository jobRepository;
+
+    @Mock
+    private TranslationJobJournal journal;
+
+    private final InMemoryBatchWorkQueue workQueue = new InMemoryBatchWorkQueue();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final InMemorySpanExporter spans = InMemorySpanExporter.create();
 
     private ExecutorService executor;
     private TranslationJobServiceImpl service;
+    private TranslationTuning tuning;
+    private TranslationCapacity capacity;
+    private LanguageIdentifier languageIdentifier;
+    private TranslationBatchRunner batchRunner;
+    private JobBatchScheduler batchScheduler;
+    private DistributedBatchDispatcher distributedDispatcher;
+    private SingleLanguageJobRunner singleLanguageJobs;
 
     @BeforeEach
     @SuppressWarnings({"NullAway", "nullness"})
     void setUp() {
-        executor = Executors.newFixedThreadPool(4);
-        service = new TranslationJobServiceImpl(translator, executor, jobStore);
-        TranslationJobServiceImpl target = Objects.requireNonNull(service);
-        ReflectionTestUtils.setField(target, "batchSize", 1);
-        ReflectionTestUtils.setField(target, "maxParallel", 2);
+        executor = Context.taskWrapping(Executors.newFixedThreadPool(4));
+        languageIdentifier = new LanguageIdentifier();
+        languageIdentifier.init();
+        TranslationMetrics metrics = new TranslationMetrics(registry);
+        tuning = new TranslationTuning(new TranslationTuning.Settings(1, 12000, 2), metrics);
+        capacity = new TranslationCapacity(jobRepository, metrics);
+        TranslationTracing tracing = new TranslationTracing(OpenTelemetrySdk.builder()
+                .setTracerProvider(SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(spans)).build())
+                .build());
+        batchRunner = new TranslationBatchRunner(translator,
+                new CoalescingBatchDispatcher(translator, executor, tuning, tracing), capacity);
+        distributedDispatcher = new DistributedBatchDispatcher(workQueue);
+        batchScheduler = new JobBatchScheduler(batchRunner, distributedDispatcher, executor, jobRepository, metrics, tracing,
+                tuning, capacity);
+        singleLanguageJobs = new SingleLanguageJobRunner(batchScheduler, jobRepository, journal, languageIdentifier,
+                metrics, tracing, tuning);
+        service = new TranslationJobServiceImpl(executor, jobRepository, journal, metrics, tracing, batchScheduler,
+                singleLanguageJobs, new MultiLanguageJobRunner(batchScheduler, jobRepository),
+                new SeasonPackJobRunner(batchScheduler, jobRepository));
     }
 
     @AfterEach
@@ -97,10 +156,233 @@ class TranslationJobServiceImplTest {
         );
         assertThat(lines).containsExactlyElementsOf(expected);
         verify(translator, times(2)).translateBatch(anyList(), eq("HU"));
+        assertThat(registry.get("translation.srt.parse").timer().count()).isEqualTo(1);
+        assertThat(registry.get("translation.limiter.wait").timer().count()).isEqualTo(2);
+        assertThat(capacity.snapshot()).satisfies(snapshot -> {
+            assertThat(snapshot.queuedBatches()).isZero();
+            assertThat(snapshot.inFlightBatches()).isZero();
+            assertThat(snapshot.limiterPermits()).isZero();
+            assertThat(snapshot.averageBatchSeconds()).isNotNull();
+        });
 
         Files.deleteIfExists(output);
     }
 
+    @Test
+    void submit_passesThroughCuesAlreadyInTargetLanguage(@TempDir Path tempDir) throws Exception {
+        Path input = tempDir.resolve("movie.srt");
+        Files.writeString(input, """
+                1
+                00:00:01,000 --> 00:00:02,000
+                I have no idea where I left my keys.
+
+                2
+                00:00:03,000 --> 00:00:04,000
+                Nem tudom, hová tettem a kulcsaimat.
+
+                """);
+        ReflectionTestUtils.setField(languageIdentifier, "enabled", true);
+        when(translator.translateBatch(anyList(), eq("Hungarian")))
+                .thenReturn(Map.of(1, List.of("Fogalmam sincs, hol hagytam a kulcsaimat.")));
+        when(jobRepository.get("job-1")).thenReturn(TranslationJobStatusResponse.processing("job-1", "movie.srt", 0, 2));
+
+        service.submit(new TranslationJobRequest(input, "Hungarian", "job-1"), "movie.srt").join();
+
+        ArgumentCaptor<List<SrtEntry>> batches = ArgumentCaptor.captor();
+        verify(translator).translateBatch(batches.capture(), eq("Hungarian"));
+        assertThat(batches.getValue()).extracting(SrtEntry::index).containsExactly(1);
+        ArgumentCaptor<TranslationJobStatusResponse> statuses = ArgumentCaptor.forClass(TranslationJobStatusResponse.class);
+        verify(jobRepository, atLeastOnce()).store(eq("job-1"), statuses.capture());
+        assertThat(statuses.getAllValues()).first().extracting(TranslationJobStatusResponse::skippedEntries).isEqualTo(1);
+        TranslationJobStatusResponse completed = statuses.getAllValues().getLast();
+        assertThat(completed.status()).isEqualTo("COMPLETED");
+        assertThat(new String(Base64.getDecoder().decode(completed.contentBase64()), StandardCharsets.UTF_8))
+                .contains("Fogalmam sincs, hol hagytam a kulcsaimat.", "Nem tudom, hová tettem a kulcsaimat.");
+    }
+
+    @Test
+    void submit_translatesCuesInACloseLanguageWithoutAProfile(@TempDir Path tempDir) throws Exception {
+        Path input = tempDir.resolve("movie.srt");
+        Files.writeString(input, """
+                1
+                00:00:01,000 --> 00:00:02,000
+                Jeg ved ikke hvor jeg har lagt mine nøgler.
+
+                2
+                00:00:03,000 --> 00:00:04,000
+                Ik wit net wêr't ik myn kaaien litten ha.
+
+                """);
+        ReflectionTestUtils.setField(languageIdentifier, "enabled", true);
+        tuning.update(10, null, null, "test");
+        when(translator.translateBatch(anyList(), eq("Dutch"))).thenReturn(Map.of(
+                1, List.of("Ik weet niet waar ik mijn sleutels heb gelaten."),
+                2, List.of("Ik weet niet waar ik mijn sleutels heb gelaten.")));
+
+        service.submit(new TranslationJobRequest(input, "Dutch", "job-1"), "movie.srt").join();
+
+        ArgumentCaptor<List<SrtEntry>> batches = ArgumentCaptor.captor();
+        verify(translator).translateBatch(batches.capture(), eq("Dutch"));
+        assertThat(batches.getValue()).extracting(SrtEntry::index).containsExactly(1, 2);
+        ArgumentCaptor<TranslationJobStatusResponse> statuses = ArgumentCaptor.forClass(TranslationJobStatusResponse.class);
+        verify(jobRepository, atLeastOnce()).store(eq("job-1"), statuses.capture());
+        assertThat(statuses.getAllValues()).extracting(TranslationJobStatusResponse::skippedEntries).containsOnlyNulls();
+    }
+
+    @Test
+    void submit_chargesModelTokensToTheJob(@TempDir Path tempDir) throws Exception {
+        Path input = tempDir.resolve("movie.srt");
+        Files.writeString(input, """
+                1
+                00:00:01,000 --> 00:00:02,000
+                Hello
+
+                2
+                00:00:03,000 --> 00:00:04,000
+                Goodbye
+
+                """);
+        ReflectionTestUtils.setField(batchScheduler, "tokenPrices", "gpt-5=1.25/10");
+        when(translator.translateBatch(anyList(), eq("ES"))).thenAnswer(invocation -> {
+            TokenUsageCollector.report("gpt-5", 100, 40, 2_000_000_000L, 400, 160);
+            List<SrtEntry> batch = invocation.getArgument(0);
+            return Map.of(batch.getFirst().index(), List.of("Hola"));
+        });
+        when(jobRepository.get("job-1")).thenReturn(TranslationJobStatusResponse.processing("job-1", "movie.srt", 0, 2));
+
+        service.submit(new TranslationJobRequest(input, "ES", "job-1"), "movie.srt").join();
+
+        verify(jobRepository, times(2)).updateTokenUsage(eq("job-1"), any());
+        ArgumentCaptor<TranslationJobStatusResponse> statuses = ArgumentCaptor.forClass(TranslationJobStatusResponse.class);
+        verify(jobRepository, atLeastOnce()).store(eq("job-1"), statuses.capture());
+        TranslationTokenUsage usage = statuses.getAllValues().getLast().tokenUsage();
+        assertThat(usage.promptTokens()).isEqualTo(200);
+        assertThat(usage.completionTokens()).isEqualTo(80);
+        assertThat(usage.translatedCues()).isEqualTo(2);
+        assertThat(usage.tokensPerCue()).isEqualTo(140.0);
+        assertThat(usage.tokensPerSecond()).isEqualTo(70.0);
+        assertThat(usage.estimatedCostUsd()).isCloseTo(0.00105, within(1e-9));
+        assertThat(usage.languages()).containsOnlyKeys("ES");
+        assertThat(registry.get("translation.job.tokens.per.cue").summary().mean()).isEqualTo(140.0);
+    }
+
+    @Test
+    void submit_tracesEachStageUnderTheJobSpan(@TempDir Path tempDir) throws Exception {
+        Path input = tempDir.resolve("movie.srt");
+        Files.writeString(input, """
+                1
+                00:00:01,000 --> 00:00:02,000
+                Hello
+
+                2
+                00:00:03,000 --> 00:00:04,000
+                Goodbye
+
+                """);
+        when(translator.translateBatch(anyList(), eq("ES"))).thenAnswer(invocation -> {
+            List<SrtEntry> batch = invocation.getArgument(0);
+            return Map.of(batch.getFirst().index(), List.of("Hola"));
+        });
+
+        service.submit(new TranslationJobRequest(input, "ES", "job-1"), "movie.srt").join();
+
+        List<SpanData> finished = spans.getFinishedSpanItems();
+        SpanData job = finished.stream().filter(span -> span.getName().equals("translation.job")).findFirst().orElseThrow();
+        assertThat(job.getAttributes().get(TranslationTracing.JOB_ID)).isEqualTo("job-1");
+        List<SpanData> batches = finished.stream().filter(span -> span.getName().equals("translation.batch")).toList();
+        assertThat(batches).hasSize(2).allSatisfy(batch -> {
+            assertThat(batch.getParentSpanId()).isEqualTo(job.getSpanId());
+            assertThat(batch.getTraceId()).isEqualTo(job.getTraceId());
+        });
+        assertThat(batches).extracting(batch -> batch.getAttributes().get(TranslationTracing.BATCH_INDEX))
+                .containsExactlyInAnyOrder(0L, 1L);
+        assertThat(finished.stream().filter(span -> span.getName().equals("translation.batch.queue_wait")))
+                .hasSize(2)
+                .allSatisfy(wait -> assertThat(batches).extracting(SpanData::getSpanId).contains(wait.getParentSpanId()));
+        assertThat(finished).extracting(SpanData::getName)
+                .contains("translation.parse", "translation.plan_batches", "translation.write", "translation.reassemble")
+                .allSatisfy(name -> assertThat(name).startsWith("translation."));
+        assertThat(finished).allSatisfy(span -> assertThat(span.getTraceId()).isEqualTo(job.getTraceId()));
+    }
+
+    @Test
+    void submit_emitsFlightRecorderEventsForTheJobAndEachBatch(@TempDir Path tempDir) throws Exception {
+        Path input = tempDir.resolve("movie.srt");
+        Files.writeString(input, """
+                1
+                00:00:01,000 --> 00:00:02,000
+                Hello
+
+                2
+                00:00:03,000 --> 00:00:04,000
+                Goodbye
+
+                """);
+        when(translator.translateBatch(anyList(), eq("ES"))).thenAnswer(invocation -> {
+            List<SrtEntry> batch = invocation.getArgument(0);
+            return Map.of(batch.getFirst().index(), List.of("Hola"));
+        });
+
+        Path dump = tempDir.resolve("job.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(TranslationJobEvent.class);
+            recording.enable(TranslationBatchEvent.class);
+            recording.start();
+            service.submit(new TranslationJobRequest(input, "ES", "job-1"), "movie.srt").join();
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertThat(events).filteredOn(event -> event.getEventType().getName().endsWith(".TranslationJob"))
+                .singleElement()
+                .satisfies(job -> {
+                    assertThat(job.getString("jobId")).isEqualTo("job-1");
+                    assertThat(job.getString("kind")).isEqualTo("single");
+                    assertThat(job.getString("targetLanguage")).isEqualTo("ES");
+                });
+        assertThat(events).filteredOn(event -> event.getEventType().getName().endsWith(".TranslationBatch"))
+                .hasSize(2)
+                .allSatisfy(batch -> {
+                    assertThat(batch.getString("jobId")).isEqualTo("job-1");
+                    assertThat(batch.getInt("cues")).isEqualTo(1);
+                    assertThat(batch.getBoolean("failed")).isFalse();
+                })
+                .extracting(batch -> batch.getInt("batchIndex"))
+                .containsExactlyInAnyOrder(0, 1);
+    }
+
+    @Test
+    void submitMultiLanguage_reportsFailureOnJobSpanAndFlightRecorderEvent(@TempDir Path tempDir) throws Exception {
+        Path input = tempDir.resolve("movie.srt");
+        Files.writeString(input, """
+                1
+                00:00:01,000 --> 00:00:02,000
+                Hello
+
+                """);
+        when(translator.translateBatch(anyList(), anyString())).thenThrow(new IOException("boom"));
+
+        Path dump = tempDir.resolve("job.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(TranslationJobEvent.class);
+            recording.start();
+            service.submitMultiLanguage(new MultiLanguageJobRequest(input, List.of("HU", "DE"), "job-1"), "movie.srt")
+                    .join();
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        SpanData job = spans.getFinishedSpanItems().stream()
+                .filter(span -> span.getName().equals("translation.job")).findFirst().orElseThrow();
+        assertThat(job.getStatus().getStatusCode()).isEqualTo(StatusCode.ERROR);
+        assertThat(RecordingFile.readAllEvents(dump))
+                .filteredOn(event -> event.getEventType().getName().endsWith(".TranslationJob"))
+                .singleElement()
+                .satisfies(event -> assertThat(event.getString("status")).isEqualTo("FAILED"));
+        verify(journal).jobFinished("job-1");
+    }
+
     @Test
     void translateInBackground_wrapsTranslatorFailure(@TempDir Path tempDir) throws Exception {
         Path input = tempDir.resolve("movie.srt");
@@ -123,6 +405,8 @@ class TranslationJobServiceImplTest {
         assertThat(thrown.getCause().getMessage())
                 .contains("Translation failed:")
                 .contains("Parallel translation failed: boom");
+        // The failed batch no longer counts as queued or in flight
+        assertThat(capacity.queuedBatches() + capacity.inFlightBatches()).isZero();
     }
 
     @Test
@@ -141,4 +425,284 @@ class TranslationJobServiceImplTest {
                 .contains("Invalid SRT index line");
         verifyNoInteractions(translator);
     }
+
+    @Test
+    void translateInBackground_resumedJobOnlyTranslatesMissingEntries(@TempDir Path tempDir) throws Exception {
+        Path input = tempDir.resolve("movie.srt");
+        Files.writeString(input, """
+                1
+                00:00:01,000 --> 00:00:02,000
+                Hello
+
+                2
+                00:00:03,000 --> 00:00:04,000
+                World
+
+                """);
+
+        when(translator.translateBatch(anyList(), eq("HU")))
+                .thenReturn(Map.of(2, List.of("Vilag")));
+
+        Map<Integer, List<String>> completed = Map.of(1, List.of("Szia"));
+        Path output = service.translateInBackground(
+                new TranslationJobRequest(input, "HU", "job-1", completed)).join();
+
+        assertThat(Files.readAllLines(output)).contains("Szia", "Vilag");
+        verify(translator).translateBatch(List.of(new SrtEntry(2, "00:00:03,000 --> 00:00:04,000", List.of("World"))), "HU");
+        verify(journal).batchCompleted("job-1", Map.of(2, List.of("Vilag")));
+        verify(journal, never()).jobCreated(any(), any(), any(), anyList());
+
+        Files.deleteIfExists(output);
+    }
+
+    @Test
+    void resumeUnfinishedJobs_failsJobsThatCannotBeResumed() {
+        when(journal.recoverUnfinished()).thenReturn(List.of(
+                new RecoveredTranslationJob("job-1", "season-pack", "season.zip", null, null, Map.of())));
+
+        service.resumeUnfinishedJobs();
+
+        ArgumentCaptor<TranslationJobStatusResponse> stored = ArgumentCaptor.forClass(TranslationJobStatusResponse.class);
+        verify(jobRepository).store(eq("job-1"), stored.capture());
+        assertThat(stored.getValue().status()).isEqualTo("FAILED");
+        assertThat(stored.getValue().errorMessage()).contains("season-pack jobs cannot be resumed");
+        verify(journal).jobFinished("job-1");
+        verifyNoInteractions(translator);
+    }
+
+    @Test
+    void translateInBackground_distributedModeMergesBatchesFromWorkers(@TempDir Path tempDir) throws Exception {
+        Path input = tempDir.resolve("movie.srt");
+        Files.writeString(input, """
+                1
+                00:00:01,000 --> 00:00:02,000
+                Hello
+
+                2
+                00:00:03,000 --> 00:00:04,000
+                World
+
+                """);
+        when(translator.translateBatch(anyList(), eq("HU")))
+                .thenAnswer(invocation -> {
+                    TokenUsageCollector.report("gpt-5", 100, 40, 1_000_000_000L, 400, 160);
+                    List<SrtEntry> batch = invocation.getArgument(0);
+                    return Map.of(batch.getFirst().index(), List.of("T" + batch.getFirst().index()));
+                });
+
+        ReflectionTestUtils.setField(batchScheduler, "distributed", true);
+        ReflectionTestUtils.setField(distributedDispatcher, "pollIntervalMs", 10L);
+        DistributedBatchWorker worker = new DistributedBatchWorker(workQueue, batchRunner, capacity, executor, tuning);
+        ReflectionTestUtils.setField(worker, "leaseMs", 60_000L);
+        ReflectionTestUtils.setField(worker, "pollIntervalMs", 10L);
+        ReflectionTestUtils.setField(worker, "maxAttempts", 1);
+        worker.start();
+        try {
+            Path output = service.translateInBackground(new TranslationJobRequest(input, "HU", "job-1")).join();
+
+            assertThat(Files.readAllLines(output)).contains("T1", "T2");
+            verify(jobRepository).updateProgress(eq("job-1"), eq(2), eq(2));
+            assertThat(workQueue.outcomes("job-1")).isEmpty();
+            // Tokens spent on the worker are charged to the job on the owning node
+            ArgumentCaptor<TranslationTokenUsage> usage = ArgumentCaptor.forClass(TranslationTokenUsage.class);
+            verify(jobRepository, times(2)).updateTokenUsage(eq("job-1"), usage.capture());
+            assertThat(usage.getValue().promptTokens()).isEqualTo(200);
+            assertThat(usage.getValue().translatedCues()).isEqualTo(2);
+            // The worker's batches show up in this node's capacity
+            assertThat(capacity.inFlightBatches()).isZero();
+            assertThat(capacity.snapshot().averageBatchSeconds()).isNotNull();
+            Files.deleteIfExists(output);
+        } finally {
+            worker.stop();
+        }
+    }
+
+    @Test
+    void submitMultiLanguage_distributedModeRunsEveryLanguageOnWorkers(@TempDir Path tempDir) throws Exception {
+        Path input = tempDir.resolve("movie.srt");
+        Files.writeString(input, """
+                1
+                00:00:01,000 --> 00:00:02,000
+                Hello
+
+                """);
+        when(translator.translateBatch(anyList(), anyString()))
+                .thenAnswer(invocation -> Map.of(1, List.of(invocation.getArgument(1) + ": Hello")));
+
+        ReflectionTestUtils.setField(batchScheduler, "distributed", true);
+        ReflectionTestUtils.setField(distributedDispatcher, "pollIntervalMs", 10L);
+        DistributedBatchWorker worker = new DistributedBatchWorker(workQueue, batchRunner, capacity, executor, tuning);
+        ReflectionTestUtils.setField(worker, "leaseMs", 60_000L);
+        ReflectionTestUtils.setField(worker, "pollIntervalMs", 10L);
+        ReflectionTestUtils.setField(worker, "maxAttempts", 1);
+        worker.start();
+        try {
+            service.submitMultiLanguage(new MultiLanguageJobRequest(input, List.of("HU", "DE"), "job-1"), "movie.srt")
+                    .join();
+
+            ArgumentCaptor<TranslationJobStatusResponse> stored = ArgumentCaptor.forClass(TranslationJobStatusResponse.class);
+            verify(jobRepository).store(eq("job-1"), stored.capture());
+            assertThat(stored.getValue().status()).isEqualTo("COMPLETED");
+            when(jobRepository.get("job-1")).thenReturn(stored.getValue());
+            TranslationJobResponse german = service.getOutputFile("job-1", "movie_de.srt");
+            assertThat(new String(Base64.getDecoder().decode(german.contentBase64()), StandardCharsets.UTF_8))
+                    .contains("DE: Hello");
+            assertThat(workQueue.outcomes("job-1")).isEmpty();
+        } finally {
+            worker.stop();
+        }
+    }
+
+    @Test
+    void submitMultiLanguage_translatesDistinctCuesOncePerLanguageIntoZip(@TempDir Path tempDir) throws Exception {
+        Path input = tempDir.resolve("movie.srt");
+        Files.writeString(input, """
+                1
+                00:00:01,000 --> 00:00:02,000
+                Hello
+
+                2
+                00:00:03,000 --> 00:00:04,000
+                Hello
+
+                """);
+        when(translator.translateBatch(anyList(), anyString()))
+                .thenAnswer(invocation -> {
+                    List<SrtEntry> batch = invocation.getArgument(0);
+                    String language = invocation.getArgument(1);
+                    return Map.of(batch.getFirst().index(), List.of(language + ": Hello"));
+                });
+        tuning.update(10, null, null, "test");
+
+        service.submitMultiLanguage(new MultiLanguageJobRequest(input, List.of("HU", "DE"), "job-1"), "movie.srt").join();
+
+        // Duplicate cue text is translated once per language
+        verify(translator).translateBatch(anyList(), eq("HU"));
+        verify(translator).translateBatch(anyList(), eq("DE"));
+        ArgumentCaptor<TranslationJobStatusResponse> stored = ArgumentCaptor.forClass(TranslationJobStatusResponse.class);
+        verify(jobRepository).store(eq("job-1"), stored.capture());
+        TranslationJobStatusResponse completed = stored.getValue();
+        assertThat(completed.status()).isEqualTo("COMPLETED");
+        assertThat(completed.outputFileName()).isEqualTo("movie_translations.zip");
+        assertThat(completed.languages()).extracting(TranslationLanguageStatus::outputFileName)
+                .containsExactly("movie_hu.srt", "movie_de.srt");
+        assertThat(Files.exists(input)).isFalse();
+
+        when(jobRepository.get("job-1")).thenReturn(completed);
+        TranslationJobResponse german = service.getOutputFile("job-1", "movie_de.srt");
+        String content = new String(Base64.getDecoder().decode(german.contentBase64()), StandardCharsets.UTF_8);
+        assertThat(content.lines()).containsExactly(
+                "1", "00:00:01,000 --> 00:00:02,000", "DE: Hello", "",
+                "2", "00:00:03,000 --> 00:00:04,000", "DE: Hello", "");
+    }
+
+    @Test
+    void submitSeasonPack_sharesTranslationsAcrossFilesAndStreamsArchive() throws Exception {
+        String episode1 = """
+                1
+                00:00:01,000 --> 00:00:02,000
+                Previously
+
+                2
+                00:00:03,000 --> 00:00:04,000
+                Hello
+
+                """;
+        String episode2 = """
+                1
+                00:00:01,000 --> 00:00:02,000
+                Previously
+
+                2
+                00:00:03,000 --> 00:00:04,000
+                Goodbye
+
+                """;
+        when(translator.translateBatch(anyList(), eq("HU")))
+                .thenAnswer(invocation -> {
+                    List<SrtEntry> batch = invocation.getArgument(0);
+                    Map<Integer, List<String>> result = new HashMap<>();
+                    for (SrtEntry entry : batch) {
+                        result.put(entry.index(), List.of("HU: " + entry.originalText()));
+                    }
+                    return result;
+                });
+        SeasonPackJobRequest request = new SeasonPackJobRequest(List.of(
+                new SubtitleFile("s01/e01.srt", episode1.getBytes(StandardCharsets.UTF_8)),
+                new SubtitleFile("s01/e02.srt", episode2.getBytes(StandardCharsets.UTF_8))),
+                List.of(SrtIOParser.parse(episode1.lines().toList()), SrtIOParser.parse(episode2.lines().toList())),
+                "HU", "job-1");
+
+        service.submitSeasonPack(request, "season1.zip").join();
+
+        // The cue shared by both episodes is translated once: 3 distinct texts with batch size 1
+        verify(translator, times(3)).translateBatch(anyList(), eq("HU"));
+        verify(jobRepository).updateProgress("job-1", 4, 4);
+        ArgumentCaptor<TranslationJobStatusResponse> stored = ArgumentCaptor.forClass(TranslationJobStatusResponse.class);
+        verify(jobRepository).store(eq("job-1"), stored.capture());
+        TranslationJobStatusResponse completed = stored.getValue();
+        assertThat(completed.status()).isEqualTo("COMPLETED");
+        assertThat(completed.outputFileName()).isEqualTo("season1_hu.zip");
+
+        when(jobRepository.get("job-1")).thenReturn(completed);
+        assertThat(service.hasOutputArchive("job-1")).isTrue();
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        service.streamOutputArchive("job-1", archive);
+        Map<String, String> files = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                files.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertThat(files).containsOnlyKeys("s01/e01_hu.srt", "s01/e02_hu.srt");
+        assertThat(files.get("s01/e02_hu.srt").lines()).containsExactly(
+                "1", "00:00:01,000 --> 00:00:02,000", "HU: Previously", "",
+                "2", "00:00:03,000 --> 00:00:04,000", "HU: Goodbye", "");
+    }
+
+    @Test
+    void submitLargeFile_translatesWindowByWindowIntoOutputFile(@TempDir Path tempDir) throws Exception {
+        // Two concatenated episodes: cue numbers restart at 1
+        Path input = tempDir.resolve("movie.srt");
+        Files.writeString(input, """
+                1
+                00:00:01,000 --> 00:00:02,000
+                Hello
+
+                2
+                00:00:03,000 --> 00:00:04,000
+                World
+
+                1
+                00:10:01,000 --> 00:10:02,000
+                Again
+
+                """);
+        Path output = tempDir.resolve("job-1.out.srt");
+        when(translator.translateBatch(anyList(), eq("HU")))
+                .thenAnswer(invocation -> {
+                    List<SrtEntry> batch = invocation.getArgument(0);
+                    Map<Integer, List<String>> result = new HashMap<>();
+                    for (SrtEntry entry : batch) {
+                        result.put(entry.index(), List.of("HU: " + entry.originalText()));
+                    }
+                    return result;
+                });
+        ReflectionTestUtils.setField(singleLanguageJobs, "windowEntries", 2);
+
+        service.submitLargeFile(new TranslationJobRequest(input, "HU", "job-1"), "movie.srt", output).join();
+
+        assertThat(Files.readAllLines(output)).containsExactly(
+                "1", "00:00:01,000 --> 00:00:02,000", "HU: Hello", "",
+                "2", "00:00:03,000 --> 00:00:04,000", "HU: World", "",
+                "1", "00:10:01,000 --> 00:10:02,000", "HU: Again", "");
+        verify(jobRepository).updateProgress("job-1", 3, 3);
+        ArgumentCaptor<TranslationJobStatusResponse> stored = ArgumentCaptor.forClass(TranslationJobStatusResponse.class);
+        verify(jobRepository).store(eq("job-1"), stored.capture());
+        assertThat(stored.getValue().status()).isEqualTo("COMPLETED");
+        assertThat(stored.getValue().outputFileName()).isEqualTo("movie_hu.srt");
+        assertThat(stored.getValue().contentBase64()).isNull();
+        assertThat(Files.exists(input)).isFalse();
+    }
 }
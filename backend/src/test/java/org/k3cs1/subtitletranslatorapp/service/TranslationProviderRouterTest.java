@@ -0,0 +1,126 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.k3cs1.subtitletranslatorapp.codec.MarkerPayloadCodec;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TranslationProviderRouterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TranslationMetrics metrics = new TranslationMetrics(registry);
+
+    private final List<SrtEntry> batch = List.of(new SrtEntry(1, "00:00:01,000 --> 00:00:02,000", List.of("Hello")));
+
+    @Test
+    void prefersProviderWithLowerRecentLatencyPerCueAndSkipsUnsupportedLanguages() throws Exception {
+        TranslationProvider openai = provider("openai", true);
+        TranslationProvider deepl = provider("deepl", true);
+        when(deepl.supports("Klingon")).thenReturn(false);
+        TranslationProviderRouter router = new TranslationProviderRouter(List.of(openai, deepl), metrics);
+
+        router.record(openai, 10, 5_000, false);
+        router.record(deepl, 10, 1_000, false);
+        assertThat(router.select("Hungarian")).isSameAs(deepl);
+        assertThat(router.select("Klingon")).isSameAs(openai);
+
+        // Failures make the faster provider look slower than the reliable one
+        router.record(deepl, 10, 1_000, true);
+        router.record(deepl, 10, 1_000, true);
+        router.record(deepl, 10, 1_000, true);
+        router.record(deepl, 10, 1_000, true);
+        assertThat(router.select("Hungarian")).isSameAs(openai);
+        assertThat(router.snapshot()).extracting("provider").containsExactly("deepl", "openai");
+    }
+
+    @Test
+    void routesBatchToPinnedProviderAndRecordsFailures() throws Exception {
+        TranslationProvider openai = provider("openai", true);
+        TranslationProvider deepl = provider("deepl", true);
+        when(deepl.translateBatch(anyList(), anyString())).thenThrow(new IllegalStateException("DeepL down"));
+        TranslationProviderRouter router = new TranslationProviderRouter(List.of(openai, deepl), metrics);
+        ReflectionTestUtils.setField(router, "routing", "deepl");
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                () -> router.translateBatch(batch, "Hungarian"));
+
+        assertThat(failure.getMessage()).isEqualTo("DeepL down");
+        verify(openai, never()).translateBatch(any(), any());
+        assertThat(router.snapshot().getFirst().errorRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    void failsOverToNextProviderAndSkipsProvidersWithOpenBreaker() throws Exception {
+        TranslationProvider deepl = provider("deepl", true);
+        TranslationProvider openai = provider("openai", true);
+        when(deepl.translateBatch(anyList(), anyString())).thenThrow(new IllegalStateException("DeepL down"));
+        TranslationProviderRouter router = new TranslationProviderRouter(List.of(deepl, openai), metrics);
+        ReflectionTestUtils.setField(router, "breakerMinimumCalls", 2);
+        // Keep deepl first in line while its breaker is closed
+        router.record(openai, 1, 60_000, false);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(router.translateBatch(batch, "Hungarian")).containsEntry(1, List.of("Szia"));
+        }
+
+        // The third batch no longer reached DeepL
+        verify(deepl, times(2)).translateBatch(anyList(), anyString());
+        verify(openai, times(3)).translateBatch(anyList(), anyString());
+        assertThat(router.snapshot()).filteredOn(s -> s.provider().equals("deepl"))
+                .singleElement()
+                .satisfies(s -> {
+                    assertThat(s.circuitState()).isEqualTo("OPEN");
+                    assertThat(s.circuitTransitions()).containsEntry("OPEN", 1L);
+                });
+        assertThat(registry.get("translation.provider.circuit.state").tag("provider", "deepl").gauge().value()).isEqualTo(2.0);
+        assertThat(registry.get("translation.cues").tag("provider", "openai").counter().count()).isEqualTo(3.0);
+        assertThat(registry.get("translation.batch").tags("provider", "deepl", "outcome", "failure").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void failsOverWhenProviderReplyCannotBeParsed() throws Exception {
+        TranslationProvider deepl = provider("deepl", true);
+        TranslationProvider openai = provider("openai", true);
+        when(deepl.translateBatch(anyList(), anyString()))
+                .thenAnswer(inv -> new MarkerPayloadCodec().decode("<<<ENTRY x>>>\nSzia\n<<<END>>>"));
+        TranslationProviderRouter router = new TranslationProviderRouter(List.of(deepl, openai), metrics);
+        router.record(openai, 1, 60_000, false);
+
+        assertThat(router.translateBatch(batch, "Hungarian")).containsEntry(1, List.of("Szia"));
+
+        verify(openai).translateBatch(anyList(), anyString());
+        assertThat(registry.get("translation.batch").tags("provider", "deepl", "outcome", "failure").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failsWhenNoProviderIsAvailable() throws Exception {
+        TranslationProvider deepl = provider("deepl", false);
+        TranslationProviderRouter router = new TranslationProviderRouter(List.of(deepl), metrics);
+
+        assertThrows(IllegalStateException.class, () -> router.translateBatch(batch, "Hungarian"));
+    }
+
+    private static TranslationProvider provider(String name, boolean available) throws Exception {
+        TranslationProvider provider = mock(TranslationProvider.class);
+        when(provider.name()).thenReturn(name);
+        when(provider.isAvailable()).thenReturn(available);
+        when(provider.supports(anyString())).thenReturn(true);
+        when(provider.translateBatch(anyList(), anyString())).thenReturn(Map.of(1, List.of("Szia")));
+        return provider;
+    }
+}
@@ -0,0 +1,48 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TranslationTuningTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TranslationTuning tuning =
+            new TranslationTuning(new TranslationTuning.Settings(60, 12000, 5), new TranslationMetrics(registry));
+
+    @Test
+    void update_changesOnlyTheGivenValuesAndCountsEachChange() {
+        TranslationTuning.Settings updated = tuning.update(40, null, 8, "admin");
+
+        assertThat(updated).isEqualTo(new TranslationTuning.Settings(40, 12000, 8));
+        assertThat(tuning.current()).isEqualTo(updated);
+        assertThat(registry.get("translation.tuning").tag("setting", "max-parallel").gauge().value()).isEqualTo(8);
+        assertThat(registry.get("translation.tuning.changes").tag("setting", "batch-size").counter().count()).isEqualTo(1);
+        assertThat(registry.find("translation.tuning.changes").tag("setting", "max-batch-chars").counter()).isNull();
+    }
+
+    @Test
+    void update_rejectsOutOfRangeValuesWithoutChangingAnything() {
+        assertThrows(IllegalArgumentException.class, () -> tuning.update(30, null, 0, "admin"));
+
+        assertThat(tuning.current()).isEqualTo(new TranslationTuning.Settings(60, 12000, 5));
+        assertThat(registry.find("translation.tuning.changes").counters()).isEmpty();
+    }
+
+    @Test
+    void limiter_resizeAppliesWhilePermitsAreHeld() throws InterruptedException {
+        TunableLimiter limiter = new TunableLimiter(2);
+        limiter.acquire(2);
+
+        limiter.resize(1);
+        limiter.release();
+        // One permit is still held, which already uses up the smaller limit
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.resize(3);
+        assertThat(limiter.tryAcquire(2)).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+    }
+}
@@ -0,0 +1,87 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.k3cs1.subtitletranslatorapp.dto.CountryOptionDto;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.ExpectedCount.never;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class WorldBankReferenceServiceImplTest {
+
+    private static final String COUNTRIES_URL = "https://worldbank.test/v2/country?format=json&per_page=400";
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private MockRestServiceServer server;
+    private WorldBankReferenceServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).build();
+        service = new WorldBankReferenceServiceImpl(builder, new ObjectMapper(), executor);
+        ReflectionTestUtils.setField(service, "baseUrl", "https://worldbank.test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void servesTheBundledSnapshotWhileTheApiIsDownAndSwapsInTheFetchedList() throws Exception {
+        server.expect(requestTo(COUNTRIES_URL)).andRespond(withServerError());
+        service.init();
+        awaitBackgroundRefresh();
+
+        WorldBankReferenceService.Countries snapshot = service.countries();
+        assertThat(snapshot.refreshed()).isNull();
+        assertThat(snapshot.items()).hasSizeGreaterThan(200).contains(new CountryOptionDto("HU", "Hungary"));
+        assertThat(snapshot.etag()).startsWith("\"").endsWith("\"");
+
+        server.reset();
+        server.expect(requestTo(COUNTRIES_URL)).andRespond(withSuccess("""
+                [{"page":1,"pages":1,"per_page":"400","total":3},
+                 [{"iso2Code":"HU","name":"Hungary","region":{"value":"Europe & Central Asia"}},
+                  {"iso2Code":"1W","name":"World","region":{"value":"Aggregates"}},
+                  {"iso2Code":"AT","name":"Austria","region":{"value":"Europe & Central Asia"}}]]
+                """, MediaType.APPLICATION_JSON));
+        assertThat(service.refresh()).isTrue();
+        server.verify();
+
+        WorldBankReferenceService.Countries fetched = service.countries();
+        assertThat(fetched.items()).containsExactly(new CountryOptionDto("AT", "Austria"), new CountryOptionDto("HU", "Hungary"));
+        assertThat(fetched.refreshed()).isNotNull();
+        assertThat(fetched.etag()).isNotEqualTo(snapshot.etag());
+    }
+
+    @Test
+    void offlineModeNeverCallsTheApi() throws Exception {
+        ReflectionTestUtils.setField(service, "offline", true);
+        server.expect(never(), requestTo(COUNTRIES_URL));
+
+        service.init();
+        assertThat(service.listCountries()).isNotEmpty();
+        awaitBackgroundRefresh();
+
+        server.verify();
+    }
+
+    private void awaitBackgroundRefresh() throws InterruptedException {
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,71 @@
+package org.k3cs1.subtitletranslatorapp.benchmarks;
+
+import org.k3cs1.subtitletranslatorapp.codec.BatchPayloadCodec;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the batch payloads of a whole file and parsing the model's replies, per codec. Each batch's reply
+ * is its own encoded payload, which has the same shape as a translation in every codec.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayloadCodecBenchmark {
+
+    // Default translation.batch-size; corpus cues are short enough to never hit max-batch-chars
+    private static final int BATCH_SIZE = 60;
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int cues;
+
+    @Param({"markers", "compact", "json"})
+    private String codecName;
+
+    private BatchPayloadCodec codec;
+    private List<List<SrtEntry>> batches;
+    private List<String> replies;
+
+    @Setup
+    public void setUp() {
+        codec = BatchPayloadCodec.named(codecName);
+        batches = new ArrayList<>();
+        List<SrtEntry> entries = SubtitleCorpus.entries(cues);
+        for (int from = 0; from < entries.size(); from += BATCH_SIZE) {
+            batches.add(entries.subList(from, Math.min(entries.size(), from + BATCH_SIZE)));
+        }
+        replies = batches.stream().map(codec::encode).toList();
+    }
+
+    @Benchmark
+    public void encode(Blackhole blackhole) {
+        for (List<SrtEntry> batch : batches) {
+            blackhole.consume(codec.encode(batch));
+        }
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) {
+        for (String reply : replies) {
+            blackhole.consume(codec.decode(reply));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.k3cs1.subtitletranslatorapp.benchmarks;
+
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.k3cs1.subtitletranslatorapp.parser.SrtIOParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upload validation and parsing of a subtitle file on disk, plus parsing of already-read lines
+ * to separate the parser's own cost from file reading and UTF-8 decoding.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SrtParserBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int cues;
+
+    private Path file;
+    private List<String> lines;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("srt-parser-benchmark-", ".srt");
+        Files.write(file, SubtitleCorpus.srt(cues));
+        lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<SrtEntry> parseFile() throws IOException {
+        return SrtIOParser.parse(file);
+    }
+
+    @Benchmark
+    public List<SrtEntry> parseLines() {
+        return SrtIOParser.parse(lines);
+    }
+
+    @Benchmark
+    public Path validateSrtContent() throws IOException {
+        SrtIOParser.validateSrtContent(file);
+        return file;
+    }
+}
@@ -0,0 +1,73 @@
+package org.k3cs1.subtitletranslatorapp.benchmarks;
+
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.k3cs1.subtitletranslatorapp.parser.SrtIOParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a translated file and encoding the finished output as the Base64 result stored with the job.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SrtWriterBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int cues;
+
+    private List<SrtEntry> entries;
+    private byte[] output;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        entries = SubtitleCorpus.entries(cues);
+        output = SubtitleCorpus.srt(cues);
+        file = Files.createTempFile("srt-writer-benchmark-", ".srt");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Path writeFile() throws IOException {
+        SrtIOParser.write(file, entries);
+        return file;
+    }
+
+    @Benchmark
+    public byte[] writeStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SrtIOParser.write(out, entries);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public String encodeResultBase64() {
+        return Base64.getEncoder().encodeToString(output);
+    }
+}
@@ -0,0 +1,79 @@
+package org.k3cs1.subtitletranslatorapp.benchmarks;
+
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.k3cs1.subtitletranslatorapp.parser.SrtIOParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generated subtitle files shaped like real dialogue: one to three lines per cue, mostly short lines with some long
+ * ones, occasional italics and speaker dashes, and a share of non-ASCII text. The same size always yields the same
+ * corpus, so runs are comparable.
+ */
+public final class SubtitleCorpus {
+
+    private static final String[] WORDS = {
+            "I", "you", "we", "don't", "know", "where", "the", "keys", "are", "left", "them", "on", "table",
+            "come", "back", "tomorrow", "please", "what", "happened", "here", "nothing", "everything", "is", "fine",
+            "listen", "to", "me", "now", "café", "naïve", "über", "señor", "déjà", "vu", "Zoë", "façade"
+    };
+
+    public static List<SrtEntry> entries(int cues) {
+        Random random = new Random(cues);
+        List<SrtEntry> entries = new ArrayList<>(cues);
+        long startMs = 1_000;
+        for (int i = 1; i <= cues; i++) {
+            long endMs = startMs + 800 + random.nextInt(4_000);
+            int lineCount = 1 + (random.nextInt(10) < 6 ? 0 : random.nextInt(2) + 1);
+            List<String> lines = new ArrayList<>(lineCount);
+            for (int l = 0; l < lineCount; l++) {
+                lines.add(line(random, lineCount > 1 && random.nextInt(4) == 0));
+            }
+            entries.add(new SrtEntry(i, timestamp(startMs) + " --> " + timestamp(endMs), lines));
+            startMs = endMs + 100 + random.nextInt(1_500);
+        }
+        return entries;
+    }
+
+    /**
+     * The corpus as an SRT file, in the layout {@link SrtIOParser#write} produces.
+     */
+    public static byte[] srt(int cues) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(cues * 64);
+        try {
+            SrtIOParser.write(out, entries(cues));
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+        return out.toByteArray();
+    }
+
+    private static String line(Random random, boolean dialogue) {
+        // Most lines are a few words, a few run close to the usual 42-character limit
+        int words = random.nextInt(10) < 8 ? 2 + random.nextInt(5) : 7 + random.nextInt(5);
+        StringBuilder line = new StringBuilder(words * 6);
+        if (dialogue) {
+            line.append("- ");
+        }
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                line.append(' ');
+            }
+            line.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        line.append(random.nextBoolean() ? '.' : '?');
+        return random.nextInt(20) == 0 ? "<i>" + line + "</i>" : line.toString();
+    }
+
+    private static String timestamp(long ms) {
+        return String.format("%02d:%02d:%02d,%03d", ms / 3_600_000, ms / 60_000 % 60, ms / 1_000 % 60, ms % 1_000);
+    }
+
+    private SubtitleCorpus() {
+    }
+}
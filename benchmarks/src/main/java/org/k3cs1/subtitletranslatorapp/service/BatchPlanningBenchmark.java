@@ -0,0 +1,52 @@
+package org.k3cs1.subtitletranslatorapp.service;
+
+import org.k3cs1.subtitletranslatorapp.benchmarks.SubtitleCorpus;
+import org.k3cs1.subtitletranslatorapp.model.SrtEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splitting a parsed file into batches by entry count and payload budget.
+ * Lives in the service package because {@link JobBatchScheduler#buildBatches} is package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchPlanningBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int cues;
+
+    @Param({"60"})
+    private int batchSize;
+
+    @Param({"12000"})
+    private int maxBatchChars;
+
+    private List<SrtEntry> entries;
+
+    @Setup
+    public void setUp() {
+        entries = SubtitleCorpus.entries(cues);
+    }
+
+    @Benchmark
+    public List<List<SrtEntry>> buildBatches() {
+        return JobBatchScheduler.buildBatches(entries, batchSize, maxBatchChars);
+    }
+}